@@ -0,0 +1,52 @@
+package com.my_finance_manager_backend.config;
+
+import com.my_finance_manager_backend.service.LedgerRollupService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Maintenance commands for the daily rollup tables:
+ * <pre>
+ *   java -jar app.jar --rebuild-rollups   # recompute from the ledgers, then verify
+ *   java -jar app.jar --verify-rollups    # only compare against the ledgers
+ * </pre>
+ * The application exits after the command, with status 1 if any row disagrees.
+ */
+@Component
+public class RollupRebuildRunner implements ApplicationRunner {
+
+    private final LedgerRollupService rollupService;
+    private final ApplicationContext context;
+
+    public RollupRebuildRunner(LedgerRollupService rollupService, ApplicationContext context) {
+        this.rollupService = rollupService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> mismatches;
+        if (args.containsOption("rebuild-rollups")) {
+            System.out.println("Rebuilding daily rollups from the ledgers...");
+            mismatches = rollupService.rebuildAndVerify();
+        } else if (args.containsOption("verify-rollups")) {
+            mismatches = rollupService.verify();
+        } else {
+            return;
+        }
+
+        if (mismatches.isEmpty()) {
+            System.out.println("Daily rollups match the ledgers");
+        } else {
+            System.err.println(mismatches.size() + " rollup rows do not match the ledgers:");
+            mismatches.forEach(m -> System.err.println("  " + m));
+        }
+        int status = mismatches.isEmpty() ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
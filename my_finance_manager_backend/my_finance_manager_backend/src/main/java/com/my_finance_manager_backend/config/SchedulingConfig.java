@@ -0,0 +1,10 @@
+package com.my_finance_manager_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Periodic jobs, e.g. BudgetSpendTracker.reconcile
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,7 @@
 package com.my_finance_manager_backend.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.my_finance_manager_backend.service.ExtractionCache;
 import com.my_finance_manager_backend.service.GeminiAIService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,18 +14,25 @@ import java.util.Map;
 @RequestMapping("/api/bill-scan")
 public class BillScanController {
 
+    private static final TypeReference<Map<String, Object>> FIELD_MAP = new TypeReference<>() {
+    };
+
     private final GeminiAIService geminiAIService;
+    private final ExtractionCache extractionCache;
 
-    public BillScanController(GeminiAIService geminiAIService) {
+    public BillScanController(GeminiAIService geminiAIService, ExtractionCache extractionCache) {
         this.geminiAIService = geminiAIService;
+        this.extractionCache = extractionCache;
     }
 
     /**
      * Scan and extract information from uploaded bills/receipts
      * Supports both images (JPEG, PNG) and PDFs
+     * A file scanned before is answered from the stored result unless force=true
      */
     @PostMapping("/scan")
-    public ResponseEntity<Map<String, Object>> scanBill(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<Map<String, Object>> scanBill(@RequestParam("file") MultipartFile file,
+                                                        @RequestParam(defaultValue = "false") boolean force) {
         try {
             // Validate file
             if (file.isEmpty()) {
@@ -45,7 +54,8 @@ public class BillScanController {
             }
 
             // Process file with Gemini AI
-            Map<String, Object> extractedInfo = geminiAIService.extractInformationFromFile(file);
+            Map<String, Object> extractedInfo = extractionCache.getOrExtract(file, ExtractionCache.Kind.DOCUMENT, force,
+                    FIELD_MAP, () -> geminiAIService.extractInformationFromFile(file), GeminiAIService::isModelResult);
             
             // Add file metadata
             extractedInfo.put("fileName", file.getOriginalFilename());
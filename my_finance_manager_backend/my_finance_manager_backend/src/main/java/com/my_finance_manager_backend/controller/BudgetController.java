@@ -0,0 +1,80 @@
+package com.my_finance_manager_backend.controller;
+
+import com.my_finance_manager_backend.dto.BudgetStatusDTO;
+import com.my_finance_manager_backend.dto.BudgetSummaryDTO;
+import com.my_finance_manager_backend.model.Budget;
+import com.my_finance_manager_backend.service.BudgetService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+public class BudgetController {
+
+    private final BudgetService service;
+
+    public BudgetController(BudgetService service) {
+        this.service = service;
+    }
+
+    // CREATE: {"category": "Food", "period": "monthly", "limit": 500.00}
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody Budget budget) {
+        try {
+            budget.setId(null);
+            return ResponseEntity.ok(service.save(budget));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // READ all, with spent/remaining for the current period
+    @GetMapping
+    public ResponseEntity<List<BudgetStatusDTO>> getAll() {
+        return ResponseEntity.ok(service.findAll());
+    }
+
+    // Totals across all budgets
+    @GetMapping("/summary")
+    public ResponseEntity<BudgetSummaryDTO> getSummary() {
+        return ResponseEntity.ok(service.getSummary());
+    }
+
+    // Every budget (one per period) for a category
+    @GetMapping("/category/{category}")
+    public ResponseEntity<List<BudgetStatusDTO>> getByCategory(@PathVariable String category) {
+        return ResponseEntity.ok(service.findByCategory(category));
+    }
+
+    // READ one
+    @GetMapping("/{id}")
+    public ResponseEntity<BudgetStatusDTO> getById(@PathVariable Long id) {
+        return service.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    // UPDATE
+    @PutMapping("/{id}")
+    public ResponseEntity<?> update(@PathVariable Long id, @RequestBody Budget budget) {
+        if (!service.exists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            budget.setId(id);
+            return ResponseEntity.ok(service.save(budget));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // DELETE
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        if (!service.exists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        service.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,13 +1,17 @@
 package com.my_finance_manager_backend.controller;
 
+import com.my_finance_manager_backend.dto.ExpenseDTO;
 import com.my_finance_manager_backend.model.Expense;
 import com.my_finance_manager_backend.service.ExpenseService;
+import com.my_finance_manager_backend.service.ExpenseSketchService;
+import com.my_finance_manager_backend.service.TopSpendService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -17,9 +21,14 @@ import java.util.Map;
 public class ExpenseController {
 
     private final ExpenseService service;
+    private final ExpenseSketchService sketchService;
+    private final TopSpendService topSpendService;
 
-    public ExpenseController(ExpenseService service) {
+    public ExpenseController(ExpenseService service, ExpenseSketchService sketchService,
+                             TopSpendService topSpendService) {
         this.service = service;
+        this.sketchService = sketchService;
+        this.topSpendService = topSpendService;
     }
 
     // CREATE
@@ -30,7 +39,7 @@ public class ExpenseController {
 
     // READ ALL (simple list)
     @GetMapping
-    public ResponseEntity<List<Expense>> getAll() {
+    public ResponseEntity<List<ExpenseDTO>> getAll() {
         return ResponseEntity.ok(service.findAll());
     }
 
@@ -60,15 +69,25 @@ public class ExpenseController {
     }
 
     // PAGINATION + FILTERING
+    // Passing "cursor" (empty for the first page) switches to keyset pagination
     @GetMapping("/paged")
-    public ResponseEntity<Page<Expense>> getPagedExpenses(
+    public ResponseEntity<?> getPagedExpenses(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor
     ) {
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(service.findWindow(startDate, endDate, cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
         PageRequest pageable = PageRequest.of(page, size);
-        Page<Expense> result;
+        Page<ExpenseDTO> result;
 
         if (startDate != null && endDate != null) {
             result = service.findByDateRange(startDate, endDate, pageable);
@@ -80,8 +99,39 @@ public class ExpenseController {
     }
     // NEW ENDPOINT: Summary by Category
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Double>> getSummaryByCategory() {
-        return ResponseEntity.ok(service.getSummaryByCategory());
+    public ResponseEntity<Map<String, BigDecimal>> getSummaryByCategory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(service.getSummaryByCategory(startDate, endDate));
+    }
+
+    // Approximate p50/p90/p99 per category and distinct merchants per month
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        try {
+            return ResponseEntity.ok(sketchService.getStats(startDate, endDate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Biggest spend buckets by merchant (normalized expense description) or by category
+    @GetMapping("/top")
+    public ResponseEntity<?> getTopSpend(
+            @RequestParam(defaultValue = "description") String by,
+            @RequestParam(defaultValue = "10") int n,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        try {
+            return ResponseEntity.ok(topSpendService.top(by, n, startDate, endDate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
 }
@@ -0,0 +1,49 @@
+package com.my_finance_manager_backend.controller;
+
+import com.my_finance_manager_backend.dto.ImportJobDTO;
+import com.my_finance_manager_backend.exception.ImportQueueFullException;
+import com.my_finance_manager_backend.service.ImportJobService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+
+// Background version of POST /api/transactions/upload-and-save: returns a job id at once,
+// and the job's progress is polled with GET /api/import-jobs/{id}
+@RestController
+@RequestMapping("/api/import-jobs")
+public class ImportJobController {
+
+    private final ImportJobService service;
+
+    public ImportJobController(ImportJobService service) {
+        this.service = service;
+    }
+
+    // 202 with the queued job; 429 with Retry-After when the job queue is full
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestParam("file") MultipartFile file,
+                                    @RequestParam(defaultValue = "false") boolean force) {
+        try {
+            ImportJobDTO job = service.submit(file, force);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/import-jobs/" + job.getId()))
+                    .body(job);
+        } catch (ImportQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to queue import: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> getJob(@PathVariable String id) {
+        ImportJobDTO job = service.find(id);
+        return (job != null) ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+}
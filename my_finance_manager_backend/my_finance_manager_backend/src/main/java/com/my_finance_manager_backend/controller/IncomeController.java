@@ -1,5 +1,6 @@
 package com.my_finance_manager_backend.controller;
 
+import com.my_finance_manager_backend.dto.IncomeDTO;
 import com.my_finance_manager_backend.model.Income;
 import com.my_finance_manager_backend.service.IncomeService;
 import org.springframework.http.ResponseEntity;
@@ -8,6 +9,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -30,7 +32,7 @@ public class IncomeController {
 
     // READ all
     @GetMapping
-    public ResponseEntity<List<Income>> getAll() {
+    public ResponseEntity<List<IncomeDTO>> getAll() {
         return ResponseEntity.ok(service.findAll());
     }
 
@@ -60,15 +62,25 @@ public class IncomeController {
     }
 
     // PAGINATION + FILTERING
+    // Passing "cursor" (empty for the first page) switches to keyset pagination
     @GetMapping("/paged")
-    public ResponseEntity<Page<Income>> getPagedIncomes(
+    public ResponseEntity<?> getPagedIncomes(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor
     ) {
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(service.findWindow(startDate, endDate, cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
         PageRequest pageable = PageRequest.of(page, size);
-        Page<Income> result;
+        Page<IncomeDTO> result;
 
         if (startDate != null && endDate != null) {
             result = service.findByDateRange(startDate, endDate, pageable);
@@ -80,7 +92,10 @@ public class IncomeController {
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Double>> getSummaryBySource() {
-        return ResponseEntity.ok(service.getSummaryBySource());
+    public ResponseEntity<Map<String, BigDecimal>> getSummaryBySource(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(service.getSummaryBySource(startDate, endDate));
     }
 }
@@ -1,5 +1,6 @@
 package com.my_finance_manager_backend.controller;
 
+import com.my_finance_manager_backend.dto.ReceiptDTO;
 import com.my_finance_manager_backend.model.Receipt;
 import com.my_finance_manager_backend.service.ReceiptService;
 import org.springframework.http.ResponseEntity;
@@ -19,11 +20,12 @@ public class ReceiptController {
         this.service = service;
     }
 
-    // Upload receipt
+    // Upload receipt; force=true reprocesses a file whose AI result is already stored
     @PostMapping("/upload")
-    public ResponseEntity<Receipt> uploadReceipt(@RequestParam("file") MultipartFile file) throws IOException {
+    public ResponseEntity<Receipt> uploadReceipt(@RequestParam("file") MultipartFile file,
+                                                 @RequestParam(defaultValue = "false") boolean force) throws IOException {
         try {
-            Receipt receipt = service.saveReceipt(file);
+            Receipt receipt = service.saveReceipt(file, force);
             return ResponseEntity.ok(receipt);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null);
@@ -45,8 +47,8 @@ public class ReceiptController {
     
     // Get all receipts
     @GetMapping
-    public ResponseEntity<List<Receipt>> getAllReceipts() {
-        List<Receipt> receipts = service.getAllReceipts();
+    public ResponseEntity<List<ReceiptDTO>> getAllReceipts() {
+        List<ReceiptDTO> receipts = service.getAllReceipts();
         return ResponseEntity.ok(receipts);
     }
     
@@ -1,19 +1,29 @@
 package com.my_finance_manager_backend.controller;
 
+import com.my_finance_manager_backend.dto.ExportFormat;
 import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.service.PeriodComparisonService;
+import com.my_finance_manager_backend.service.RecurringTransactionService;
+import com.my_finance_manager_backend.service.StatementImportService;
+import com.my_finance_manager_backend.service.TimeSeriesService;
+import com.my_finance_manager_backend.service.TransactionExportService;
 import com.my_finance_manager_backend.service.TransactionHistoryService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.my_finance_manager_backend.dto.TransactionViewDTO;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 
-import com.my_finance_manager_backend.dto.TransactionSummaryDTO;
+import com.my_finance_manager_backend.exception.QueryTimeoutException;
 
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 
 import java.util.List;
@@ -23,9 +33,23 @@ import java.util.List;
 public class TransactionHistoryController {
 
     private final TransactionHistoryService service;
-
-    public TransactionHistoryController(TransactionHistoryService service) {
+    private final TimeSeriesService timeSeriesService;
+    private final PeriodComparisonService periodComparisonService;
+    private final TransactionExportService exportService;
+    private final RecurringTransactionService recurringService;
+    private final StatementImportService importService;
+
+    public TransactionHistoryController(TransactionHistoryService service, TimeSeriesService timeSeriesService,
+                                        PeriodComparisonService periodComparisonService,
+                                        TransactionExportService exportService,
+                                        RecurringTransactionService recurringService,
+                                        StatementImportService importService) {
         this.service = service;
+        this.timeSeriesService = timeSeriesService;
+        this.periodComparisonService = periodComparisonService;
+        this.exportService = exportService;
+        this.recurringService = recurringService;
+        this.importService = importService;
     }
 
     @PostMapping
@@ -40,11 +64,13 @@ public class TransactionHistoryController {
 
     
 
-    // Extract transactions from PDF/Statement
+    // Extract transactions from PDF/Statement; a file extracted before is answered from
+    // the stored result unless force=true
     @PostMapping("/extract")
-    public ResponseEntity<List<TransactionDTO>> extractTransactions(@RequestParam("file") MultipartFile file) throws Exception {
+    public ResponseEntity<List<TransactionDTO>> extractTransactions(@RequestParam("file") MultipartFile file,
+                                                                    @RequestParam(defaultValue = "false") boolean force) throws Exception {
         try {
-            List<TransactionDTO> transactions = service.extractTransactions(file);
+            List<TransactionDTO> transactions = service.extractTransactions(file, force);
             return ResponseEntity.ok(transactions);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(List.of());
@@ -53,57 +79,145 @@ public class TransactionHistoryController {
 
     // Alternative endpoint for backward compatibility
     @PostMapping("/upload")
-    public ResponseEntity<List<TransactionDTO>> uploadStatement(@RequestParam("file") MultipartFile file) throws Exception {
-        return extractTransactions(file);
+    public ResponseEntity<List<TransactionDTO>> uploadStatement(@RequestParam("file") MultipartFile file,
+                                                                @RequestParam(defaultValue = "false") boolean force) throws Exception {
+        return extractTransactions(file, force);
     }
 
-    // Save extracted transactions to DB
+    // Save extracted transactions to DB. With an importId they are committed in chunks and
+    // retrying a failed save with the same id resumes after the last committed chunk;
+    // without one they are saved in a single transaction.
     @PostMapping("/save")
-    public ResponseEntity<String> saveTransactions(@RequestBody List<TransactionDTO> transactions) {
+    public ResponseEntity<?> saveTransactions(@RequestBody List<TransactionDTO> transactions,
+                                              @RequestParam(required = false) String importId) {
         try {
-            service.saveTransactions(transactions);
-            return ResponseEntity.ok("Transactions saved successfully!");
+            return ResponseEntity.ok(importService.importTransactions(transactions, importId));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to save transactions: " + e.getMessage());
         }
     }
 
-    // Upload PDF and save transactions in one step
+    // Upload PDF and save transactions in one step; uploading the same statement
+    // again resumes an interrupted import instead of saving its rows twice
     @PostMapping("/upload-and-save")
-    public ResponseEntity<String> uploadAndSaveTransactions(@RequestParam("file") MultipartFile file) throws Exception {
+    public ResponseEntity<?> uploadAndSaveTransactions(@RequestParam("file") MultipartFile file,
+                                                       @RequestParam(defaultValue = "false") boolean force) throws Exception {
         try {
             // Extract transactions
-            List<TransactionDTO> transactions = service.extractTransactions(file);
+            List<TransactionDTO> transactions = service.extractTransactions(file, force);
             
             if (transactions.isEmpty()) {
                 return ResponseEntity.badRequest().body("No transactions extracted from the PDF. Please check the file format.");
             }
             
             // Save transactions
-            service.saveTransactions(transactions);
-            
-            return ResponseEntity.ok("Successfully extracted and saved " + transactions.size() + " transactions!");
+            return ResponseEntity.ok(importService.importStatement(transactions));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to process PDF: " + e.getMessage());
         }
     }
 
+    // Offset pagination by default; passing "cursor" (empty for the first page)
+    // switches to keyset pagination and returns a nextCursor instead of page totals.
+    // includeBalance=true adds balanceAfter, the running net balance, to every row.
     @GetMapping
-    public ResponseEntity<Page<TransactionViewDTO>> getTransactions(
+    public ResponseEntity<?> getTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeBalance
     ) {
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(service.scrollTransactions(startDate, endDate, cursor, size, includeBalance));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         PageRequest pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(service.listTransactions(startDate, endDate, pageable));
+        return ResponseEntity.ok(service.listTransactions(startDate, endDate, pageable, includeBalance));
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<TransactionSummaryDTO> getTransactionSummary(
+    public ResponseEntity<?> getTransactionSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        try {
+            return ResponseEntity.ok(service.getSummary(startDate, endDate));
+        } catch (QueryTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    // Income/expense per day, week or month for charts, in one request
+    @GetMapping("/timeseries")
+    public ResponseEntity<?> getTimeSeries(
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String groupBy
+    ) {
+        try {
+            return ResponseEntity.ok(timeSeriesService.getTimeSeries(granularity, startDate, endDate, groupBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Current period vs the previous one and the same period last year, e.g. ?period=month&anchor=2026-10
+    @GetMapping("/compare")
+    public ResponseEntity<?> comparePeriods(
+            @RequestParam(defaultValue = "month") String period,
+            @RequestParam(required = false) String anchor
+    ) {
+        try {
+            return ResponseEntity.ok(periodComparisonService.compare(period, anchor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Detected subscriptions, bills and salaries; type=expense|income narrows it to one ledger
+    @GetMapping("/recurring")
+    public ResponseEntity<?> getRecurring(
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "false") boolean includeInactive
+    ) {
+        try {
+            return ResponseEntity.ok(recurringService.findRecurring(type, includeInactive));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Whole ledger (or a date range) as CSV or NDJSON, streamed row by row from database cursors.
+    // Spring only streams when the declared body type is StreamingResponseBody, so errors are streamed too.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "csv") String format,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
     ) {
-        return ResponseEntity.ok(service.getSummary(startDate, endDate));
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
+        }
+        String fileName = "transactions"
+                + (startDate != null ? "-from-" + startDate : "")
+                + (endDate != null ? "-to-" + endDate : "")
+                + "." + exportFormat.getExtension();
+
+        StreamingResponseBody body = out -> exportService.export(exportFormat, startDate, endDate, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
     }
 }
@@ -0,0 +1,18 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+// Approximate amount distribution of one category's expenses
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AmountQuantilesDTO {
+    private long count;
+    private BigDecimal p50;
+    private BigDecimal p90;
+    private BigDecimal p99;
+}
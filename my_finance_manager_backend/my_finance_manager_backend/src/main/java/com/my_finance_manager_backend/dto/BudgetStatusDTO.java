@@ -0,0 +1,25 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// A budget and how much of it the current period has used
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetStatusDTO {
+    private Long id;
+    private String category;
+    private String period;        // weekly, monthly or yearly
+    private BigDecimal limit;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal spent;
+    private BigDecimal remaining; // negative once over budget
+    private BigDecimal percentUsed;
+    private boolean overBudget;
+}
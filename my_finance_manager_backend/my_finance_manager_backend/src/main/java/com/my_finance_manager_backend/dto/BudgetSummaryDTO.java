@@ -0,0 +1,22 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// All budgets together, each over its own current period
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetSummaryDTO {
+    private int budgetCount;
+    private int overBudgetCount;
+    private BigDecimal totalLimit;
+    private BigDecimal totalSpent;
+    private BigDecimal totalRemaining;
+    private BigDecimal percentUsed;
+    private List<BudgetStatusDTO> budgets;
+}
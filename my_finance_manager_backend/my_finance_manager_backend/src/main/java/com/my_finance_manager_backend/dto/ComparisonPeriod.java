@@ -0,0 +1,67 @@
+package com.my_finance_manager_backend.dto;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+// Calendar period for period-over-period comparisons. Quarters start in January, April, July and October.
+public enum ComparisonPeriod {
+    MONTH, QUARTER, YEAR;
+
+    public static ComparisonPeriod parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid period: " + value + " (expected month, quarter or year)");
+        }
+    }
+
+    // A day inside the wanted period: 2026-10-17, 2026-10, 2026 or (for quarters) 2026-Q4
+    public static LocalDate parseAnchor(String value) {
+        String anchor = value.trim().toUpperCase(Locale.ROOT);
+        try {
+            if (anchor.matches("\\d{4}")) {
+                return LocalDate.of(Integer.parseInt(anchor), 1, 1);
+            }
+            if (anchor.matches("\\d{4}-Q[1-4]")) {
+                int quarter = anchor.charAt(6) - '0';
+                return LocalDate.of(Integer.parseInt(anchor.substring(0, 4)), (quarter - 1) * 3 + 1, 1);
+            }
+            if (anchor.matches("\\d{4}-\\d{2}")) {
+                return YearMonth.parse(anchor).atDay(1);
+            }
+            return LocalDate.parse(anchor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid anchor: " + value + " (expected yyyy, yyyy-Qn, yyyy-MM or yyyy-MM-dd)");
+        }
+    }
+
+    public LocalDate start(LocalDate anchor) {
+        return switch (this) {
+            case MONTH -> anchor.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(anchor.getYear(), (anchor.getMonthValue() - 1) / 3 * 3 + 1, 1);
+            case YEAR -> anchor.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate end(LocalDate anchor) {
+        return next(start(anchor)).minusDays(1);
+    }
+
+    public LocalDate previous(LocalDate periodStart) {
+        return switch (this) {
+            case MONTH -> periodStart.minusMonths(1);
+            case QUARTER -> periodStart.minusMonths(3);
+            case YEAR -> periodStart.minusYears(1);
+        };
+    }
+
+    private LocalDate next(LocalDate periodStart) {
+        return switch (this) {
+            case MONTH -> periodStart.plusMonths(1);
+            case QUARTER -> periodStart.plusMonths(3);
+            case YEAR -> periodStart.plusYears(1);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor; // null when there are no more rows
+
+    // Builds a page from a query that fetched one row more than requested;
+    // the extra row only tells us whether a next page exists.
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, TransactionCursor> positionOf) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, rows.size(), null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPageDTO<>(content, size, positionOf.apply(content.get(size - 1)).encode());
+    }
+}
@@ -0,0 +1,25 @@
+package com.my_finance_manager_backend.dto;
+
+import com.my_finance_manager_backend.model.Expense;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Read-only view of an Expense, filled directly by JPQL constructor expressions
+// or snapshotted from an entity with from()
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExpenseDTO {
+    private Long id;
+    private BigDecimal amount;
+    private String category;
+    private String description;
+    private LocalDate date;
+
+    public static ExpenseDTO from(Expense expense) {
+        return new ExpenseDTO(expense.getId(), expense.getAmount(), expense.getCategory(), expense.getDescription(), expense.getDate());
+    }
+}
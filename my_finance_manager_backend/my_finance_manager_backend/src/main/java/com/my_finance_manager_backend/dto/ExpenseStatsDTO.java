@@ -0,0 +1,18 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExpenseStatsDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Map<String, AmountQuantilesDTO> quantilesByCategory;
+    private Map<String, Long> distinctMerchantsByMonth;   // "yyyy-MM" -> estimated distinct descriptions
+}
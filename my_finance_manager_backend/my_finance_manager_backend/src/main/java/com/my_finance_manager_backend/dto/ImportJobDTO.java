@@ -0,0 +1,24 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// State of a background statement import (/api/import-jobs)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobDTO {
+    private String id;
+    private String fileName;
+    private ImportJobStage stage;
+    private int rowsParsed;            // transactions extracted from the file
+    private int rowsSaved;             // rows committed so far, skipped duplicates included
+    private ImportResultDTO result;    // set once COMPLETED
+    private String error;              // set once FAILED
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
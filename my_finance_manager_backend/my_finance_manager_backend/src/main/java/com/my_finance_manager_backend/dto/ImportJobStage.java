@@ -0,0 +1,14 @@
+package com.my_finance_manager_backend.dto;
+
+// Where a background statement import is; COMPLETED and FAILED are final
+public enum ImportJobStage {
+    QUEUED,     // waiting for a free import worker
+    EXTRACTING, // reading transactions from the file
+    SAVING,     // committing the extracted rows chunk by chunk
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,22 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// Outcome of a chunked statement import
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResultDTO {
+    private String importId;           // checkpoint key; null for imports that cannot be resumed
+    private int totalRows;
+    private int resumedFrom;           // rows already committed by earlier attempts
+    private int importedRows;          // rows inserted by this call
+    private int duplicateRows;         // rows skipped by this call as imported before
+    private List<TransactionDTO> duplicates; // the first skipped rows, at most 100
+    private int chunks;                // chunks committed by this call
+    private boolean alreadyImported;   // every row had been committed before this call
+}
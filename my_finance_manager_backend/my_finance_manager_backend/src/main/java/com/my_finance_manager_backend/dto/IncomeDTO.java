@@ -0,0 +1,25 @@
+package com.my_finance_manager_backend.dto;
+
+import com.my_finance_manager_backend.model.Income;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Read-only view of an Income, filled directly by JPQL constructor expressions
+// or snapshotted from an entity with from()
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IncomeDTO {
+    private Long id;
+    private BigDecimal amount;
+    private String source;
+    private String description;
+    private LocalDate date;
+
+    public static IncomeDTO from(Income income) {
+        return new IncomeDTO(income.getId(), income.getAmount(), income.getSource(), income.getDescription(), income.getDate());
+    }
+}
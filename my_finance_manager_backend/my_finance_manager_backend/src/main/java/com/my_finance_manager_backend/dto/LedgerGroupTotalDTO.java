@@ -0,0 +1,15 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+// Summed amount for one expense category or income source
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerGroupTotalDTO {
+    private String type;      // EXPENSE or INCOME
+    private String groupKey;  // category for expenses, source for incomes
+    private long total;       // minor units (cents)
+}
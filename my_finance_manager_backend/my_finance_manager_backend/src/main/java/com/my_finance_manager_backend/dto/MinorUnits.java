@@ -0,0 +1,27 @@
+package com.my_finance_manager_backend.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a long count of minor units (cents). Ledger amounts are stored as
+ * DECIMAL(19, 2), so every stored value fits exactly; aggregation works on longs
+ * and only the DTOs see BigDecimal again.
+ */
+public final class MinorUnits {
+
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    // Rounds half-up to cents, as MySQL does when storing the amount.
+    // Throws ArithmeticException when the value does not fit in a long.
+    public static long of(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
@@ -0,0 +1,15 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PeriodComparisonDTO {
+    private String period;                     // month, quarter or year
+    private PeriodSummaryDTO current;
+    private PeriodSummaryDTO previous;         // the period right before the current one
+    private PeriodSummaryDTO sameTimeLastYear;
+}
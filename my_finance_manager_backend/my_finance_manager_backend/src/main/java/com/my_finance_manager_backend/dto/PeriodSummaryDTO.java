@@ -0,0 +1,25 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+// Totals for one period of a comparison
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PeriodSummaryDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal netBalance;
+
+    // Every source and category seen in any of the compared periods, zero where absent
+    private Map<String, BigDecimal> incomeBySource;
+    private Map<String, BigDecimal> expenseByCategory;
+}
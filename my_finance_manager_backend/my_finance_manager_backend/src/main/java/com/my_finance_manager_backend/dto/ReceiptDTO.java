@@ -32,4 +32,13 @@ public class ReceiptDTO {
     // Processing status
     private String status;
     private String errorMessage;
+
+    // Used by ReceiptRepository.findAllViews; processing status is not stored
+    public ReceiptDTO(Long id, String fileName, String fileType, Long fileSize, LocalDateTime uploadedAt,
+                      boolean processed, String extractedText, String merchantName, Double amount,
+                      String currency, String transactionDate, String category, String description,
+                      String aiConfidence) {
+        this(id, fileName, fileType, fileSize, uploadedAt, processed, extractedText, merchantName, amount,
+                currency, transactionDate, category, description, aiConfidence, null, null);
+    }
 }
@@ -0,0 +1,52 @@
+package com.my_finance_manager_backend.dto;
+
+import java.time.LocalDate;
+
+// Repeat interval of a recurring transaction: the gaps (in days) accepted as that interval,
+// and how many evenly spaced occurrences it takes before a series counts as recurring
+public enum RecurrenceCadence {
+    WEEKLY(6, 8, 3),
+    MONTHLY(26, 35, 3),
+    YEARLY(350, 380, 2);
+
+    private final int minDays;
+    private final int maxDays;
+    private final int minOccurrences;
+
+    RecurrenceCadence(int minDays, int maxDays, int minOccurrences) {
+        this.minDays = minDays;
+        this.maxDays = maxDays;
+        this.minOccurrences = minOccurrences;
+    }
+
+    // The cadence a gap between two occurrences belongs to, or null if none
+    public static RecurrenceCadence ofGap(long days) {
+        for (RecurrenceCadence cadence : values()) {
+            if (cadence.fits(days)) {
+                return cadence;
+            }
+        }
+        return null;
+    }
+
+    // When the occurrence after this one is due; months and years follow the calendar
+    public LocalDate next(LocalDate date) {
+        return switch (this) {
+            case WEEKLY -> date.plusWeeks(1);
+            case MONTHLY -> date.plusMonths(1);
+            case YEARLY -> date.plusYears(1);
+        };
+    }
+
+    public boolean fits(long days) {
+        return days >= minDays && days <= maxDays;
+    }
+
+    public int getMaxDays() {
+        return maxDays;
+    }
+
+    public int getMinOccurrences() {
+        return minOccurrences;
+    }
+}
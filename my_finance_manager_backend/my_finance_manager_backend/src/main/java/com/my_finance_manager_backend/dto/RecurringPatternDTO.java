@@ -0,0 +1,26 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// A detected recurring charge or income, e.g. a subscription or a salary
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringPatternDTO {
+    private String type;                // EXPENSE or INCOME
+    private String merchant;            // normalized description shared by the occurrences
+    private String description;         // description of the latest occurrence as entered
+    private RecurrenceCadence cadence;
+    private int intervalDays;           // median gap between occurrences
+    private BigDecimal amountLow;
+    private BigDecimal amountHigh;
+    private int occurrences;            // evenly spaced occurrences in the current run
+    private LocalDate lastDate;
+    private LocalDate nextExpected;
+    private boolean active;             // false once the next occurrence is overdue
+}
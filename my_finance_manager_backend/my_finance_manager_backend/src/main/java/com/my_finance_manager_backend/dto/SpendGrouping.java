@@ -0,0 +1,16 @@
+package com.my_finance_manager_backend.dto;
+
+import java.util.Locale;
+
+// What /api/expenses/top ranks: merchants (normalized expense descriptions) or categories
+public enum SpendGrouping {
+    DESCRIPTION, CATEGORY;
+
+    public static SpendGrouping parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid grouping: " + value + " (expected description or category)");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.my_finance_manager_backend.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+// Bucket size for time series. Weeks start on Monday; months on the 1st.
+public enum TimeGranularity {
+    DAY, WEEK, MONTH;
+
+    public static TimeGranularity parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid granularity: " + value + " (expected day, week or month)");
+        }
+    }
+
+    // First day of the bucket containing the date
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    // Number of buckets touched by [start, end]
+    public long bucketsBetween(LocalDate start, LocalDate end) {
+        LocalDate first = bucketStart(start);
+        LocalDate last = bucketStart(end);
+        return switch (this) {
+            case DAY -> ChronoUnit.DAYS.between(first, last) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(first, last) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(first, last) + 1;
+        };
+    }
+
+    // Start of the default window ending at `end`: 30 days, 12 weeks or 12 months
+    public LocalDate defaultStart(LocalDate end) {
+        return switch (this) {
+            case DAY -> end.minusDays(29);
+            case WEEK -> bucketStart(end).minusWeeks(11);
+            case MONTH -> bucketStart(end).minusMonths(11);
+        };
+    }
+}
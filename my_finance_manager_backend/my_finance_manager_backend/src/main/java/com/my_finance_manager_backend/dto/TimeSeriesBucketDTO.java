@@ -0,0 +1,25 @@
+package com.my_finance_manager_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimeSeriesBucketDTO {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal netBalance;
+
+    // Per category (groupBy=category) or per source (groupBy=source); absent without groupBy
+    private Map<String, BigDecimal> breakdown;
+}
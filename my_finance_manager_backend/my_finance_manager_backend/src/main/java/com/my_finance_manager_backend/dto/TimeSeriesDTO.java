@@ -0,0 +1,23 @@
+package com.my_finance_manager_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimeSeriesDTO {
+    private String granularity;
+    private String groupBy;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    // Every bucket touching the range, empty ones included. Periods are whole buckets,
+    // but the first and last only count rows between startDate and endDate.
+    private List<TimeSeriesBucketDTO> buckets;
+}
@@ -0,0 +1,17 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+// One entry of a top-N spend ranking
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TopSpendDTO {
+    private String key;        // category, or merchant key for description rankings
+    private BigDecimal total;
+    private long count;        // number of expenses (and receipts) in the bucket
+}
@@ -0,0 +1,59 @@
+package com.my_finance_manager_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last row a client has seen, in (date desc, type, id desc) order.
+ * Sent to clients as an opaque token.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionCursor {
+
+    private static final LocalDate END_OF_TIME = LocalDate.of(9999, 12, 31);
+
+    private final LocalDate date;
+    private final Long id;
+    private final String type; // "INCOME" or "EXPENSE"
+
+    // Position ahead of the newest row, used when scrolling starts without a cursor
+    public static TransactionCursor first(String type) {
+        return new TransactionCursor(END_OF_TIME, Long.MAX_VALUE, type);
+    }
+
+    // Decodes a client token for the given ledger (null for the unified view);
+    // a missing token means "start from the top"
+    public static TransactionCursor parse(String token, String expectedType) {
+        if (token == null || token.isBlank()) {
+            return first(expectedType != null ? expectedType : "EXPENSE");
+        }
+        TransactionCursor cursor = decode(token);
+        if (expectedType != null && !expectedType.equals(cursor.getType())) {
+            throw new IllegalArgumentException("Cursor does not belong to " + expectedType + " rows");
+        }
+        return cursor;
+    }
+
+    public String encode() {
+        String raw = date + "|" + id + "|" + type;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !("INCOME".equals(parts[2]) || "EXPENSE".equals(parts[2]))) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new TransactionCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]), parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
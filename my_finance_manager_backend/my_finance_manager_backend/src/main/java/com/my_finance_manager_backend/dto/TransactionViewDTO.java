@@ -1,5 +1,6 @@
 package com.my_finance_manager_backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -10,8 +11,18 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 public class TransactionViewDTO {
+    private Long id;
     private LocalDate date;
     private String description;
     private BigDecimal amount;
     private String type;   // "INCOME" or "EXPENSE"
+
+    // Net balance (all income minus all expenses) right after this transaction;
+    // only filled in when a listing asks for it
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal balanceAfter;
+
+    public TransactionViewDTO(Long id, LocalDate date, String description, BigDecimal amount, String type) {
+        this(id, date, description, amount, type, null);
+    }
 }
@@ -0,0 +1,36 @@
+package com.my_finance_manager_backend.event;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.List;
+
+/**
+ * Published by the ledger services whenever expenses or incomes are written.
+ * An update is a removal of the old row plus an addition of the new one.
+ * Listeners run synchronously inside the writing transaction.
+ */
+@Getter
+@Builder
+public class LedgerChangeEvent {
+
+    @Singular("expenseRemoved")
+    private final List<ExpenseDTO> expensesRemoved;
+
+    @Singular("expenseAdded")
+    private final List<ExpenseDTO> expensesAdded;
+
+    @Singular("incomeRemoved")
+    private final List<IncomeDTO> incomesRemoved;
+
+    @Singular("incomeAdded")
+    private final List<IncomeDTO> incomesAdded;
+
+    public boolean isEmpty() {
+        return expensesRemoved.isEmpty() && expensesAdded.isEmpty()
+                && incomesRemoved.isEmpty() && incomesAdded.isEmpty();
+    }
+}
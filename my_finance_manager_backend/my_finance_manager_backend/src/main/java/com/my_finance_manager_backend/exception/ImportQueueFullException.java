@@ -0,0 +1,18 @@
+package com.my_finance_manager_backend.exception;
+
+import java.time.Duration;
+
+// Every import worker is busy and the job queue is full; the client should retry after retryAfter
+public class ImportQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ImportQueueFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
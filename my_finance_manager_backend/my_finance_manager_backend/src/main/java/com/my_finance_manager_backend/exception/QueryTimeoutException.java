@@ -0,0 +1,10 @@
+package com.my_finance_manager_backend.exception;
+
+// A request's reads did not finish before its deadline, or could not be queued because the
+// read pool was saturated; the unfinished ones were cancelled
+public class QueryTimeoutException extends RuntimeException {
+
+    public QueryTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.my_finance_manager_backend.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+// How often a budget resets. Weeks start on Monday, like time series weeks.
+public enum BudgetPeriod {
+    WEEKLY, MONTHLY, YEARLY;
+
+    @JsonCreator
+    public static BudgetPeriod parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid budget period: " + value + " (expected weekly, monthly or yearly)");
+        }
+    }
+
+    // First day of the period containing the date
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate next(LocalDate periodStart) {
+        return switch (this) {
+            case WEEKLY -> periodStart.plusWeeks(1);
+            case MONTHLY -> periodStart.plusMonths(1);
+            case YEARLY -> periodStart.plusYears(1);
+        };
+    }
+
+    public LocalDate end(LocalDate periodStart) {
+        return next(periodStart).minusDays(1);
+    }
+}
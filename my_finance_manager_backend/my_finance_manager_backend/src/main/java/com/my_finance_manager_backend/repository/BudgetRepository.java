@@ -0,0 +1,15 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.model.Budget;
+import com.my_finance_manager_backend.model.BudgetPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findByCategoryIgnoreCaseOrderByPeriod(String category);
+
+    Optional<Budget> findByCategoryIgnoreCaseAndPeriod(String category, BudgetPeriod period);
+}
@@ -2,20 +2,58 @@ package com.my_finance_manager_backend.repository;
 
 import com.my_finance_manager_backend.model.Expense;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.TransactionViewDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
-    // Existing (pagination + filtering handled in Service)
-    org.springframework.data.domain.Page<Expense> findByDateBetween(
-            java.time.LocalDate startDate,
-            java.time.LocalDate endDate,
-            org.springframework.data.domain.Pageable pageable
-    );
+    // Read-only list views: rows go straight into DTOs, so nothing enters the persistence context.
+    // Only unbounded reads set a fetch size; pages are small enough to arrive in one round trip.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.my_finance_manager_backend.dto.ExpenseDTO(e.id, e.amount, e.category, e.description, e.date) FROM Expense e")
+    List<ExpenseDTO> findAllViews();
 
-    // NEW: Group expenses by category with total amounts
-    @Query("SELECT e.category, SUM(e.amount) FROM Expense e GROUP BY e.category")
-    List<Object[]> getExpenseSummaryByCategory();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT new com.my_finance_manager_backend.dto.ExpenseDTO(e.id, e.amount, e.category, e.description, e.date) FROM Expense e",
+            countQuery = "SELECT COUNT(e) FROM Expense e")
+    Page<ExpenseDTO> findAllViews(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT new com.my_finance_manager_backend.dto.ExpenseDTO(e.id, e.amount, e.category, e.description, e.date) FROM Expense e WHERE e.date BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.date BETWEEN :startDate AND :endDate")
+    Page<ExpenseDTO> findViewsByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // Keyset scrolling: rows after (cursorDate, cursorId), newest first
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.my_finance_manager_backend.dto.ExpenseDTO(e.id, e.amount, e.category, e.description, e.date) FROM Expense e"
+            + " WHERE (e.date < :cursorDate OR (e.date = :cursorDate AND e.id < :cursorId))"
+            + " AND (:startDate IS NULL OR e.date >= :startDate) AND (:endDate IS NULL OR e.date <= :endDate)"
+            + " ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDTO> findWindowAfter(LocalDate cursorDate, Long cursorId, LocalDate startDate, LocalDate endDate, Limit limit);
+
+    // Date-ordered stream of view rows, read in batches through a server-side cursor.
+    // Must be consumed inside a transaction and closed by the caller.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.my_finance_manager_backend.dto.TransactionViewDTO(e.id, e.date, e.description, e.amount, 'EXPENSE')"
+            + " FROM Expense e"
+            + " WHERE (:startDate IS NULL OR e.date >= :startDate) AND (:endDate IS NULL OR e.date <= :endDate)"
+            + " ORDER BY e.date DESC, e.id DESC")
+    Stream<TransactionViewDTO> streamViewsByDateRange(LocalDate startDate, LocalDate endDate);
 }
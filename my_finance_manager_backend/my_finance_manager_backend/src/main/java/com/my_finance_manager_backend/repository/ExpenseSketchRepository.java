@@ -0,0 +1,114 @@
+package com.my_finance_manager_backend.repository;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stored per-day, per-category expense sketches (expense_daily_sketches) and the
+ * ledger reads needed to (re)build them.
+ */
+@Repository
+public class ExpenseSketchRepository {
+
+    /** Serialized sketches for one (day, category); either may be null when empty. */
+    public record SketchRow(LocalDate date, String category, byte[] amounts, byte[] merchants) {
+    }
+
+    /** The fields of an expense row that feed the sketches. */
+    public record LedgerRow(LocalDate date, String category, BigDecimal amount, String description) {
+    }
+
+    private static final RowMapper<LedgerRow> LEDGER_ROW_MAPPER = (rs, rowNum) -> new LedgerRow(
+            rs.getObject("expense_date", LocalDate.class),
+            rs.getString("category"),
+            rs.getBigDecimal("amount"),
+            rs.getString("description"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ExpenseSketchRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Locks the row for the rest of the transaction, creating an empty one first if needed,
+    // so concurrent writers to the same day and category merge one after the other
+    public SketchRow lock(LocalDate date, String category) {
+        MapSqlParameterSource params = key(date, category);
+        jdbc.update("INSERT IGNORE INTO expense_daily_sketches (sketch_date, category) VALUES (:date, :category)", params);
+        return jdbc.queryForObject("SELECT sketch_date, category, amounts, merchants FROM expense_daily_sketches"
+                + " WHERE sketch_date = :date AND category = :category FOR UPDATE", params, (rs, rowNum) -> sketchRow(rs));
+    }
+
+    public void update(SketchRow row) {
+        jdbc.update("UPDATE expense_daily_sketches SET amounts = :amounts, merchants = :merchants"
+                + " WHERE sketch_date = :date AND category = :category", key(row.date(), row.category())
+                .addValue("amounts", row.amounts())
+                .addValue("merchants", row.merchants()));
+    }
+
+    public void delete(LocalDate date, String category) {
+        jdbc.update("DELETE FROM expense_daily_sketches WHERE sketch_date = :date AND category = :category",
+                key(date, category));
+    }
+
+    // Stored sketches for a date range, handed over one row at a time
+    public void forEachInRange(LocalDate start, LocalDate end, Consumer<SketchRow> action) {
+        jdbc.query("SELECT sketch_date, category, amounts, merchants FROM expense_daily_sketches"
+                + " WHERE sketch_date >= :start AND sketch_date <= :end", range(start, end),
+                (RowCallbackHandler) rs -> action.accept(sketchRow(rs)));
+    }
+
+    public boolean isEmpty() {
+        Integer any = jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM expense_daily_sketches)",
+                new MapSqlParameterSource(), Integer.class);
+        return any == null || any == 0;
+    }
+
+    // Current ledger rows for one day and category, used to rebuild a sketch after an update or delete
+    public List<LedgerRow> findLedgerRows(LocalDate date, String category) {
+        return jdbc.query("SELECT expense_date, category, amount, description FROM expenses"
+                + " WHERE expense_date = :date AND category = :category", key(date, category), LEDGER_ROW_MAPPER);
+    }
+
+    public List<LedgerRow> findLedgerRows(LocalDate start, LocalDate end) {
+        return jdbc.query("SELECT expense_date, category, amount, description FROM expenses"
+                + " WHERE expense_date >= :start AND expense_date <= :end", range(start, end), LEDGER_ROW_MAPPER);
+    }
+
+    // Earliest and latest expense dates, or null when there are no expenses
+    public LocalDate[] findLedgerDateSpan() {
+        return jdbc.queryForObject("SELECT MIN(expense_date) AS first_date, MAX(expense_date) AS last_date FROM expenses",
+                new MapSqlParameterSource(), (rs, rowNum) -> rs.getObject("first_date") == null ? null : new LocalDate[]{
+                        rs.getObject("first_date", LocalDate.class), rs.getObject("last_date", LocalDate.class)});
+    }
+
+    private static SketchRow sketchRow(ResultSet rs) throws SQLException {
+        return new SketchRow(
+                rs.getObject("sketch_date", LocalDate.class),
+                rs.getString("category"),
+                rs.getBytes("amounts"),
+                rs.getBytes("merchants"));
+    }
+
+    private static MapSqlParameterSource range(LocalDate start, LocalDate end) {
+        return new MapSqlParameterSource()
+                .addValue("start", start)
+                .addValue("end", end);
+    }
+
+    private static MapSqlParameterSource key(LocalDate date, String category) {
+        return new MapSqlParameterSource()
+                .addValue("date", date)
+                .addValue("category", category);
+    }
+}
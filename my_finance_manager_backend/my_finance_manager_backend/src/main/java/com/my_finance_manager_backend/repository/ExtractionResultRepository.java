@@ -0,0 +1,48 @@
+package com.my_finance_manager_backend.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stored AI extraction results (extraction_results), as JSON.
+ */
+@Repository
+public class ExtractionResultRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ExtractionResultRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // The stored result, unless it is missing or was created before notBefore
+    public String find(String contentSha256, String kind, LocalDateTime notBefore) {
+        List<String> rows = jdbc.queryForList("SELECT result FROM extraction_results"
+                + " WHERE content_sha256 = :hash AND kind = :kind AND created_at >= :notBefore", new MapSqlParameterSource()
+                .addValue("hash", contentSha256)
+                .addValue("kind", kind)
+                .addValue("notBefore", notBefore), String.class);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // Stores or replaces the result (replaced when an upload is reprocessed)
+    public void save(String contentSha256, String kind, String result, LocalDateTime createdAt) {
+        jdbc.update("INSERT INTO extraction_results (content_sha256, kind, result, created_at)"
+                + " VALUES (:hash, :kind, :result, :createdAt)"
+                + " ON DUPLICATE KEY UPDATE result = VALUES(result), created_at = VALUES(created_at)",
+                new MapSqlParameterSource()
+                        .addValue("hash", contentSha256)
+                        .addValue("kind", kind)
+                        .addValue("result", result)
+                        .addValue("createdAt", createdAt));
+    }
+
+    public int deleteCreatedBefore(LocalDateTime cutoff) {
+        return jdbc.update("DELETE FROM extraction_results WHERE created_at < :cutoff",
+                new MapSqlParameterSource("cutoff", cutoff));
+    }
+}
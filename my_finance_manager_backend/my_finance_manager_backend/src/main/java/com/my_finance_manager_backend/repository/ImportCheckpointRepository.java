@@ -0,0 +1,63 @@
+package com.my_finance_manager_backend.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of chunked statement imports (import_checkpoints).
+ */
+@Repository
+public class ImportCheckpointRepository {
+
+    /** Stored progress of one import; completedAt is null until its last chunk commits. */
+    public record Checkpoint(String importKey, String contentSha256, int totalRows, int committedRows,
+                             LocalDateTime completedAt) {
+
+        public boolean isCompleted() {
+            return completedAt != null;
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ImportCheckpointRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Registers the import unless a checkpoint already exists for its key
+    public void createIfAbsent(String importKey, String contentSha256, int totalRows) {
+        jdbc.update("INSERT IGNORE INTO import_checkpoints"
+                + " (import_key, content_sha256, total_rows, committed_rows, created_at, updated_at)"
+                + " VALUES (:key, :content, :total, 0, NOW(), NOW())", new MapSqlParameterSource()
+                .addValue("key", importKey)
+                .addValue("content", contentSha256)
+                .addValue("total", totalRows));
+    }
+
+    // Locks the checkpoint for the rest of the transaction, so two runs of the same
+    // import commit their chunks one after the other, each from the latest offset
+    public Checkpoint lock(String importKey) {
+        List<Checkpoint> rows = jdbc.query("SELECT import_key, content_sha256, total_rows, committed_rows, completed_at"
+                        + " FROM import_checkpoints WHERE import_key = :key FOR UPDATE",
+                new MapSqlParameterSource("key", importKey),
+                (rs, rowNum) -> new Checkpoint(
+                        rs.getString("import_key"),
+                        rs.getString("content_sha256"),
+                        rs.getInt("total_rows"),
+                        rs.getInt("committed_rows"),
+                        rs.getObject("completed_at", LocalDateTime.class)));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public void advance(String importKey, int committedRows, boolean completed) {
+        jdbc.update("UPDATE import_checkpoints SET committed_rows = :committed, updated_at = NOW(),"
+                + " completed_at = " + (completed ? "NOW()" : "NULL")
+                + " WHERE import_key = :key", new MapSqlParameterSource()
+                .addValue("key", importKey)
+                .addValue("committed", committedRows));
+    }
+}
@@ -2,18 +2,58 @@ package com.my_finance_manager_backend.repository;
 
 import com.my_finance_manager_backend.model.Income;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import com.my_finance_manager_backend.dto.TransactionViewDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IncomeRepository extends JpaRepository<Income, Long> {
 
-    Page<Income> findByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+    // Read-only list views: rows go straight into DTOs, so nothing enters the persistence context.
+    // Only unbounded reads set a fetch size; pages are small enough to arrive in one round trip.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.my_finance_manager_backend.dto.IncomeDTO(i.id, i.amount, i.source, i.description, i.date) FROM Income i")
+    List<IncomeDTO> findAllViews();
 
-    // NEW: Group incomes by source with total amounts
-    @Query("SELECT i.source, SUM(i.amount) FROM Income i GROUP BY i.source")
-    List<Object[]> getIncomeSummaryBySource();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT new com.my_finance_manager_backend.dto.IncomeDTO(i.id, i.amount, i.source, i.description, i.date) FROM Income i",
+            countQuery = "SELECT COUNT(i) FROM Income i")
+    Page<IncomeDTO> findAllViews(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT new com.my_finance_manager_backend.dto.IncomeDTO(i.id, i.amount, i.source, i.description, i.date) FROM Income i WHERE i.date BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(i) FROM Income i WHERE i.date BETWEEN :startDate AND :endDate")
+    Page<IncomeDTO> findViewsByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // Keyset scrolling: rows after (cursorDate, cursorId), newest first
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.my_finance_manager_backend.dto.IncomeDTO(i.id, i.amount, i.source, i.description, i.date) FROM Income i"
+            + " WHERE (i.date < :cursorDate OR (i.date = :cursorDate AND i.id < :cursorId))"
+            + " AND (:startDate IS NULL OR i.date >= :startDate) AND (:endDate IS NULL OR i.date <= :endDate)"
+            + " ORDER BY i.date DESC, i.id DESC")
+    List<IncomeDTO> findWindowAfter(LocalDate cursorDate, Long cursorId, LocalDate startDate, LocalDate endDate, Limit limit);
+
+    // Date-ordered stream of view rows, read in batches through a server-side cursor.
+    // Must be consumed inside a transaction and closed by the caller.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.my_finance_manager_backend.dto.TransactionViewDTO(i.id, i.date, i.source, i.amount, 'INCOME')"
+            + " FROM Income i"
+            + " WHERE (:startDate IS NULL OR i.date >= :startDate) AND (:endDate IS NULL OR i.date <= :endDate)"
+            + " ORDER BY i.date DESC, i.id DESC")
+    Stream<TransactionViewDTO> streamViewsByDateRange(LocalDate startDate, LocalDate endDate);
 }
@@ -0,0 +1,154 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bulk inserts into the ledgers for statement imports. Hibernate cannot batch inserts of
+ * IDENTITY entities, so these go through JDBC batches instead; with rewriteBatchedStatements
+ * on the datasource URL the driver sends each batch as multi-row INSERT statements and
+ * still returns every generated id. Statement rows carry a fingerprint (see V9) that a
+ * unique index keeps from being imported twice.
+ */
+@Repository
+public class LedgerBatchRepository {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final int FETCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate streamingJdbc;
+
+    public LedgerBatchRepository(NamedParameterJdbcTemplate jdbc, DataSource dataSource) {
+        this.jdbc = jdbc;
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.streamingJdbc = new NamedParameterJdbcTemplate(template);
+    }
+
+    // Inserts the rows (ids ignored) with the fingerprint at the same index, which may be null,
+    // and returns them with their generated ids, in input order. A row whose fingerprint is
+    // already stored is not inserted and comes back as null. Must run in a transaction.
+    public List<ExpenseDTO> insertExpenses(List<ExpenseDTO> expenses, List<String> fingerprints) {
+        return insert("INSERT INTO expenses (amount, category, description, expense_date, fingerprint)"
+                        + " VALUES (:amount, :category, :description, :date, :fingerprint)", expenses, fingerprints,
+                e -> new MapSqlParameterSource()
+                        .addValue("amount", e.getAmount())
+                        .addValue("category", e.getCategory())
+                        .addValue("description", e.getDescription())
+                        .addValue("date", e.getDate()),
+                (e, id) -> new ExpenseDTO(id, e.getAmount(), e.getCategory(), e.getDescription(), e.getDate()));
+    }
+
+    public List<IncomeDTO> insertIncomes(List<IncomeDTO> incomes, List<String> fingerprints) {
+        return insert("INSERT INTO incomes (amount, source, description, income_date, fingerprint)"
+                        + " VALUES (:amount, :source, :description, :date, :fingerprint)", incomes, fingerprints,
+                i -> new MapSqlParameterSource()
+                        .addValue("amount", i.getAmount())
+                        .addValue("source", i.getSource())
+                        .addValue("description", i.getDescription())
+                        .addValue("date", i.getDate()),
+                (i, id) -> new IncomeDTO(id, i.getAmount(), i.getSource(), i.getDescription(), i.getDate()));
+    }
+
+    // Which of the fingerprints are already taken, in either ledger; one query for the whole batch
+    public Set<String> findExistingFingerprints(Collection<String> fingerprints) {
+        if (fingerprints.isEmpty()) {
+            return Set.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("fingerprints", fingerprints);
+        return new HashSet<>(jdbc.queryForList("SELECT fingerprint FROM expenses WHERE fingerprint IN (:fingerprints)"
+                + " UNION ALL SELECT fingerprint FROM incomes WHERE fingerprint IN (:fingerprints)", params, String.class));
+    }
+
+    // Every stored fingerprint, streamed through server-side cursors
+    public void forEachFingerprint(Consumer<String> action) {
+        for (String table : List.of("expenses", "incomes")) {
+            streamingJdbc.query("SELECT fingerprint FROM " + table + " WHERE fingerprint IS NOT NULL",
+                    new MapSqlParameterSource(), (RowCallbackHandler) rs -> action.accept(rs.getString(1)));
+        }
+    }
+
+    private interface WithId<T> {
+        T apply(T row, Long id);
+    }
+
+    // Each batch runs behind a savepoint. If it hits the unique fingerprint index (a concurrent
+    // import stored one of the rows after the caller checked), the batch is undone and its
+    // rows are inserted one at a time: a failing single-row INSERT only rolls back itself.
+    private <T> List<T> insert(String sql, List<T> rows, List<String> fingerprints,
+                               Function<T, MapSqlParameterSource> params, WithId<T> withId) {
+        List<T> saved = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<T> chunk = rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE));
+            SqlParameterSource[] batch = new SqlParameterSource[chunk.size()];
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = params.apply(chunk.get(i)).addValue("fingerprint", fingerprints.get(from + i));
+            }
+            Savepoint savepoint = jdbc.getJdbcTemplate().execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+            List<Long> ids;
+            try {
+                ids = insertBatch(sql, batch);
+            } catch (DuplicateKeyException e) {
+                jdbc.getJdbcTemplate().execute((ConnectionCallback<Void>) con -> {
+                    con.rollback(savepoint);
+                    return null;
+                });
+                ids = new ArrayList<>(batch.length);
+                for (SqlParameterSource row : batch) {
+                    try {
+                        ids.add(insertBatch(sql, new SqlParameterSource[]{row}).get(0));
+                    } catch (DuplicateKeyException duplicate) {
+                        ids.add(null);
+                    }
+                }
+            }
+            jdbc.getJdbcTemplate().execute((ConnectionCallback<Void>) con -> {
+                con.releaseSavepoint(savepoint);
+                return null;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                saved.add(ids.get(i) != null ? withId.apply(chunk.get(i), ids.get(i)) : null);
+            }
+        }
+        return saved;
+    }
+
+    private List<Long> insertBatch(String sql, SqlParameterSource[] batch) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(sql, batch, keys, new String[]{"id"});
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != batch.length) {
+            throw new IllegalStateException("Expected " + batch.length + " generated ids, got " + keyList.size());
+        }
+        List<Long> ids = new ArrayList<>(batch.length);
+        for (Map<String, Object> key : keyList) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,197 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.dto.TransactionCursor;
+import com.my_finance_manager_backend.dto.TransactionViewDTO;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * SQL that spans both ledgers (expenses and incomes).
+ * Neither JPA repository owns these queries, so they live here on top of JDBC.
+ */
+@Repository
+public class LedgerQueryRepository {
+
+    private static final RowMapper<TransactionViewDTO> VIEW_ROW_MAPPER = (rs, rowNum) -> new TransactionViewDTO(
+            rs.getLong("id"),
+            rs.getObject("txn_date", LocalDate.class),
+            rs.getString("description"),
+            rs.getBigDecimal("amount"),
+            rs.getString("type"));
+
+    private static final RowMapper<LedgerGroupTotalDTO> GROUP_ROW_MAPPER = (rs, rowNum) -> new LedgerGroupTotalDTO(
+            rs.getString("type"),
+            rs.getString("group_key"),
+            MinorUnits.of(rs.getBigDecimal("total")));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public LedgerQueryRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // One page of the unified ledger, newest first. Each branch is limited to
+    // offset + size rows so MySQL never reads more than the page needs.
+    public List<TransactionViewDTO> findTransactionViews(LocalDate start, LocalDate end, long offset, int size,
+                                                         boolean withBalance) {
+        MapSqlParameterSource params = dateParams(start, end)
+                .addValue("branchLimit", offset + size)
+                .addValue("size", size)
+                .addValue("offset", offset);
+
+        String sql = "SELECT id, txn_date, description, amount, type FROM ("
+                + "(SELECT e.expense_date AS txn_date, e.id AS id, e.description AS description, e.amount AS amount, 'EXPENSE' AS type"
+                + " FROM expenses e WHERE 1 = 1" + dateFilter("e.expense_date", start, end)
+                + " ORDER BY e.expense_date DESC, e.id DESC LIMIT :branchLimit)"
+                + " UNION ALL "
+                + "(SELECT i.income_date, i.id, i.source, i.amount, 'INCOME'"
+                + " FROM incomes i WHERE 1 = 1" + dateFilter("i.income_date", start, end)
+                + " ORDER BY i.income_date DESC, i.id DESC LIMIT :branchLimit)"
+                + ") t ORDER BY txn_date DESC, type ASC, id DESC LIMIT :size OFFSET :offset";
+
+        return queryPage(sql, params, withBalance);
+    }
+
+    // Keyset variant: the rows that follow the cursor, found by seeking each branch
+    // on (date, id) instead of skipping over earlier pages.
+    public List<TransactionViewDTO> findTransactionViewsAfter(LocalDate start, LocalDate end,
+                                                              TransactionCursor cursor, int limit,
+                                                              boolean withBalance) {
+        MapSqlParameterSource params = dateParams(start, end)
+                .addValue("cursorDate", cursor.getDate())
+                .addValue("cursorId", cursor.getId())
+                .addValue("limit", limit);
+
+        String sql = "SELECT id, txn_date, description, amount, type FROM ("
+                + "(SELECT e.expense_date AS txn_date, e.id AS id, e.description AS description, e.amount AS amount, 'EXPENSE' AS type"
+                + " FROM expenses e WHERE " + seekFilter("e.expense_date", "e.id", "EXPENSE", cursor)
+                + dateFilter("e.expense_date", start, end)
+                + " ORDER BY e.expense_date DESC, e.id DESC LIMIT :limit)"
+                + " UNION ALL "
+                + "(SELECT i.income_date, i.id, i.source, i.amount, 'INCOME'"
+                + " FROM incomes i WHERE " + seekFilter("i.income_date", "i.id", "INCOME", cursor)
+                + dateFilter("i.income_date", start, end)
+                + " ORDER BY i.income_date DESC, i.id DESC LIMIT :limit)"
+                + ") t ORDER BY txn_date DESC, type ASC, id DESC LIMIT :limit";
+
+        return queryPage(sql, params, withBalance);
+    }
+
+    // Total number of rows in the unified ledger for the date range
+    public long countTransactions(LocalDate start, LocalDate end) {
+        String sql = "SELECT (SELECT COUNT(*) FROM expenses e WHERE 1 = 1" + dateFilter("e.expense_date", start, end) + ")"
+                + " + (SELECT COUNT(*) FROM incomes i WHERE 1 = 1" + dateFilter("i.income_date", start, end) + ")";
+
+        Long count = jdbc.queryForObject(sql, dateParams(start, end), Long.class);
+        return count != null ? count : 0L;
+    }
+
+    // Expense totals per category and income totals per source for the date range,
+    // summed in MySQL and returned in one round trip. Ledger-wide totals are the
+    // sum of the groups, so they need no separate query.
+    public List<LedgerGroupTotalDTO> sumByGroup(LocalDate start, LocalDate end) {
+        String sql = expenseGroupSql(start, end) + " UNION ALL " + incomeGroupSql(start, end);
+        return jdbc.query(sql, dateParams(start, end), GROUP_ROW_MAPPER);
+    }
+
+    // One ledger only, so a caller that wants one side does not pay for the other
+    public List<LedgerGroupTotalDTO> sumExpensesByCategory(LocalDate start, LocalDate end) {
+        return jdbc.query(expenseGroupSql(start, end), dateParams(start, end), GROUP_ROW_MAPPER);
+    }
+
+    public List<LedgerGroupTotalDTO> sumIncomesBySource(LocalDate start, LocalDate end) {
+        return jdbc.query(incomeGroupSql(start, end), dateParams(start, end), GROUP_ROW_MAPPER);
+    }
+
+    private static String expenseGroupSql(LocalDate start, LocalDate end) {
+        return "SELECT 'EXPENSE' AS type, e.category AS group_key, SUM(e.amount) AS total"
+                + " FROM expenses e WHERE 1 = 1" + dateFilter("e.expense_date", start, end)
+                + " GROUP BY e.category";
+    }
+
+    private static String incomeGroupSql(LocalDate start, LocalDate end) {
+        return "SELECT 'INCOME' AS type, i.source AS group_key, SUM(i.amount) AS total"
+                + " FROM incomes i WHERE 1 = 1" + dateFilter("i.income_date", start, end)
+                + " GROUP BY i.source";
+    }
+
+    // Net balance of everything that happened before the given row: whole days from
+    // the rollups, plus the rows earlier on the same day (those that list after it)
+    public long netBalanceBefore(TransactionCursor position) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cursorDate", position.getDate())
+                .addValue("cursorId", position.getId());
+
+        String sql = "SELECT (SELECT COALESCE(SUM(r.total), 0) FROM daily_income_rollup r WHERE r.rollup_date < :cursorDate)"
+                + " - (SELECT COALESCE(SUM(r.total), 0) FROM daily_expense_rollup r WHERE r.rollup_date < :cursorDate)"
+                + " + (SELECT COALESCE(SUM(i.amount), 0) FROM incomes i WHERE i.income_date = :cursorDate"
+                + " AND " + seekFilter("i.income_date", "i.id", "INCOME", position) + ")"
+                + " - (SELECT COALESCE(SUM(e.amount), 0) FROM expenses e WHERE e.expense_date = :cursorDate"
+                + " AND " + seekFilter("e.expense_date", "e.id", "EXPENSE", position) + ")";
+
+        return MinorUnits.of(jdbc.queryForObject(sql, params, BigDecimal.class));
+    }
+
+    // Runs a page query, optionally with each row's running balance. The window sum
+    // only spans the page itself (oldest row first, the reverse of list order), and
+    // the balance before the page's oldest row is added on top, so the cost does not
+    // grow with the page depth or the size of the date range.
+    private List<TransactionViewDTO> queryPage(String pageSql, MapSqlParameterSource params, boolean withBalance) {
+        if (!withBalance) {
+            return jdbc.query(pageSql, params, VIEW_ROW_MAPPER);
+        }
+        String sql = "SELECT p.*, SUM(CASE WHEN p.type = 'INCOME' THEN p.amount ELSE -p.amount END)"
+                + " OVER (ORDER BY p.txn_date, p.type DESC, p.id) AS page_net"
+                + " FROM (" + pageSql + ") p ORDER BY p.txn_date DESC, p.type ASC, p.id DESC";
+
+        // balanceAfter holds the page-relative sum until the seed is known
+        List<TransactionViewDTO> rows = jdbc.query(sql, params, (rs, rowNum) -> {
+            TransactionViewDTO row = VIEW_ROW_MAPPER.mapRow(rs, rowNum);
+            row.setBalanceAfter(rs.getBigDecimal("page_net"));
+            return row;
+        });
+        if (rows.isEmpty()) {
+            return rows;
+        }
+
+        TransactionViewDTO oldest = rows.get(rows.size() - 1);
+        long seed = netBalanceBefore(new TransactionCursor(oldest.getDate(), oldest.getId(), oldest.getType()));
+        for (TransactionViewDTO row : rows) {
+            row.setBalanceAfter(MinorUnits.toBigDecimal(Math.addExact(seed, MinorUnits.of(row.getBalanceAfter()))));
+        }
+        return rows;
+    }
+
+    // Rows of one branch that sort after the cursor. Within a date, expenses come
+    // before incomes, so only the branch matching the cursor type needs the id tie-break.
+    private static String seekFilter(String dateColumn, String idColumn, String branchType, TransactionCursor cursor) {
+        int cmp = branchType.compareTo(cursor.getType());
+        if (cmp == 0) {
+            return "(" + dateColumn + " < :cursorDate OR (" + dateColumn + " = :cursorDate AND " + idColumn + " < :cursorId))";
+        }
+        return cmp > 0 ? dateColumn + " <= :cursorDate" : dateColumn + " < :cursorDate";
+    }
+
+    // Open-ended ranges are left out of the SQL entirely rather than bound as NULL,
+    // so the optimizer always sees a plain range predicate on the date column.
+    private static String dateFilter(String column, LocalDate start, LocalDate end) {
+        StringBuilder sb = new StringBuilder();
+        if (start != null) sb.append(" AND ").append(column).append(" >= :start");
+        if (end != null) sb.append(" AND ").append(column).append(" <= :end");
+        return sb.toString();
+    }
+
+    private static MapSqlParameterSource dateParams(LocalDate start, LocalDate end) {
+        return new MapSqlParameterSource()
+                .addValue("start", start)
+                .addValue("end", end);
+    }
+}
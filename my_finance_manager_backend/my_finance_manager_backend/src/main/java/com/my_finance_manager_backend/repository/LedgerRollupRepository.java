@@ -0,0 +1,232 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.dto.TimeGranularity;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily per-category and per-source totals (daily_expense_rollup, daily_income_rollup).
+ * Rows are adjusted with signed deltas as the ledgers change and dropped once
+ * their count falls back to zero.
+ */
+@Repository
+public class LedgerRollupRepository {
+
+    /** One signed adjustment to a (date, key) rollup row. */
+    public record Delta(LocalDate date, String key, BigDecimal amount, long count) {
+    }
+
+    /** Total in minor units for one bucket of one ledger; key is null unless grouped by that ledger's key. */
+    public record BucketTotal(LocalDate bucket, String type, String key, long total) {
+    }
+
+    /** Inclusive date range. */
+    public record DateRange(LocalDate start, LocalDate end) {
+    }
+
+    /** Totals in minor units for one key, one per requested range, in request order. */
+    public record RangeTotals(String type, String key, long[] totals) {
+    }
+
+    private static final RowMapper<LedgerGroupTotalDTO> GROUP_ROW_MAPPER = (rs, rowNum) -> new LedgerGroupTotalDTO(
+            rs.getString("type"),
+            rs.getString("group_key"),
+            MinorUnits.of(rs.getBigDecimal("total")));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public LedgerRollupRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void applyExpenseDeltas(List<Delta> deltas) {
+        apply("daily_expense_rollup", "category", deltas);
+    }
+
+    public void applyIncomeDeltas(List<Delta> deltas) {
+        apply("daily_income_rollup", "source", deltas);
+    }
+
+    // Same result shape as LedgerQueryRepository.sumByGroup, read from at most one row per key and day
+    public List<LedgerGroupTotalDTO> sumByGroup(LocalDate start, LocalDate end) {
+        String sql = "SELECT 'EXPENSE' AS type, r.category AS group_key, SUM(r.total) AS total"
+                + " FROM daily_expense_rollup r WHERE 1 = 1" + dateFilter(start, end)
+                + " GROUP BY r.category"
+                + " UNION ALL "
+                + "SELECT 'INCOME', r.source, SUM(r.total)"
+                + " FROM daily_income_rollup r WHERE 1 = 1" + dateFilter(start, end)
+                + " GROUP BY r.source";
+        return jdbc.query(sql, dateParams(start, end), GROUP_ROW_MAPPER);
+    }
+
+    public List<LedgerGroupTotalDTO> sumExpensesByCategory(LocalDate start, LocalDate end) {
+        String sql = "SELECT 'EXPENSE' AS type, r.category AS group_key, SUM(r.total) AS total"
+                + " FROM daily_expense_rollup r WHERE 1 = 1" + dateFilter(start, end)
+                + " GROUP BY r.category";
+        return jdbc.query(sql, dateParams(start, end), GROUP_ROW_MAPPER);
+    }
+
+    public List<LedgerGroupTotalDTO> sumIncomesBySource(LocalDate start, LocalDate end) {
+        String sql = "SELECT 'INCOME' AS type, r.source AS group_key, SUM(r.total) AS total"
+                + " FROM daily_income_rollup r WHERE 1 = 1" + dateFilter(start, end)
+                + " GROUP BY r.source";
+        return jdbc.query(sql, dateParams(start, end), GROUP_ROW_MAPPER);
+    }
+
+    // Both ledgers bucketed by day, week or month in one grouped scan of the rollups.
+    // groupBy "category" splits the expense side by category, "source" the income side by source.
+    public List<BucketTotal> sumByBucket(TimeGranularity granularity, String groupBy, LocalDate start, LocalDate end) {
+        String bucket = bucketExpression(granularity);
+        String expenseKey = "category".equals(groupBy) ? "r.category" : "NULL";
+        String incomeKey = "source".equals(groupBy) ? "r.source" : "NULL";
+
+        String sql = "SELECT " + bucket + " AS bucket, 'EXPENSE' AS type, " + expenseKey + " AS group_key, SUM(r.total) AS total"
+                + " FROM daily_expense_rollup r WHERE 1 = 1" + dateFilter(start, end)
+                + " GROUP BY bucket, group_key"
+                + " UNION ALL "
+                + "SELECT " + bucket + " AS bucket, 'INCOME', " + incomeKey + " AS group_key, SUM(r.total)"
+                + " FROM daily_income_rollup r WHERE 1 = 1" + dateFilter(start, end)
+                + " GROUP BY bucket, group_key";
+
+        return jdbc.query(sql, dateParams(start, end), (rs, rowNum) -> new BucketTotal(
+                rs.getObject("bucket", LocalDate.class),
+                rs.getString("type"),
+                rs.getString("group_key"),
+                MinorUnits.of(rs.getBigDecimal("total"))));
+    }
+
+    // Per-key totals of both ledgers for several ranges in one pass over the rollups:
+    // each row is read once and counted into every range containing it
+    public List<RangeTotals> sumByRanges(List<DateRange> ranges) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder columns = new StringBuilder();
+        StringBuilder anyRange = new StringBuilder();
+        for (int i = 0; i < ranges.size(); i++) {
+            params.addValue("start" + i, ranges.get(i).start()).addValue("end" + i, ranges.get(i).end());
+            String inRange = "r.rollup_date BETWEEN :start" + i + " AND :end" + i;
+            columns.append(", SUM(CASE WHEN ").append(inRange).append(" THEN r.total ELSE 0 END) AS total").append(i);
+            anyRange.append(i == 0 ? "" : " OR ").append(inRange);
+        }
+
+        String sql = "SELECT 'EXPENSE' AS type, r.category AS group_key" + columns
+                + " FROM daily_expense_rollup r WHERE " + anyRange
+                + " GROUP BY r.category"
+                + " UNION ALL "
+                + "SELECT 'INCOME', r.source" + columns
+                + " FROM daily_income_rollup r WHERE " + anyRange
+                + " GROUP BY r.source";
+
+        return jdbc.query(sql, params, (rs, rowNum) -> {
+            long[] totals = new long[ranges.size()];
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] = MinorUnits.of(rs.getBigDecimal("total" + i));
+            }
+            return new RangeTotals(rs.getString("type"), rs.getString("group_key"), totals);
+        });
+    }
+
+    // Every rollup row as a positive delta, for loading in-memory indexes
+    public List<Delta> findAllExpenseDays() {
+        return findAllDays("daily_expense_rollup", "category");
+    }
+
+    public List<Delta> findAllIncomeDays() {
+        return findAllDays("daily_income_rollup", "source");
+    }
+
+    // Throws the rollups away and recomputes them from the ledgers
+    public void rebuild() {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        jdbc.update("DELETE FROM daily_expense_rollup", none);
+        jdbc.update("INSERT INTO daily_expense_rollup (rollup_date, category, total, txn_count)"
+                + " SELECT expense_date, category, SUM(amount), COUNT(*) FROM expenses GROUP BY expense_date, category", none);
+        jdbc.update("DELETE FROM daily_income_rollup", none);
+        jdbc.update("INSERT INTO daily_income_rollup (rollup_date, source, total, txn_count)"
+                + " SELECT income_date, source, SUM(amount), COUNT(*) FROM incomes GROUP BY income_date, source", none);
+    }
+
+    // Every (date, key) where the rollup and the ledger disagree, one line each
+    public List<String> findMismatches() {
+        List<String> mismatches = mismatches("EXPENSE", "daily_expense_rollup", "category", "expenses", "expense_date");
+        mismatches.addAll(mismatches("INCOME", "daily_income_rollup", "source", "incomes", "income_date"));
+        return mismatches;
+    }
+
+    private List<String> mismatches(String type, String rollupTable, String keyColumn, String ledgerTable, String dateColumn) {
+        String ledger = "(SELECT " + dateColumn + " AS d, " + keyColumn + " AS k, SUM(amount) AS total, COUNT(*) AS cnt"
+                + " FROM " + ledgerTable + " GROUP BY " + dateColumn + ", " + keyColumn + ")";
+        // MySQL has no FULL OUTER JOIN, so check each side against the other
+        String sql = "SELECT r.rollup_date AS d, r." + keyColumn + " AS k, r.total AS rollup_total, r.txn_count AS rollup_count,"
+                + " l.total AS ledger_total, l.cnt AS ledger_count"
+                + " FROM " + rollupTable + " r LEFT JOIN " + ledger + " l ON l.d = r.rollup_date AND l.k = r." + keyColumn
+                + " WHERE l.d IS NULL OR l.total <> r.total OR l.cnt <> r.txn_count"
+                + " UNION ALL "
+                + "SELECT l.d, l.k, NULL, NULL, l.total, l.cnt"
+                + " FROM " + ledger + " l LEFT JOIN " + rollupTable + " r ON r.rollup_date = l.d AND r." + keyColumn + " = l.k"
+                + " WHERE r.rollup_date IS NULL";
+
+        return jdbc.query(sql, new MapSqlParameterSource(), (rs, rowNum) -> type + " " + rs.getObject("d", LocalDate.class)
+                + " " + rs.getString("k")
+                + ": rollup " + rs.getBigDecimal("rollup_total") + "/" + rs.getObject("rollup_count")
+                + ", ledger " + rs.getBigDecimal("ledger_total") + "/" + rs.getObject("ledger_count"));
+    }
+
+    private List<Delta> findAllDays(String table, String keyColumn) {
+        return jdbc.query("SELECT rollup_date, " + keyColumn + " AS k, total, txn_count FROM " + table,
+                new MapSqlParameterSource(), (rs, rowNum) -> new Delta(
+                        rs.getObject("rollup_date", LocalDate.class),
+                        rs.getString("k"),
+                        rs.getBigDecimal("total"),
+                        rs.getLong("txn_count")));
+    }
+
+    private void apply(String table, String keyColumn, List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = deltas.stream()
+                .map(d -> new MapSqlParameterSource()
+                        .addValue("date", d.date())
+                        .addValue("key", d.key())
+                        .addValue("amount", d.amount())
+                        .addValue("count", d.count()))
+                .toArray(SqlParameterSource[]::new);
+
+        jdbc.batchUpdate("INSERT INTO " + table + " (rollup_date, " + keyColumn + ", total, txn_count)"
+                + " VALUES (:date, :key, :amount, :count)"
+                + " ON DUPLICATE KEY UPDATE total = total + VALUES(total), txn_count = txn_count + VALUES(txn_count)", batch);
+        jdbc.batchUpdate("DELETE FROM " + table
+                + " WHERE rollup_date = :date AND " + keyColumn + " = :key AND txn_count <= 0", batch);
+    }
+
+    // First day of the bucket, computed in SQL; must agree with TimeGranularity.bucketStart
+    private static String bucketExpression(TimeGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> "r.rollup_date";
+            case WEEK -> "DATE_SUB(r.rollup_date, INTERVAL WEEKDAY(r.rollup_date) DAY)";
+            case MONTH -> "DATE_SUB(r.rollup_date, INTERVAL DAYOFMONTH(r.rollup_date) - 1 DAY)";
+        };
+    }
+
+    private static String dateFilter(LocalDate start, LocalDate end) {
+        StringBuilder sb = new StringBuilder();
+        if (start != null) sb.append(" AND r.rollup_date >= :start");
+        if (end != null) sb.append(" AND r.rollup_date <= :end");
+        return sb.toString();
+    }
+
+    private static MapSqlParameterSource dateParams(LocalDate start, LocalDate end) {
+        return new MapSqlParameterSource()
+                .addValue("start", start)
+                .addValue("end", end);
+    }
+}
@@ -1,7 +1,24 @@
 package com.my_finance_manager_backend.repository;
 
+import com.my_finance_manager_backend.dto.ReceiptDTO;
 import com.my_finance_manager_backend.model.Receipt;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
+
+    // Read-only list view; extracted text can be large, so rows are fetched in batches
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.my_finance_manager_backend.dto.ReceiptDTO(r.id, r.fileName, r.fileType, r.fileSize,"
+            + " r.uploadedAt, r.processed, r.extractedText, r.merchantName, r.amount, r.currency,"
+            + " r.transactionDate, r.category, r.description, r.aiConfidence) FROM Receipt r")
+    List<ReceiptDTO> findAllViews();
 }
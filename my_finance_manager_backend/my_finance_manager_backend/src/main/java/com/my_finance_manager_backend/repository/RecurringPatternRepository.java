@@ -0,0 +1,191 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.MinorUnits;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stored state of the recurring-transaction detector (recurring_patterns).
+ */
+@Repository
+public class RecurringPatternRepository {
+
+    /** Primary key: ledger type (EXPENSE or INCOME) and normalized merchant key. */
+    public record Key(String type, String merchant) {
+    }
+
+    /** One stored row; cadence and the columns after it are null while nothing recurs. */
+    public record PatternRow(Key key, String description, long occurrences, String recent, LocalDate lastDate,
+                             String cadence, Integer intervalDays, Integer streak,
+                             BigDecimal amountLow, BigDecimal amountHigh) {
+    }
+
+    /** A ledger row as the detector sees it (incomes: source as description). */
+    public record LedgerRow(String type, LocalDate date, String description, String fallbackKey, long amount) {
+    }
+
+    /** All-time occurrence count of one key and its latest ledger rows, newest first. */
+    public record History(long occurrences, List<LedgerRow> latest) {
+    }
+
+    private static final String COLUMNS = "txn_type, merchant_key, description, occurrences, recent, last_date,"
+            + " cadence, interval_days, streak, amount_low, amount_high";
+
+    // DescriptionNormalizer.normalize in SQL, for one column
+    private static final String NORMALIZED = "NULLIF(TRIM(REGEXP_REPLACE(LOWER(%s), '[^\\\\p{L}]+', ' ')), '')";
+
+    private static final int FETCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate streamingJdbc;
+
+    public RecurringPatternRepository(NamedParameterJdbcTemplate jdbc, DataSource dataSource) {
+        this.jdbc = jdbc;
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.streamingJdbc = new NamedParameterJdbcTemplate(template);
+    }
+
+    // Creates missing rows, then locks all of them for the rest of the transaction in one
+    // statement, so concurrent writers to the same merchant apply their changes in turn.
+    // Keys are sorted first: two writers touching the same merchants then take the row
+    // locks in the same order and wait for each other instead of deadlocking.
+    public List<PatternRow> lockAll(List<Key> unsorted) {
+        if (unsorted.isEmpty()) {
+            return List.of();
+        }
+        List<Key> keys = unsorted.stream()
+                .sorted(Comparator.comparing(Key::type).thenComparing(Key::merchant))
+                .toList();
+        SqlParameterSource[] batch = keys.stream().map(RecurringPatternRepository::keyParams)
+                .toArray(SqlParameterSource[]::new);
+        jdbc.batchUpdate("INSERT IGNORE INTO recurring_patterns (txn_type, merchant_key, occurrences, recent)"
+                + " VALUES (:type, :merchant, 0, '')", batch);
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < keys.size(); i++) {
+            params.addValue("type" + i, keys.get(i).type()).addValue("merchant" + i, keys.get(i).merchant());
+            in.append(i == 0 ? "" : ", ").append("(:type").append(i).append(", :merchant").append(i).append(")");
+        }
+        return jdbc.query("SELECT " + COLUMNS + " FROM recurring_patterns"
+                + " WHERE (txn_type, merchant_key) IN (" + in + ") FOR UPDATE", params, (rs, rowNum) -> patternRow(rs));
+    }
+
+    public void updateAll(List<PatternRow> rows) {
+        jdbc.batchUpdate("UPDATE recurring_patterns SET description = :description, occurrences = :occurrences,"
+                + " recent = :recent, last_date = :lastDate, cadence = :cadence, interval_days = :intervalDays,"
+                + " streak = :streak, amount_low = :amountLow, amount_high = :amountHigh"
+                + " WHERE txn_type = :type AND merchant_key = :merchant", rowParams(rows));
+    }
+
+    public void insertAll(List<PatternRow> rows) {
+        jdbc.batchUpdate("INSERT INTO recurring_patterns (" + COLUMNS + ") VALUES (:type, :merchant, :description,"
+                + " :occurrences, :recent, :lastDate, :cadence, :intervalDays, :streak, :amountLow, :amountHigh)",
+                rowParams(rows));
+    }
+
+    public void deleteAll(List<Key> keys) {
+        jdbc.batchUpdate("DELETE FROM recurring_patterns WHERE txn_type = :type AND merchant_key = :merchant",
+                keys.stream().map(RecurringPatternRepository::keyParams).toArray(SqlParameterSource[]::new));
+    }
+
+    // Keys with a current run, optionally for one ledger, most recent first
+    public List<PatternRow> findRecurring(String type) {
+        String sql = "SELECT " + COLUMNS + " FROM recurring_patterns WHERE cadence IS NOT NULL"
+                + (type != null ? " AND txn_type = :type" : "")
+                + " ORDER BY last_date DESC, merchant_key";
+        return jdbc.query(sql, new MapSqlParameterSource("type", type), (rs, rowNum) -> patternRow(rs));
+    }
+
+    public boolean isEmpty() {
+        Integer any = jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM recurring_patterns)",
+                new MapSqlParameterSource(), Integer.class);
+        return any == null || any == 0;
+    }
+
+    // Every expense and income, streamed through server-side cursors in no particular order
+    public void forEachLedgerRow(Consumer<LedgerRow> action) {
+        streamingJdbc.query("SELECT expense_date, description, category, amount FROM expenses",
+                new MapSqlParameterSource(), (RowCallbackHandler) rs -> action.accept(new LedgerRow("EXPENSE",
+                        rs.getObject("expense_date", LocalDate.class), rs.getString("description"),
+                        rs.getString("category"), MinorUnits.of(rs.getBigDecimal("amount")))));
+        streamingJdbc.query("SELECT income_date, source, description, amount FROM incomes",
+                new MapSqlParameterSource(), (RowCallbackHandler) rs -> action.accept(new LedgerRow("INCOME",
+                        rs.getObject("income_date", LocalDate.class), rs.getString("source"),
+                        rs.getString("description"), MinorUnits.of(rs.getBigDecimal("amount")))));
+    }
+
+    // The ledger rows of one key, read back when a removal leaves the stored window short of
+    // occurrences it had evicted. Matches the key the way the detector derives it: the
+    // normalized description (incomes: source), else the normalized fallback column.
+    public History findHistory(Key key, int limit) {
+        boolean expense = "EXPENSE".equals(key.type());
+        String table = expense ? "expenses" : "incomes";
+        String date = expense ? "expense_date" : "income_date";
+        String name = expense ? "description" : "source";
+        String fallback = expense ? "category" : "description";
+        String sql = "SELECT " + date + " AS txn_date, " + name + " AS name, " + fallback + " AS fallback, amount,"
+                + " COUNT(*) OVER () AS occurrences FROM " + table
+                + " WHERE COALESCE(" + NORMALIZED.formatted(name) + ", " + NORMALIZED.formatted(fallback) + ") = :merchant"
+                + " ORDER BY " + date + " DESC, id DESC LIMIT :limit";
+        long[] occurrences = {0};
+        List<LedgerRow> latest = jdbc.query(sql, keyParams(key).addValue("limit", limit), (rs, rowNum) -> {
+            occurrences[0] = rs.getLong("occurrences");
+            return new LedgerRow(key.type(), rs.getObject("txn_date", LocalDate.class), rs.getString("name"),
+                    rs.getString("fallback"), MinorUnits.of(rs.getBigDecimal("amount")));
+        });
+        return new History(occurrences[0], latest);
+    }
+
+    private static PatternRow patternRow(ResultSet rs) throws SQLException {
+        return new PatternRow(
+                new Key(rs.getString("txn_type"), rs.getString("merchant_key")),
+                rs.getString("description"),
+                rs.getLong("occurrences"),
+                rs.getString("recent"),
+                rs.getObject("last_date", LocalDate.class),
+                rs.getString("cadence"),
+                rs.getObject("interval_days", Integer.class),
+                rs.getObject("streak", Integer.class),
+                rs.getBigDecimal("amount_low"),
+                rs.getBigDecimal("amount_high"));
+    }
+
+    private static SqlParameterSource[] rowParams(List<PatternRow> rows) {
+        List<SqlParameterSource> params = new ArrayList<>(rows.size());
+        for (PatternRow row : rows) {
+            params.add(keyParams(row.key())
+                    .addValue("description", row.description())
+                    .addValue("occurrences", row.occurrences())
+                    .addValue("recent", row.recent())
+                    .addValue("lastDate", row.lastDate())
+                    .addValue("cadence", row.cadence())
+                    .addValue("intervalDays", row.intervalDays())
+                    .addValue("streak", row.streak())
+                    .addValue("amountLow", row.amountLow())
+                    .addValue("amountHigh", row.amountHigh()));
+        }
+        return params.toArray(SqlParameterSource[]::new);
+    }
+
+    private static MapSqlParameterSource keyParams(Key key) {
+        return new MapSqlParameterSource()
+                .addValue("type", key.type())
+                .addValue("merchant", key.merchant());
+    }
+}
@@ -0,0 +1,73 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.MinorUnits;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spend per category and per merchant (normalized expense description), ranked in
+ * MySQL so only the top n groups come back. Receipts are not counted: a receipt is
+ * turned into an expense when it is saved, so the ledger already holds that spend.
+ */
+@Repository
+public class SpendRankingRepository {
+
+    /** Spend in minor units and number of rows for one group. */
+    public record GroupSpend(String key, long total, long count) {
+    }
+
+    // The DescriptionNormalizer key in SQL: lower-cased, every run of non-letters
+    // replaced by one space, trimmed. Descriptions without letters give ''.
+    private static final String MERCHANT_KEY = "TRIM(REGEXP_REPLACE(LOWER(e.description), '[^\\\\p{L}]+', ' '))";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public SpendRankingRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Categories are exact keys, so the ranking runs entirely in MySQL on the rollups
+    public List<GroupSpend> topCategories(LocalDate start, LocalDate end, int n) {
+        String sql = "SELECT r.category AS group_key, SUM(r.total) AS total, SUM(r.txn_count) AS txn_count"
+                + " FROM daily_expense_rollup r WHERE 1 = 1"
+                + dateFilter("r.rollup_date", start, end)
+                + " GROUP BY r.category ORDER BY total DESC, group_key LIMIT :n";
+        return jdbc.query(sql, dateParams(start, end).addValue("n", n), (rs, rowNum) -> groupSpend(rs));
+    }
+
+    // Descriptions are grouped on the normalized merchant key, so "STARBUCKS #12" and
+    // "Starbucks #7" are one group; the grouping, ordering and limit all run in MySQL
+    public List<GroupSpend> topMerchants(LocalDate start, LocalDate end, int n) {
+        String sql = "SELECT " + MERCHANT_KEY + " AS group_key, SUM(e.amount) AS total, COUNT(*) AS txn_count"
+                + " FROM expenses e WHERE e.description IS NOT NULL"
+                + dateFilter("e.expense_date", start, end)
+                + " GROUP BY group_key HAVING group_key <> '' ORDER BY total DESC, group_key LIMIT :n";
+        return jdbc.query(sql, dateParams(start, end).addValue("n", n), (rs, rowNum) -> groupSpend(rs));
+    }
+
+    private static GroupSpend groupSpend(ResultSet rs) throws SQLException {
+        return new GroupSpend(
+                rs.getString("group_key"),
+                MinorUnits.of(rs.getBigDecimal("total")),
+                rs.getLong("txn_count"));
+    }
+
+    private static String dateFilter(String column, LocalDate start, LocalDate end) {
+        StringBuilder sb = new StringBuilder();
+        if (start != null) sb.append(" AND ").append(column).append(" >= :start");
+        if (end != null) sb.append(" AND ").append(column).append(" <= :end");
+        return sb.toString();
+    }
+
+    private static MapSqlParameterSource dateParams(LocalDate start, LocalDate end) {
+        return new MapSqlParameterSource()
+                .addValue("start", start)
+                .addValue("end", end);
+    }
+}
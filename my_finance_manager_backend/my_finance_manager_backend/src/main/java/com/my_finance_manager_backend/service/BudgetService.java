@@ -0,0 +1,145 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.BudgetStatusDTO;
+import com.my_finance_manager_backend.dto.BudgetSummaryDTO;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.model.Budget;
+import com.my_finance_manager_backend.repository.BudgetRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+@Service
+public class BudgetService {
+
+    private final BudgetRepository repo;
+    private final BudgetSpendTracker spendTracker;
+
+    public BudgetService(BudgetRepository repo, BudgetSpendTracker spendTracker) {
+        this.repo = repo;
+        this.spendTracker = spendTracker;
+    }
+
+    // CREATE / UPDATE: one budget per category and period
+    @Transactional
+    public BudgetStatusDTO save(Budget budget) {
+        validate(budget);
+        repo.findByCategoryIgnoreCaseAndPeriod(budget.getCategory().trim(), budget.getPeriod())
+                .filter(existing -> !existing.getId().equals(budget.getId()))
+                .ifPresent(existing -> {
+                    throw new IllegalArgumentException("A " + budget.getPeriod().name().toLowerCase(Locale.ROOT)
+                            + " budget for " + existing.getCategory() + " already exists (id " + existing.getId() + ")");
+                });
+        budget.setCategory(budget.getCategory().trim());
+        return status(repo.save(budget), LocalDate.now());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BudgetStatusDTO> findById(Long id) {
+        return repo.findById(id).map(b -> status(b, LocalDate.now()));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean exists(Long id) {
+        return repo.existsById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetStatusDTO> findAll() {
+        return statuses(repo.findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetStatusDTO> findByCategory(String category) {
+        return statuses(repo.findByCategoryIgnoreCaseOrderByPeriod(category));
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        repo.deleteById(id);
+    }
+
+    // Totals over every budget, each for its own current period
+    @Transactional(readOnly = true)
+    public BudgetSummaryDTO getSummary() {
+        List<BudgetStatusDTO> budgets = findAll();
+        long limit = 0;
+        long spent = 0;
+        int over = 0;
+        for (BudgetStatusDTO b : budgets) {
+            limit = Math.addExact(limit, MinorUnits.of(b.getLimit()));
+            spent = Math.addExact(spent, MinorUnits.of(b.getSpent()));
+            if (b.isOverBudget()) {
+                over++;
+            }
+        }
+        return BudgetSummaryDTO.builder()
+                .budgetCount(budgets.size())
+                .overBudgetCount(over)
+                .totalLimit(MinorUnits.toBigDecimal(limit))
+                .totalSpent(MinorUnits.toBigDecimal(spent))
+                .totalRemaining(MinorUnits.toBigDecimal(Math.subtractExact(limit, spent)))
+                .percentUsed(percent(spent, limit))
+                .budgets(budgets)
+                .build();
+    }
+
+    private List<BudgetStatusDTO> statuses(List<Budget> budgets) {
+        LocalDate today = LocalDate.now();
+        List<BudgetStatusDTO> result = new ArrayList<>(budgets.size());
+        for (Budget b : budgets) {
+            result.add(status(b, today));
+        }
+        return result;
+    }
+
+    // Spend comes from the in-memory counters, never from an aggregation query
+    private BudgetStatusDTO status(Budget budget, LocalDate today) {
+        LocalDate start = budget.getPeriod().start(today);
+        long limit = MinorUnits.of(budget.getLimit());
+        long spent = spendTracker.spent(budget.getCategory(), budget.getPeriod(), today);
+        return BudgetStatusDTO.builder()
+                .id(budget.getId())
+                .category(budget.getCategory())
+                .period(budget.getPeriod().name().toLowerCase(Locale.ROOT))
+                .limit(MinorUnits.toBigDecimal(limit))
+                .periodStart(start)
+                .periodEnd(budget.getPeriod().end(start))
+                .spent(MinorUnits.toBigDecimal(spent))
+                .remaining(MinorUnits.toBigDecimal(Math.subtractExact(limit, spent)))
+                .percentUsed(percent(spent, limit))
+                .overBudget(spent > limit)
+                .build();
+    }
+
+    // Percent of the limit used, to one decimal place
+    private static BigDecimal percent(long spent, long limit) {
+        if (limit == 0) {
+            return BigDecimal.ZERO.setScale(1);
+        }
+        return BigDecimal.valueOf(spent).multiply(BigDecimal.valueOf(100))
+                .divide(BigDecimal.valueOf(limit), 1, RoundingMode.HALF_UP);
+    }
+
+    private static void validate(Budget budget) {
+        if (budget.getCategory() == null || budget.getCategory().isBlank()) {
+            throw new IllegalArgumentException("Budget category is required");
+        }
+        if (budget.getCategory().trim().length() > 50) {
+            throw new IllegalArgumentException("Budget category must be at most 50 characters");
+        }
+        if (budget.getPeriod() == null) {
+            throw new IllegalArgumentException("Budget period is required (weekly, monthly or yearly)");
+        }
+        if (budget.getLimit() == null || budget.getLimit().signum() <= 0) {
+            throw new IllegalArgumentException("Budget limit must be greater than zero");
+        }
+    }
+}
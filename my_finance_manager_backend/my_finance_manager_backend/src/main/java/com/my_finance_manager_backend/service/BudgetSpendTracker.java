@@ -0,0 +1,183 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.model.BudgetPeriod;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Expense spend in minor units per (category, budget period, period start), held in
+ * LongAdders so concurrent writes never contend on one counter. Only the current and
+ * the next period of each kind are tracked, so a rollover finds the new period already
+ * counted. Counters follow committed ledger changes and are rebuilt from the daily
+ * rollups at startup, at midnight (when new periods start) and every
+ * budget.reconcile-interval. A rebuild waits for in-flight commits and holds new ones
+ * back until it is published, so each change is either in the rollups it reads or
+ * applied to the counters it publishes. Reads never touch the database.
+ */
+@Component
+public class BudgetSpendTracker {
+
+    private record Key(String category, BudgetPeriod period, LocalDate periodStart) {
+    }
+
+    // Counters for the periods that are current or next on the given day
+    private record Counters(LocalDate day, Map<Key, LongAdder> spend) {
+    }
+
+    private final LedgerRollupRepository rollupRepo;
+    private final TransactionTemplate transactionTemplate;
+    // Read side: a ledger commit, from just before it until its change is applied. Write side: a rebuild.
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private volatile Counters counters;
+
+    public BudgetSpendTracker(LedgerRollupRepository rollupRepo, TransactionTemplate transactionTemplate) {
+        this.rollupRepo = rollupRepo;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    void load() {
+        counters = recount(LocalDate.now());
+    }
+
+    // Replaces every counter with the rollup totals and reports how many were off
+    @Scheduled(fixedDelayString = "${budget.reconcile-interval:5m}", initialDelayString = "${budget.reconcile-interval:5m}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        Counters old = rebuild(today);
+        Counters fresh = counters;
+        if (!old.day().equals(today)) {
+            return;   // the tracked periods moved; there is nothing to compare against
+        }
+
+        Set<Key> keys = new HashSet<>(fresh.spend().keySet());
+        keys.addAll(old.spend().keySet());
+        int corrected = 0;
+        for (Key key : keys) {
+            if (sum(fresh.spend().get(key)) != sum(old.spend().get(key))) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            System.out.println("Budget spend reconciled: " + corrected + " counters corrected");
+        }
+    }
+
+    // A new day can start new periods; the new "next" periods are read from the rollups so
+    // that expenses already stored for them are counted
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rollover() {
+        rebuild(LocalDate.now());
+    }
+
+    // Runs just before the ledger transaction commits and holds the read lock until the commit
+    // completes, so a rebuild never reads the rollups while this change is half applied
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onLedgerChange(LedgerChangeEvent event) {
+        if (event.getExpensesRemoved().isEmpty() && event.getExpensesAdded().isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(event);
+                    }
+                } finally {
+                    commitLock.readLock().unlock();
+                }
+            }
+        });
+        commitLock.readLock().lock();
+    }
+
+    // Spend in the period of the given kind that contains the date (0 if it is not tracked)
+    public long spent(String category, BudgetPeriod period, LocalDate date) {
+        return sum(counters.spend().get(new Key(category.toLowerCase(Locale.ROOT), period, period.start(date))));
+    }
+
+    // Recounts and publishes the counters with no ledger commit in flight, and returns the ones
+    // replaced. The transaction takes its connection before the lock, so a rebuild never waits
+    // for a pool drained by the commits it is holding back.
+    private Counters rebuild(LocalDate today) {
+        return transactionTemplate.execute(status -> {
+            commitLock.writeLock().lock();
+            try {
+                Counters old = counters;
+                counters = recount(today);
+                return old;
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+        });
+    }
+
+    private Counters recount(LocalDate today) {
+        Map<Key, LongAdder> spend = new ConcurrentHashMap<>();
+        for (BudgetPeriod period : BudgetPeriod.values()) {
+            for (LocalDate start : tracked(period, today)) {
+                for (LedgerGroupTotalDTO group : rollupRepo.sumExpensesByCategory(start, period.end(start))) {
+                    counter(spend, group.getGroupKey(), period, start).add(group.getTotal());
+                }
+            }
+        }
+        return new Counters(today, spend);
+    }
+
+    private void apply(LedgerChangeEvent event) {
+        Counters current = counters;
+        for (ExpenseDTO e : event.getExpensesRemoved()) {
+            add(current, e, -MinorUnits.of(e.getAmount()));
+        }
+        for (ExpenseDTO e : event.getExpensesAdded()) {
+            add(current, e, MinorUnits.of(e.getAmount()));
+        }
+    }
+
+    // Only periods the counters were built for are touched; any other period is left to the next rebuild
+    private static void add(Counters counters, ExpenseDTO expense, long minorUnits) {
+        for (BudgetPeriod period : BudgetPeriod.values()) {
+            LocalDate start = period.start(expense.getDate());
+            if (tracked(period, counters.day()).contains(start)) {
+                counter(counters.spend(), expense.getCategory(), period, start).add(minorUnits);
+            }
+        }
+    }
+
+    // Categories are matched case-insensitively, as MySQL's default collation groups them
+    private static LongAdder counter(Map<Key, LongAdder> spend, String category, BudgetPeriod period, LocalDate start) {
+        return spend.computeIfAbsent(new Key(category.toLowerCase(Locale.ROOT), period, start), k -> new LongAdder());
+    }
+
+    private static List<LocalDate> tracked(BudgetPeriod period, LocalDate today) {
+        LocalDate current = period.start(today);
+        return List.of(current, period.next(current));
+    }
+
+    private static long sum(LongAdder counter) {
+        return counter != null ? counter.sum() : 0;
+    }
+}
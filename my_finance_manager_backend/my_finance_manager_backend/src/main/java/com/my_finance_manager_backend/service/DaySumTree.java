@@ -0,0 +1,92 @@
+package com.my_finance_manager_backend.service;
+
+import java.time.LocalDate;
+
+/**
+ * Fenwick tree of long values indexed by epoch day. Point updates and inclusive
+ * range sums both take O(log n) in the number of days covered. The covered span
+ * starts at the first day added and grows (by doubling) in either direction.
+ * Arithmetic is checked and throws ArithmeticException on overflow.
+ * Not thread-safe.
+ */
+public final class DaySumTree {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    private long baseDay;
+    private long[] values;  // raw per-day values, kept so the tree can be rebuilt when it grows
+    private long[] tree;    // 1-based Fenwick array over values
+
+    public void add(LocalDate date, long delta) {
+        long day = date.toEpochDay();
+        ensureCovers(day);
+        int index = (int) (day - baseDay);
+        values[index] = Math.addExact(values[index], delta);
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] = Math.addExact(tree[i], delta);
+        }
+    }
+
+    // Sum over [start, end]; either side may be null for an open range
+    public long sum(LocalDate start, LocalDate end) {
+        if (values == null) {
+            return 0;
+        }
+        long from = Math.max(start != null ? start.toEpochDay() : Long.MIN_VALUE, baseDay);
+        long to = Math.min(end != null ? end.toEpochDay() : Long.MAX_VALUE, baseDay + values.length - 1);
+        if (from > to) {
+            return 0;
+        }
+        return Math.subtractExact(prefix((int) (to - baseDay) + 1), prefix((int) (from - baseDay)));
+    }
+
+    // Sum of the first `count` days
+    private long prefix(int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum = Math.addExact(sum, tree[i]);
+        }
+        return sum;
+    }
+
+    private void ensureCovers(long day) {
+        if (values == null) {
+            baseDay = day;
+            values = new long[INITIAL_CAPACITY];
+            tree = new long[INITIAL_CAPACITY + 1];
+            return;
+        }
+        long lastDay = baseDay + values.length - 1;
+        if (day >= baseDay && day <= lastDay) {
+            return;
+        }
+        long newBase = baseDay;
+        int capacity = values.length;
+        while (day < newBase || day > newBase + capacity - 1) {
+            if (capacity > Integer.MAX_VALUE / 2) {
+                throw new IllegalArgumentException("Date range too wide for the index: " + LocalDate.ofEpochDay(day));
+            }
+            if (day < newBase) {
+                newBase -= capacity;
+            }
+            capacity *= 2;
+        }
+        long[] grown = new long[capacity];
+        System.arraycopy(values, 0, grown, (int) (baseDay - newBase), values.length);
+        baseDay = newBase;
+        values = grown;
+        rebuildTree();
+    }
+
+    // O(n) Fenwick construction: each node pushes its partial sum to its parent
+    private void rebuildTree() {
+        tree = new long[values.length + 1];
+        for (int i = 1; i <= values.length; i++) {
+            tree[i] = Math.addExact(tree[i], values[i - 1]);
+            int parent = i + (i & -i);
+            if (parent <= values.length) {
+                tree[parent] = Math.addExact(tree[parent], tree[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.my_finance_manager_backend.service;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a free-text expense description to a merchant key, so that
+ * "STARBUCKS #1234 Seattle" and "Starbucks #987 seattle" count as one merchant.
+ */
+public final class DescriptionNormalizer {
+
+    private static final Pattern NON_LETTERS = Pattern.compile("[^\\p{L}]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private DescriptionNormalizer() {
+    }
+
+    // Lower-cased letters only, whitespace collapsed; null when nothing is left
+    public static String normalize(String description) {
+        if (description == null) {
+            return null;
+        }
+        String letters = NON_LETTERS.matcher(description.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        String key = SPACES.matcher(letters).replaceAll(" ").trim();
+        return key.isEmpty() ? null : key;
+    }
+}
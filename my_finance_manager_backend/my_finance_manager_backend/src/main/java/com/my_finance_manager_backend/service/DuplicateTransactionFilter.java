@@ -0,0 +1,104 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.repository.LedgerBatchRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes statement rows that were imported before, by fingerprint. Only statement
+ * uploads are fingerprinted; rows saved any other way are never treated as duplicates.
+ * An in-memory Bloom filter of every stored fingerprint answers "definitely new" for most
+ * rows of a fresh statement; the rest are checked with one query per batch, never one per
+ * row. The unique indexes on the fingerprint columns stay the final word.
+ */
+@Service
+public class DuplicateTransactionFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final LedgerBatchRepository repo;
+    private final FingerprintBloomFilter filter;
+
+    public DuplicateTransactionFilter(LedgerBatchRepository repo,
+                                      @Value("${import.dedup.expected-rows:1000000}") long expectedRows) {
+        this.repo = repo;
+        this.filter = new FingerprintBloomFilter(expectedRows, FALSE_POSITIVE_RATE);
+    }
+
+    // Loads the fingerprints already stored before requests are served
+    @PostConstruct
+    void load() {
+        AtomicLong count = new AtomicLong();
+        repo.forEachFingerprint(fingerprint -> {
+            filter.put(fingerprint);
+            count.incrementAndGet();
+        });
+        System.out.println("Loaded " + count.get() + " import fingerprints");
+    }
+
+    // The fingerprints that are already stored
+    public Set<String> findExisting(List<String> fingerprints) {
+        List<String> candidates = fingerprints.stream().filter(filter::mightContain).toList();
+        return repo.findExistingFingerprints(candidates);
+    }
+
+    // Records newly inserted fingerprints; harmless if their transaction later rolls back
+    public void remember(Collection<String> fingerprints) {
+        fingerprints.forEach(filter::put);
+    }
+
+    // One fingerprint per row, in order: date, amount, type and description (case, spacing and
+    // punctuation ignored). Identical rows are numbered, so a statement with two equal coffees
+    // on one day keeps both, and an overlapping statement later skips both.
+    public static List<String> fingerprints(List<TransactionDTO> transactions) {
+        MessageDigest digest = newDigest();
+        HexFormat hex = HexFormat.of();
+        Map<String, Integer> seen = new HashMap<>();
+        List<String> fingerprints = new ArrayList<>(transactions.size());
+        for (TransactionDTO t : transactions) {
+            BigDecimal amount = t.getAmount();
+            String row = t.getDate() + "\u001f"
+                    + (amount != null ? amount.stripTrailingZeros().toPlainString() : null) + "\u001f"
+                    + ("INCOME".equals(t.getType()) ? "INCOME" : "EXPENSE") + "\u001f"
+                    + normalize(t.getDescription());
+            int occurrence = seen.merge(row, 1, Integer::sum);
+            fingerprints.add(hex.formatHex(digest.digest((row + "\u001f" + occurrence).getBytes(StandardCharsets.UTF_8))));
+        }
+        return fingerprints;
+    }
+
+    // Unlike DescriptionNormalizer this keeps digits: "CHECK 1001" and "CHECK 1002" are different rows
+    static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        return NON_ALPHANUMERIC.matcher(description.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,32 +1,63 @@
 package com.my_finance_manager_backend.service;
 
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
 import com.my_finance_manager_backend.model.Expense;
 import com.my_finance_manager_backend.repository.ExpenseRepository;
+import com.my_finance_manager_backend.dto.CursorPageDTO;
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.TransactionCursor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class ExpenseService {
     private final ExpenseRepository repo;
+    private final SummaryBackend summaryBackend;
+    private final SummaryCache summaryCache;
+    private final ApplicationEventPublisher events;
 
-    public ExpenseService(ExpenseRepository repo) {
+    public ExpenseService(ExpenseRepository repo, SummaryBackend summaryBackend, SummaryCache summaryCache,
+                          ApplicationEventPublisher events) {
         this.repo = repo;
+        this.summaryBackend = summaryBackend;
+        this.summaryCache = summaryCache;
+        this.events = events;
     }
 
     // CREATE / UPDATE
+    // The previous version is snapshotted before the merge overwrites it
+    @Transactional
     public Expense save(Expense expense) {
-        return repo.save(expense);
+        ExpenseDTO before = expense.getId() != null
+                ? repo.findById(expense.getId()).map(ExpenseDTO::from).orElse(null)
+                : null;
+        Expense saved = repo.save(expense);
+
+        LedgerChangeEvent.LedgerChangeEventBuilder change = LedgerChangeEvent.builder().expenseAdded(ExpenseDTO.from(saved));
+        if (before != null) {
+            change.expenseRemoved(before);
+        }
+        events.publishEvent(change.build());
+        return saved;
     }
 
     // READ all (list)
-    public List<Expense> findAll() {
-        return repo.findAll();
+    @Transactional(readOnly = true)
+    public List<ExpenseDTO> findAll() {
+        return repo.findAllViews();
     }
 
     // READ single
@@ -35,27 +66,46 @@ public class ExpenseService {
     }
 
     // DELETE
+    @Transactional
     public void delete(Long id) {
-        repo.deleteById(id);
+        repo.findById(id).ifPresent(existing -> {
+            ExpenseDTO before = ExpenseDTO.from(existing);
+            repo.delete(existing);
+            events.publishEvent(LedgerChangeEvent.builder().expenseRemoved(before).build());
+        });
     }
 
     // Pagination only
-    public Page<Expense> findAllPaged(Pageable pageable) {
-        return repo.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<ExpenseDTO> findAllPaged(Pageable pageable) {
+        return repo.findAllViews(pageable);
     }
 
     // Pagination + Date filtering
-    public Page<Expense> findByDateRange(LocalDate start, LocalDate end, Pageable pageable) {
-        return repo.findByDateBetween(start, end, pageable);
-    }
-    public Map<String, Double> getSummaryByCategory() {
-        Map<String, Double> summary = new HashMap<>();
-        List<Object[]> results = repo.getExpenseSummaryByCategory();
-        for (Object[] row : results) {
-            String category = (String) row[0];
-            Double total = ((Number) row[1]).doubleValue();
-            summary.put(category, total);
+    @Transactional(readOnly = true)
+    public Page<ExpenseDTO> findByDateRange(LocalDate start, LocalDate end, Pageable pageable) {
+        return repo.findViewsByDateBetween(start, end, pageable);
+    }
+
+    // Keyset pagination: seeks past the cursor instead of skipping earlier rows
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseDTO> findWindow(LocalDate start, LocalDate end, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
         }
-        return summary;
+        TransactionCursor position = TransactionCursor.parse(cursor, "EXPENSE");
+        List<ExpenseDTO> rows = repo.findWindowAfter(position.getDate(), position.getId(), start, end, Limit.of(size + 1));
+        return CursorPageDTO.of(rows, size, e -> new TransactionCursor(e.getDate(), e.getId(), "EXPENSE"));
+    }
+
+    // Totals come from the configured summary backend, cached per date range
+    public Map<String, BigDecimal> getSummaryByCategory(LocalDate start, LocalDate end) {
+        return summaryCache.get(SummaryCache.EXPENSES_BY_CATEGORY, start, end, () -> {
+            Map<String, BigDecimal> summary = new HashMap<>();
+            for (LedgerGroupTotalDTO group : summaryBackend.sumExpensesByCategory(start, end)) {
+                summary.put(group.getGroupKey(), MinorUnits.toBigDecimal(group.getTotal()));
+            }
+            return Collections.unmodifiableMap(summary);
+        });
     }
 }
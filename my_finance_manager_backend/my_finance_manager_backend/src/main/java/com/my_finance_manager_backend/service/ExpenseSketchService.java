@@ -0,0 +1,231 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.AmountQuantilesDTO;
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.ExpenseStatsDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.repository.ExpenseSketchRepository;
+import com.my_finance_manager_backend.repository.ExpenseSketchRepository.LedgerRow;
+import com.my_finance_manager_backend.repository.ExpenseSketchRepository.SketchRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.hll.TgtHllType;
+import org.apache.datasketches.hll.Union;
+import org.apache.datasketches.memory.Memory;
+import org.apache.datasketches.tdigest.TDigestDouble;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Per-day, per-category sketches of expenses: a t-digest of amounts for quantiles and a
+ * HyperLogLog of normalized descriptions for distinct merchants. Inserts are merged into
+ * the stored sketches; updates and deletes rebuild the affected day from the ledger,
+ * since neither sketch supports removal.
+ */
+@Service
+public class ExpenseSketchService {
+
+    private static final short DIGEST_K = 100;
+    private static final int HLL_LG_K = 12;   // about 1.6% relative error
+
+    private final ExpenseSketchRepository sketchRepo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExpenseSketchService(ExpenseSketchRepository sketchRepo, EntityManager entityManager,
+                                TransactionTemplate transactionTemplate) {
+        this.sketchRepo = sketchRepo;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Same transaction as the ledger write, like the daily rollups
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLedgerChange(LedgerChangeEvent event) {
+        Map<String, ExpenseDTO> rebuild = new HashMap<>();
+        for (ExpenseDTO e : event.getExpensesRemoved()) {
+            rebuild.putIfAbsent(key(e.getDate(), e.getCategory()), e);
+        }
+        Map<String, List<ExpenseDTO>> inserts = new HashMap<>();
+        for (ExpenseDTO e : event.getExpensesAdded()) {
+            String key = key(e.getDate(), e.getCategory());
+            if (!rebuild.containsKey(key)) {   // a rebuilt day already includes its new rows
+                inserts.computeIfAbsent(key, k -> new ArrayList<>()).add(e);
+            }
+        }
+        if (!rebuild.isEmpty()) {
+            // Pending JPA updates and deletes must reach the table before it is re-read
+            entityManager.flush();
+        }
+
+        // Keys are "date|category", so sorting them locks the sketch rows by (date, category):
+        // two imports touching the same days then wait for each other instead of deadlocking,
+        // whichever order their rows arrived in
+        SortedSet<String> keys = new TreeSet<>(rebuild.keySet());
+        keys.addAll(inserts.keySet());
+        for (String key : keys) {
+            ExpenseDTO removed = rebuild.get(key);
+            if (removed != null) {
+                rebuildDay(removed.getDate(), removed.getCategory());
+            } else {
+                merge(inserts.get(key));
+            }
+        }
+    }
+
+    private void merge(List<ExpenseDTO> rows) {
+        SketchRow stored = sketchRepo.lock(rows.get(0).getDate(), rows.get(0).getCategory());
+        TDigestDouble amounts = stored.amounts() != null ? readDigest(stored.amounts()) : new TDigestDouble(DIGEST_K);
+        HllSketch merchants = stored.merchants() != null ? HllSketch.heapify(stored.merchants()) : newHll();
+        for (ExpenseDTO e : rows) {
+            add(amounts, merchants, e.getAmount(), e.getDescription());
+        }
+        sketchRepo.update(new SketchRow(stored.date(), stored.category(), amounts.toByteArray(), merchants.toCompactByteArray()));
+    }
+
+    // Quantiles per category and distinct merchants per month, merged from the stored daily sketches.
+    // Without dates the range is the current month and the 11 before it.
+    @Transactional(readOnly = true)
+    public ExpenseStatsDTO getStats(LocalDate start, LocalDate end) {
+        LocalDate to = end != null ? end : LocalDate.now();
+        LocalDate from = start != null ? start : to.withDayOfMonth(1).minusMonths(11);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+
+        Map<String, String> categoryNames = new HashMap<>();
+        Map<String, TDigestDouble> digests = new HashMap<>();
+        Map<YearMonth, Union> merchantsByMonth = new TreeMap<>();
+        sketchRepo.forEachInRange(from, to, row -> {
+            String category = row.category().toLowerCase(Locale.ROOT);
+            categoryNames.putIfAbsent(category, row.category());
+            if (row.amounts() != null) {
+                digests.computeIfAbsent(category, c -> new TDigestDouble(DIGEST_K)).merge(readDigest(row.amounts()));
+            }
+            if (row.merchants() != null) {
+                merchantsByMonth.computeIfAbsent(YearMonth.from(row.date()), m -> new Union(HLL_LG_K))
+                        .update(HllSketch.heapify(row.merchants()));
+            }
+        });
+
+        Map<String, AmountQuantilesDTO> quantiles = new TreeMap<>();
+        digests.forEach((category, digest) -> {
+            if (!digest.isEmpty()) {
+                quantiles.put(categoryNames.get(category), AmountQuantilesDTO.builder()
+                        .count(digest.getTotalWeight())
+                        .p50(money(digest.getQuantile(0.50)))
+                        .p90(money(digest.getQuantile(0.90)))
+                        .p99(money(digest.getQuantile(0.99)))
+                        .build());
+            }
+        });
+        Map<String, Long> distinct = new LinkedHashMap<>();
+        merchantsByMonth.forEach((month, union) -> distinct.put(month.toString(), Math.round(union.getEstimate())));
+
+        return ExpenseStatsDTO.builder()
+                .startDate(from)
+                .endDate(to)
+                .quantilesByCategory(quantiles)
+                .distinctMerchantsByMonth(distinct)
+                .build();
+    }
+
+    // Databases that had expenses before the sketch table existed are backfilled once,
+    // a month at a time, before the application starts serving requests. The months
+    // share one transaction: a partial backfill would leave the table non-empty, and
+    // the next start would take it as complete.
+    @PostConstruct
+    void backfillIfEmpty() {
+        if (!sketchRepo.isEmpty()) {
+            return;
+        }
+        LocalDate[] span = sketchRepo.findLedgerDateSpan();
+        if (span == null) {
+            return;
+        }
+        System.out.println("Backfilling expense sketches from " + span[0] + " to " + span[1]);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (LocalDate month = span[0].withDayOfMonth(1); !month.isAfter(span[1]); month = month.plusMonths(1)) {
+                backfill(month, month.plusMonths(1).minusDays(1));
+            }
+        });
+    }
+
+    private void backfill(LocalDate start, LocalDate end) {
+        Map<String, TDigestDouble> amounts = new HashMap<>();
+        Map<String, HllSketch> merchants = new HashMap<>();
+        Map<String, LedgerRow> firstRow = new HashMap<>();
+        for (LedgerRow row : sketchRepo.findLedgerRows(start, end)) {
+            String key = key(row.date(), row.category());
+            firstRow.putIfAbsent(key, row);
+            add(amounts.computeIfAbsent(key, k -> new TDigestDouble(DIGEST_K)),
+                    merchants.computeIfAbsent(key, k -> newHll()), row.amount(), row.description());
+        }
+        firstRow.forEach((key, row) -> {
+            sketchRepo.lock(row.date(), row.category());
+            sketchRepo.update(new SketchRow(row.date(), row.category(),
+                    amounts.get(key).toByteArray(), merchants.get(key).toCompactByteArray()));
+        });
+    }
+
+    // The sketch row is locked before the ledger is read, so a concurrent insert for the
+    // same day either lands in the rows read here or merges after this rebuild commits
+    private void rebuildDay(LocalDate date, String category) {
+        SketchRow stored = sketchRepo.lock(date, category);
+        List<LedgerRow> rows = sketchRepo.findLedgerRows(date, category);
+        if (rows.isEmpty()) {
+            sketchRepo.delete(date, category);
+            return;
+        }
+        TDigestDouble amounts = new TDigestDouble(DIGEST_K);
+        HllSketch merchants = newHll();
+        for (LedgerRow row : rows) {
+            add(amounts, merchants, row.amount(), row.description());
+        }
+        sketchRepo.update(new SketchRow(stored.date(), stored.category(), amounts.toByteArray(), merchants.toCompactByteArray()));
+    }
+
+    private static void add(TDigestDouble amounts, HllSketch merchants, BigDecimal amount, String description) {
+        amounts.update(amount.doubleValue());
+        String merchant = DescriptionNormalizer.normalize(description);
+        if (merchant != null) {
+            merchants.update(merchant);
+        }
+    }
+
+    private static TDigestDouble readDigest(byte[] bytes) {
+        return TDigestDouble.heapify(Memory.wrap(bytes));
+    }
+
+    private static HllSketch newHll() {
+        return new HllSketch(HLL_LG_K, TgtHllType.HLL_8);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Categories compare case-insensitively, like the table's primary key
+    private static String key(LocalDate date, String category) {
+        return date + "|" + category.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,103 @@
+package com.my_finance_manager_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my_finance_manager_backend.repository.ExtractionResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Predicate;
+
+/**
+ * Remembers AI extraction results by the SHA-256 of the uploaded bytes, so uploading the
+ * same file again skips Tika and Gemini. Results are kept for extraction.cache.retention;
+ * force bypasses the stored result and replaces it with a fresh one.
+ */
+@Service
+public class ExtractionCache {
+
+    /** What was extracted; one file can have a result of each kind. */
+    public enum Kind {
+        STATEMENT,  // transactions from a bank statement
+        DOCUMENT    // receipt / bill fields from GeminiAIService
+    }
+
+    @FunctionalInterface
+    public interface Extractor<T> {
+        T extract() throws Exception;
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ExtractionResultRepository repo;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+
+    public ExtractionCache(ExtractionResultRepository repo, ObjectMapper objectMapper,
+                           @Value("${extraction.cache.retention:30d}") Duration retention) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+    }
+
+    // The stored result for this file, or the extractor's result, stored when reusable accepts it
+    // (fallback results produced while Gemini was unavailable are not worth keeping)
+    public <T> T getOrExtract(MultipartFile file, Kind kind, boolean force, TypeReference<T> type,
+                              Extractor<T> extractor, Predicate<T> reusable) throws Exception {
+        String hash = sha256(file);
+        LocalDateTime now = LocalDateTime.now();
+        if (!force) {
+            String stored = repo.find(hash, kind.name(), now.minus(retention));
+            if (stored != null) {
+                try {
+                    return objectMapper.readValue(stored, type);
+                } catch (JsonProcessingException e) {
+                    System.err.println("Ignoring unreadable " + kind + " extraction " + hash + ": " + e.getMessage());
+                }
+            }
+        }
+
+        T result = extractor.extract();
+        if (result != null && reusable.test(result)) {
+            repo.save(hash, kind.name(), objectMapper.writeValueAsString(result), now);
+        }
+        return result;
+    }
+
+    // Drops results past the retention period
+    @Scheduled(fixedDelayString = "${extraction.cache.purge-interval:1h}")
+    public void purge() {
+        int purged = repo.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            System.out.println("Purged " + purged + " stored extraction results");
+        }
+    }
+
+    // Digest of the upload, read through once in small buffers rather than copied into memory
+    static String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (in.read(buffer) != -1) {
+                // the digest is updated as the bytes pass through
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,53 @@
+package com.my_finance_manager_backend.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over SHA-256 hex fingerprints. mightContain never returns false for a
+ * fingerprint that was put, and returns true for an absent one with roughly the configured
+ * probability while no more than the expected number of entries are in it. Entries cannot
+ * be removed. Thread-safe: bits are set with atomic ORs on an AtomicLongArray.
+ */
+final class FingerprintBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashes;
+
+    FingerprintBloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter size: " + expectedEntries + " entries at "
+                    + falsePositiveRate);
+        }
+        double bitsNeeded = Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long wordCount = Math.max(1, (long) Math.ceil(bitsNeeded / 64));
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedEntries + " entries");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitCount = wordCount * 64;
+        this.hashes = (int) Math.max(1, Math.round((double) bitCount / expectedEntries * Math.log(2)));
+    }
+
+    void put(String fingerprint) {
+        long h1 = Long.parseUnsignedLong(fingerprint, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(fingerprint, 16, 32, 16);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+        }
+    }
+
+    // False means definitely never put
+    boolean mightContain(String fingerprint) {
+        long h1 = Long.parseUnsignedLong(fingerprint, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(fingerprint, 16, 32, 16);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
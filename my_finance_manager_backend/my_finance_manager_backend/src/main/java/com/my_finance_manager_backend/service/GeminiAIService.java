@@ -5,12 +5,11 @@ package com.my_finance_manager_backend.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.my_finance_manager_backend.config.GeminiConfig;
-import org.apache.tika.Tika;
-import org.apache.tika.exception.TikaException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -23,16 +22,26 @@ import java.util.Base64;
 @Service
 public class GeminiAIService {
 
+    private static final String MODEL_PROCESSING_METHOD = "Gemini 1.5 Flash API";
+    // PDF text sent in a prompt (Tika's former parseToString limit); later pages are not read
+    private static final int MAX_PDF_TEXT = 100_000;
+
     private final GeminiConfig geminiConfig;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
-    private final Tika tika;
 
     public GeminiAIService(GeminiConfig geminiConfig, HttpClient httpClient) {
         this.geminiConfig = geminiConfig;
         this.httpClient = httpClient;
         this.objectMapper = new ObjectMapper();
-        this.tika = new Tika();
+    }
+
+    // True for results the model produced, false for pattern-based or default fallbacks
+    // and for model responses that could not be parsed (no or "0% (...)" confidence)
+    public static boolean isModelResult(Map<String, Object> result) {
+        return MODEL_PROCESSING_METHOD.equals(result.get("processingMethod"))
+                && result.get("aiConfidence") instanceof String confidence
+                && !confidence.startsWith("0%");
     }
 
     /**
@@ -72,7 +81,7 @@ public class GeminiAIService {
             extractedInfo.put("fileName", file.getOriginalFilename());
             extractedInfo.put("fileType", file.getContentType());
             extractedInfo.put("fileSize", file.getSize());
-            extractedInfo.put("processingMethod", "Gemini 1.5 Flash API");
+            extractedInfo.put("processingMethod", MODEL_PROCESSING_METHOD);
             
             return extractedInfo;
             
@@ -88,8 +97,14 @@ public class GeminiAIService {
      */
     private Map<String, Object> processPDFWithGeminiFlash(MultipartFile file) throws IOException, InterruptedException {
         try {
-            // Extract text from PDF using Tika
-            String pdfText = tika.parseToString(file.getInputStream());
+            // Extract text from PDF page by page
+            String pdfText;
+            try {
+                pdfText = readPdfText(file);
+            } catch (IOException e) {
+                System.err.println("PDF text extraction failed: " + e.getMessage());
+                return createDefaultResult(file);
+            }
             System.out.println("Extracted PDF text length: " + pdfText.length());
             
             if (pdfText == null || pdfText.trim().isEmpty()) {
@@ -110,20 +125,29 @@ public class GeminiAIService {
             extractedInfo.put("fileName", file.getOriginalFilename());
             extractedInfo.put("fileType", file.getContentType());
             extractedInfo.put("fileSize", file.getSize());
-            extractedInfo.put("processingMethod", "Gemini 1.5 Flash API");
+            extractedInfo.put("processingMethod", MODEL_PROCESSING_METHOD);
             extractedInfo.put("extractedText", pdfText);
             
             return extractedInfo;
             
-        } catch (TikaException e) {
-            System.err.println("PDF text extraction failed: " + e.getMessage());
-            return createDefaultResult(file);
         } catch (Exception e) {
             System.err.println("PDF processing failed: " + e.getMessage());
             return createDefaultResult(file);
         }
     }
 
+    // The first MAX_PDF_TEXT characters of the PDF's text, reading no further pages than needed
+    private static String readPdfText(MultipartFile file) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (InputStream in = file.getInputStream()) {
+            PdfText.forEachPage(in, page -> {
+                text.append(page, 0, Math.min(page.length(), MAX_PDF_TEXT - text.length()));
+                return text.length() < MAX_PDF_TEXT;
+            });
+        }
+        return text.toString();
+    }
+
     /**
      * Call Gemini 1.5 Flash API for image processing
      */
@@ -0,0 +1,208 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ImportJobDTO;
+import com.my_finance_manager_backend.dto.ImportJobStage;
+import com.my_finance_manager_backend.dto.ImportResultDTO;
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.exception.ImportQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs statement uploads (extract, then chunked import) in the background on
+ * import.jobs.threads workers. At most import.jobs.queue-capacity jobs wait for a
+ * worker; beyond that submit fails with ImportQueueFullException instead of queueing
+ * without bound. Job state is kept in memory for import.jobs.retention after the job
+ * finishes. A job lost to a restart can be submitted again: the import resumes from
+ * its checkpoint (see StatementImportService.importStatement).
+ * Metrics: import.jobs tagged state=queued|running, import.jobs.rejected.
+ */
+@Service
+public class ImportJobService {
+
+    private final TransactionHistoryService historyService;
+    private final StatementImportService importService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final Duration retryAfter;
+    private final Duration retention;
+
+    public ImportJobService(TransactionHistoryService historyService, StatementImportService importService,
+                            MeterRegistry registry,
+                            @Value("${import.jobs.threads:2}") int threads,
+                            @Value("${import.jobs.queue-capacity:10}") int queueCapacity,
+                            @Value("${import.jobs.retry-after:30s}") Duration retryAfter,
+                            @Value("${import.jobs.retention:1h}") Duration retention) {
+        this.historyService = historyService;
+        this.importService = importService;
+        this.retryAfter = retryAfter;
+        this.retention = retention;
+        AtomicInteger threadCount = new AtomicInteger();
+        // The default AbortPolicy rejects a job once every worker is busy and the queue is full
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "import-job-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("import.jobs", executor, e -> e.getQueue().size())
+                .description("Statement imports waiting for a worker")
+                .tag("state", "queued")
+                .register(registry);
+        Gauge.builder("import.jobs", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Statement imports being processed")
+                .tag("state", "running")
+                .register(registry);
+        this.rejected = Counter.builder("import.jobs.rejected")
+                .description("Statement imports turned away because the job queue was full")
+                .register(registry);
+    }
+
+    // Jobs still queued never run; their copies of the upload are removed here
+    @PreDestroy
+    void shutdown() {
+        for (Runnable queued : executor.shutdownNow()) {
+            if (queued instanceof QueuedJob job) {
+                job.upload.delete();
+            }
+        }
+    }
+
+    // Checks the file, queues the job and returns it in stage QUEUED.
+    // Throws IllegalArgumentException for unsupported files, ImportQueueFullException when full.
+    public ImportJobDTO submit(MultipartFile file, boolean force) throws IOException {
+        historyService.checkStatementFile(file);
+        // Cheap early answer under load, before the upload is copied to disk
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw queueFull();
+        }
+
+        SpooledUpload upload = SpooledUpload.spool(file);
+        Job job = new Job(UUID.randomUUID().toString(), file.getOriginalFilename());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(new QueuedJob(job, upload, force));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            upload.delete();
+            throw queueFull();
+        }
+        return job.toDTO();
+    }
+
+    // The job's current state, or null if it is unknown or was purged
+    public ImportJobDTO find(String id) {
+        Job job = jobs.get(id);
+        return job != null ? job.toDTO() : null;
+    }
+
+    // Forgets jobs that finished more than import.jobs.retention ago
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.stage.isFinished() && job.finishedAt.isBefore(cutoff));
+    }
+
+    // The task handed to the executor; kept as a type so shutdown can find the uploads of queued jobs
+    private final class QueuedJob implements Runnable {
+        private final Job job;
+        private final SpooledUpload upload;
+        private final boolean force;
+
+        private QueuedJob(Job job, SpooledUpload upload, boolean force) {
+            this.job = job;
+            this.upload = upload;
+            this.force = force;
+        }
+
+        @Override
+        public void run() {
+            process(job, upload, force);
+        }
+    }
+
+    private void process(Job job, SpooledUpload upload, boolean force) {
+        job.startedAt = LocalDateTime.now();
+        try {
+            job.stage = ImportJobStage.EXTRACTING;
+            List<TransactionDTO> transactions = historyService.extractTransactions(upload, force);
+            job.rowsParsed = transactions.size();
+            if (transactions.isEmpty()) {
+                throw new IllegalArgumentException("No transactions extracted from the PDF. Please check the file format.");
+            }
+
+            job.stage = ImportJobStage.SAVING;
+            job.result = importService.importStatement(transactions, committedRows -> job.rowsSaved = committedRows);
+            job.finish(ImportJobStage.COMPLETED);
+        } catch (Exception e) {
+            System.err.println("Import job " + job.id + " failed: " + e.getMessage());
+            job.error = e.getMessage();
+            job.finish(ImportJobStage.FAILED);
+        } finally {
+            upload.delete();
+        }
+    }
+
+    private ImportQueueFullException queueFull() {
+        rejected.increment();
+        return new ImportQueueFullException("Too many statement imports in progress, retry in "
+                + retryAfter.toSeconds() + " seconds", retryAfter);
+    }
+
+    // Written only by the worker running the job, read by status requests
+    private static final class Job {
+        private final String id;
+        private final String fileName;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile ImportJobStage stage = ImportJobStage.QUEUED;
+        private volatile int rowsParsed;
+        private volatile int rowsSaved;
+        private volatile ImportResultDTO result;
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        // finishedAt and the outcome are written before the stage, so a reader that
+        // sees a final stage also sees them
+        private void finish(ImportJobStage finalStage) {
+            finishedAt = LocalDateTime.now();
+            stage = finalStage;
+        }
+
+        private ImportJobDTO toDTO() {
+            ImportJobStage current = stage;
+            return new ImportJobDTO(id, fileName, current, rowsParsed, rowsSaved,
+                    current == ImportJobStage.COMPLETED ? result : null,
+                    current == ImportJobStage.FAILED ? error : null,
+                    createdAt, startedAt, current.isFinished() ? finishedAt : null);
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package com.my_finance_manager_backend.service;
 
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
 import com.my_finance_manager_backend.model.Income;
 import com.my_finance_manager_backend.repository.IncomeRepository;
+import com.my_finance_manager_backend.dto.CursorPageDTO;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import com.my_finance_manager_backend.dto.TransactionCursor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Collections;
 import java.util.HashMap;
 
 import java.util.Map;
@@ -15,19 +26,39 @@ import java.util.Map;
 @Service
 public class IncomeService {
     private final IncomeRepository repo;
+    private final SummaryBackend summaryBackend;
+    private final SummaryCache summaryCache;
+    private final ApplicationEventPublisher events;
 
-    public IncomeService(IncomeRepository repo) {
+    public IncomeService(IncomeRepository repo, SummaryBackend summaryBackend, SummaryCache summaryCache,
+                         ApplicationEventPublisher events) {
         this.repo = repo;
+        this.summaryBackend = summaryBackend;
+        this.summaryCache = summaryCache;
+        this.events = events;
     }
 
     // CREATE / UPDATE
+    // The previous version is snapshotted before the merge overwrites it
+    @Transactional
     public Income save(Income income) {
-        return repo.save(income);
+        IncomeDTO before = income.getId() != null
+                ? repo.findById(income.getId()).map(IncomeDTO::from).orElse(null)
+                : null;
+        Income saved = repo.save(income);
+
+        LedgerChangeEvent.LedgerChangeEventBuilder change = LedgerChangeEvent.builder().incomeAdded(IncomeDTO.from(saved));
+        if (before != null) {
+            change.incomeRemoved(before);
+        }
+        events.publishEvent(change.build());
+        return saved;
     }
 
     // READ all
-    public List<Income> findAll() {
-        return repo.findAll();
+    @Transactional(readOnly = true)
+    public List<IncomeDTO> findAll() {
+        return repo.findAllViews();
     }
 
     // READ one
@@ -36,27 +67,46 @@ public class IncomeService {
     }
 
     // DELETE
+    @Transactional
     public void delete(Long id) {
-        repo.deleteById(id);
+        repo.findById(id).ifPresent(existing -> {
+            IncomeDTO before = IncomeDTO.from(existing);
+            repo.delete(existing);
+            events.publishEvent(LedgerChangeEvent.builder().incomeRemoved(before).build());
+        });
     }
 
     // Pagination
-    public Page<Income> findAllPaged(Pageable pageable) {
-        return repo.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<IncomeDTO> findAllPaged(Pageable pageable) {
+        return repo.findAllViews(pageable);
     }
 
     // Filtering
-    public Page<Income> findByDateRange(LocalDate start, LocalDate end, Pageable pageable) {
-        return repo.findByDateBetween(start, end, pageable);
-    }
-    public Map<String, Double> getSummaryBySource() {
-        Map<String, Double> summary = new HashMap<>();
-        List<Object[]> results = repo.getIncomeSummaryBySource();
-        for (Object[] row : results) {
-            String source = (String) row[0];
-            Double total = ((Number) row[1]).doubleValue();
-            summary.put(source, total);
+    @Transactional(readOnly = true)
+    public Page<IncomeDTO> findByDateRange(LocalDate start, LocalDate end, Pageable pageable) {
+        return repo.findViewsByDateBetween(start, end, pageable);
+    }
+
+    // Keyset pagination: seeks past the cursor instead of skipping earlier rows
+    @Transactional(readOnly = true)
+    public CursorPageDTO<IncomeDTO> findWindow(LocalDate start, LocalDate end, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
         }
-        return summary;
+        TransactionCursor position = TransactionCursor.parse(cursor, "INCOME");
+        List<IncomeDTO> rows = repo.findWindowAfter(position.getDate(), position.getId(), start, end, Limit.of(size + 1));
+        return CursorPageDTO.of(rows, size, i -> new TransactionCursor(i.getDate(), i.getId(), "INCOME"));
+    }
+
+    // Totals come from the configured summary backend, cached per date range
+    public Map<String, BigDecimal> getSummaryBySource(LocalDate start, LocalDate end) {
+        return summaryCache.get(SummaryCache.INCOMES_BY_SOURCE, start, end, () -> {
+            Map<String, BigDecimal> summary = new HashMap<>();
+            for (LedgerGroupTotalDTO group : summaryBackend.sumIncomesBySource(start, end)) {
+                summary.put(group.getGroupKey(), MinorUnits.toBigDecimal(group.getTotal()));
+            }
+            return Collections.unmodifiableMap(summary);
+        });
     }
 }
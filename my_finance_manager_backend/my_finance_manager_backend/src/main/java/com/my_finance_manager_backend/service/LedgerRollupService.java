@@ -0,0 +1,82 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.Delta;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps the daily rollup tables in step with the ledgers, and can rebuild them from scratch.
+ */
+@Service
+public class LedgerRollupService {
+
+    private final LedgerRollupRepository rollupRepo;
+
+    public LedgerRollupService(LedgerRollupRepository rollupRepo) {
+        this.rollupRepo = rollupRepo;
+    }
+
+    // Runs on the publisher's thread, so the rollup rows commit or roll back with the ledger rows
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLedgerChange(LedgerChangeEvent event) {
+        rollupRepo.applyExpenseDeltas(deltas(event.getExpensesRemoved(), event.getExpensesAdded(),
+                ExpenseDTO::getDate, ExpenseDTO::getCategory, ExpenseDTO::getAmount));
+        rollupRepo.applyIncomeDeltas(deltas(event.getIncomesRemoved(), event.getIncomesAdded(),
+                IncomeDTO::getDate, IncomeDTO::getSource, IncomeDTO::getAmount));
+    }
+
+    // Recomputes both rollups and returns any rows that still disagree with the ledgers (none expected)
+    @Transactional
+    public List<String> rebuildAndVerify() {
+        rollupRepo.rebuild();
+        return rollupRepo.findMismatches();
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> verify() {
+        return rollupRepo.findMismatches();
+    }
+
+    // Nets removals against additions per (date, key) so each rollup row is touched once. The
+    // result is sorted by (date, key): two imports upserting the same days then lock the rollup
+    // rows in the same order and wait for each other instead of deadlocking.
+    private static <T> List<Delta> deltas(List<T> removed, List<T> added, Function<T, LocalDate> date,
+                                          Function<T, String> key, Function<T, BigDecimal> amount) {
+        Map<List<Object>, Delta> net = new LinkedHashMap<>();
+        for (T row : removed) {
+            merge(net, new Delta(date.apply(row), key.apply(row), amount.apply(row).negate(), -1));
+        }
+        for (T row : added) {
+            merge(net, new Delta(date.apply(row), key.apply(row), amount.apply(row), 1));
+        }
+        List<Delta> result = new ArrayList<>(net.size());
+        for (Delta d : net.values()) {
+            if (d.count() != 0 || d.amount().signum() != 0) {
+                result.add(d);
+            }
+        }
+        result.sort(Comparator.comparing(Delta::date).thenComparing(Delta::key, String.CASE_INSENSITIVE_ORDER));
+        return result;
+    }
+
+    private static void merge(Map<List<Object>, Delta> net, Delta delta) {
+        net.merge(List.of(delta.date(), delta.key()), delta, (a, b) ->
+                new Delta(a.date(), a.key(), a.amount().add(b.amount()), a.count() + b.count()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.repository.LedgerQueryRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Aggregates the raw ledgers on every call; useful to rule out the rollups when debugging
+@Service
+@ConditionalOnProperty(name = "summary.backend", havingValue = "ledger")
+public class LedgerSummaryBackend implements SummaryBackend {
+
+    private final LedgerQueryRepository ledgerQueryRepo;
+
+    public LedgerSummaryBackend(LedgerQueryRepository ledgerQueryRepo) {
+        this.ledgerQueryRepo = ledgerQueryRepo;
+    }
+
+    @Override
+    public List<LedgerGroupTotalDTO> sumExpensesByCategory(LocalDate start, LocalDate end) {
+        return ledgerQueryRepo.sumExpensesByCategory(start, end);
+    }
+
+    @Override
+    public List<LedgerGroupTotalDTO> sumIncomesBySource(LocalDate start, LocalDate end) {
+        return ledgerQueryRepo.sumIncomesBySource(start, end);
+    }
+
+    @Override
+    public List<LedgerGroupTotalDTO> sumByGroup(LocalDate start, LocalDate end) {
+        return ledgerQueryRepo.sumByGroup(start, end);
+    }
+}
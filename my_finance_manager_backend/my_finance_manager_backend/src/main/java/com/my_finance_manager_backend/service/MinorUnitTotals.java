@@ -0,0 +1,61 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.MinorUnits;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running totals in minor units per key plus a grand total. Each key is mapped
+ * once to a slot in a long array, so adding to a known key allocates nothing.
+ * Sums are checked: an overflow throws ArithmeticException instead of wrapping.
+ * Not thread-safe.
+ */
+public final class MinorUnitTotals {
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private String[] keys = new String[16];
+    private long[] sums = new long[16];
+    private long total;
+
+    public void add(String key, long minorUnits) {
+        // Both sums are checked before anything is written, so a failed add changes
+        // nothing, not even the set of keys
+        Integer existing = slots.get(key);
+        long keySum = Math.addExact(existing != null ? sums[existing] : 0L, minorUnits);
+        long newTotal = Math.addExact(total, minorUnits);
+        int slot = existing != null ? existing : newSlot(key);
+        sums[slot] = keySum;
+        total = newTotal;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    // Per-key totals converted at the DTO boundary
+    public Map<String, BigDecimal> toBigDecimalMap() {
+        Map<String, BigDecimal> result = new HashMap<>(slots.size() * 2);
+        for (int i = 0; i < slots.size(); i++) {
+            result.put(keys[i], MinorUnits.toBigDecimal(sums[i]));
+        }
+        return result;
+    }
+
+    private int newSlot(String key) {
+        int slot = slots.size();
+        if (slot == keys.length) {
+            keys = Arrays.copyOf(keys, slot * 2);
+            sums = Arrays.copyOf(sums, slot * 2);
+        }
+        keys[slot] = key;
+        slots.put(key, slot);
+        return slot;
+    }
+}
@@ -0,0 +1,43 @@
+package com.my_finance_manager_backend.service;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Reads the text of a PDF one page at a time with PDFBox, so only the current page's
+ * text is in memory rather than the whole document's. The document itself is buffered
+ * in a temporary file instead of on the heap.
+ */
+final class PdfText {
+
+    private PdfText() {
+    }
+
+    // Each page's text in order, until the consumer returns false
+    static void forEachPage(InputStream pdf, Predicate<String> pageConsumer) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf, MemoryUsageSetting.setupTempFileOnly())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                if (!pageConsumer.test(stripper.getText(document))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Every line of every page, in order
+    static void forEachLine(InputStream pdf, Consumer<String> lineConsumer) throws IOException {
+        forEachPage(pdf, page -> {
+            page.lines().forEach(lineConsumer);
+            return true;
+        });
+    }
+}
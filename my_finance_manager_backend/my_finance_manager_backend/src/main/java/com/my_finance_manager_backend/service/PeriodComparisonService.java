@@ -0,0 +1,70 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ComparisonPeriod;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.dto.PeriodComparisonDTO;
+import com.my_finance_manager_backend.dto.PeriodSummaryDTO;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.DateRange;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.RangeTotals;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class PeriodComparisonService {
+
+    private final LedgerRollupRepository rollupRepo;
+
+    public PeriodComparisonService(LedgerRollupRepository rollupRepo) {
+        this.rollupRepo = rollupRepo;
+    }
+
+    // The anchor's period, the one before it and the same period a year earlier,
+    // all from a single conditional-aggregation query over the daily rollups.
+    // Without an anchor the current period is the one containing today.
+    public PeriodComparisonDTO compare(String periodParam, String anchorParam) {
+        ComparisonPeriod period = ComparisonPeriod.parse(periodParam);
+        LocalDate anchor = anchorParam != null ? ComparisonPeriod.parseAnchor(anchorParam) : LocalDate.now();
+        LocalDate start = period.start(anchor);
+        List<DateRange> ranges = List.of(
+                new DateRange(start, period.end(start)),
+                new DateRange(period.previous(start), period.end(period.previous(start))),
+                new DateRange(start.minusYears(1), period.end(start.minusYears(1))));
+
+        // One accumulator per ledger and range
+        MinorUnitTotals[] incomes = new MinorUnitTotals[ranges.size()];
+        MinorUnitTotals[] expenses = new MinorUnitTotals[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            incomes[i] = new MinorUnitTotals();
+            expenses[i] = new MinorUnitTotals();
+        }
+        for (RangeTotals row : rollupRepo.sumByRanges(ranges)) {
+            MinorUnitTotals[] side = "INCOME".equals(row.type()) ? incomes : expenses;
+            for (int i = 0; i < ranges.size(); i++) {
+                side[i].add(row.key(), row.totals()[i]);
+            }
+        }
+
+        return PeriodComparisonDTO.builder()
+                .period(period.name().toLowerCase(Locale.ROOT))
+                .current(summary(ranges.get(0), incomes[0], expenses[0]))
+                .previous(summary(ranges.get(1), incomes[1], expenses[1]))
+                .sameTimeLastYear(summary(ranges.get(2), incomes[2], expenses[2]))
+                .build();
+    }
+
+    private static PeriodSummaryDTO summary(DateRange range, MinorUnitTotals incomes, MinorUnitTotals expenses) {
+        return PeriodSummaryDTO.builder()
+                .startDate(range.start())
+                .endDate(range.end())
+                .totalIncome(MinorUnits.toBigDecimal(incomes.total()))
+                .totalExpense(MinorUnits.toBigDecimal(expenses.total()))
+                .netBalance(MinorUnits.toBigDecimal(Math.subtractExact(incomes.total(), expenses.total())))
+                .incomeBySource(incomes.toBigDecimalMap())
+                .expenseByCategory(expenses.toBigDecimalMap())
+                .build();
+    }
+}
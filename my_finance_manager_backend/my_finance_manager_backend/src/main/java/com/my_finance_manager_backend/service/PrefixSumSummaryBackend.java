@@ -0,0 +1,127 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.Delta;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answers range totals from in-memory Fenwick trees (one per category and per source)
+ * holding amounts in minor units, so no query reaches MySQL. The trees are loaded
+ * from the daily rollups at startup and follow every committed ledger change.
+ */
+@Service
+@ConditionalOnProperty(name = "summary.backend", havingValue = "prefix-sum")
+public class PrefixSumSummaryBackend implements SummaryBackend {
+
+    private final LedgerRollupRepository rollupRepo;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, KeySums> expenses = new HashMap<>();
+    private final Map<String, KeySums> incomes = new HashMap<>();
+
+    public PrefixSumSummaryBackend(LedgerRollupRepository rollupRepo) {
+        this.rollupRepo = rollupRepo;
+    }
+
+    @PostConstruct
+    void load() {
+        lock.writeLock().lock();
+        try {
+            expenses.clear();
+            incomes.clear();
+            rollupRepo.findAllExpenseDays().forEach(d -> apply(expenses, d.key(), d.date(), d.amount(), d.count()));
+            rollupRepo.findAllIncomeDays().forEach(d -> apply(incomes, d.key(), d.date(), d.amount(), d.count()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Prefix-sum summary index loaded: " + expenses.size() + " categories, "
+                + incomes.size() + " sources");
+    }
+
+    // Only committed changes are applied, so the index never shows rolled-back writes.
+    // Runs before SummaryCache drops its entries, so a reload sees the change.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onLedgerChange(LedgerChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (ExpenseDTO e : event.getExpensesRemoved()) {
+                apply(expenses, e.getCategory(), e.getDate(), e.getAmount().negate(), -1);
+            }
+            for (ExpenseDTO e : event.getExpensesAdded()) {
+                apply(expenses, e.getCategory(), e.getDate(), e.getAmount(), 1);
+            }
+            for (IncomeDTO i : event.getIncomesRemoved()) {
+                apply(incomes, i.getSource(), i.getDate(), i.getAmount().negate(), -1);
+            }
+            for (IncomeDTO i : event.getIncomesAdded()) {
+                apply(incomes, i.getSource(), i.getDate(), i.getAmount(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LedgerGroupTotalDTO> sumExpensesByCategory(LocalDate start, LocalDate end) {
+        return sums("EXPENSE", expenses, start, end);
+    }
+
+    @Override
+    public List<LedgerGroupTotalDTO> sumIncomesBySource(LocalDate start, LocalDate end) {
+        return sums("INCOME", incomes, start, end);
+    }
+
+    private List<LedgerGroupTotalDTO> sums(String type, Map<String, KeySums> index, LocalDate start, LocalDate end) {
+        List<LedgerGroupTotalDTO> groups = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (KeySums key : index.values()) {
+                // Like GROUP BY, a key shows up when it has rows in the range, even if they net to zero
+                if (key.counts.sum(start, end) > 0) {
+                    groups.add(new LedgerGroupTotalDTO(type, key.name, key.cents.sum(start, end)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return groups;
+    }
+
+    private static void apply(Map<String, KeySums> index, String name, LocalDate date, BigDecimal amount, long count) {
+        // Keys are matched case-insensitively, as MySQL's default collation groups them
+        KeySums key = index.computeIfAbsent(name.toLowerCase(Locale.ROOT), k -> new KeySums(name));
+        key.cents.add(date, MinorUnits.of(amount));
+        key.counts.add(date, count);
+    }
+
+    private static final class KeySums {
+        private final String name;
+        private final DaySumTree cents = new DaySumTree();
+        private final DaySumTree counts = new DaySumTree();
+
+        private KeySums(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.exception.QueryTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent reads of one request in parallel on a bounded pool and waits
+ * for all of them under one deadline. When a branch fails or the deadline passes,
+ * every branch still running is cancelled (interrupted) before the call returns,
+ * and whatever it produces afterwards is discarded. When the pool and its queue are
+ * full the call fails at once with QueryTimeoutException rather than running reads
+ * on the request thread.
+ * Metrics: query.fanout.branch timed per operation, branch and outcome
+ * (success, failure, cancelled), and query.fanout per operation and outcome
+ * (success, failure, timeout, rejected).
+ */
+@Component
+public class QueryFanOut {
+
+    /** One named read of a fan-out. */
+    public record Branch<T>(String name, Supplier<T> query) {
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry registry;
+    private final Duration deadline;
+
+    public QueryFanOut(MeterRegistry registry,
+                       @Value("${query.fanout.threads:8}") int threads,
+                       @Value("${query.fanout.queue-capacity:100}") int queueCapacity,
+                       @Value("${query.fanout.deadline:5s}") Duration deadline) {
+        this.registry = registry;
+        this.deadline = deadline;
+        AtomicInteger threadCount = new AtomicInteger();
+        // The default AbortPolicy rejects a branch once every worker is busy and the queue is full
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "query-fanout-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Results in branch order. Throws QueryTimeoutException when the deadline passes or
+    // the pool is saturated, or the first branch failure as soon as it happens.
+    public <T> List<T> invokeAll(String operation, List<Branch<T>> branches) {
+        long started = System.nanoTime();
+        long deadlineNanos = started + deadline.toNanos();
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<T>, Integer> positions = new IdentityHashMap<>();
+        List<BranchState> states = new ArrayList<>();
+        String outcome = "failure";
+        try {
+            for (Branch<T> branch : branches) {
+                BranchState state = new BranchState();
+                try {
+                    positions.put(completion.submit(() -> timed(operation, branch, state)), positions.size());
+                } catch (RejectedExecutionException e) {
+                    // Branches already submitted are cancelled below
+                    outcome = "rejected";
+                    throw new QueryTimeoutException(operation + " rejected: too many reads in progress");
+                }
+                states.add(state);
+            }
+
+            List<T> results = new ArrayList<>(branches.size());
+            for (int i = 0; i < branches.size(); i++) {
+                results.add(null);
+            }
+            for (int finished = 0; finished < branches.size(); finished++) {
+                Future<T> future = completion.poll(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    outcome = "timeout";
+                    throw new QueryTimeoutException(operation + " did not finish within " + deadline.toMillis() + " ms");
+                }
+                results.set(positions.get(future), future.get());
+            }
+            outcome = "success";
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(operation + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(operation + " was interrupted", e);
+        } finally {
+            // Stop whatever is still running; finished branches are unaffected
+            long elapsed = System.nanoTime() - started;
+            positions.forEach((future, position) -> {
+                if (future.isDone()) {
+                    return;
+                }
+                BranchState state = states.get(position);
+                state.cancelled.set(true);
+                future.cancel(true);
+                // A branch that never started is counted here; a running one counts itself
+                if (state.started.compareAndSet(false, true)) {
+                    branchTimer(operation, branches.get(position).name(), "cancelled").record(elapsed, TimeUnit.NANOSECONDS);
+                }
+            });
+            Timer.builder("query.fanout")
+                    .description("Wall-clock time of a parallel read, until all branches finished or were cancelled")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T timed(String operation, Branch<T> branch, BranchState state) {
+        if (!state.started.compareAndSet(false, true)) {
+            throw new CancellationException(); // cancelled before it started
+        }
+        long started = System.nanoTime();
+        String outcome = "failure";
+        try {
+            T result = branch.query().get();
+            outcome = "success";
+            return result;
+        } finally {
+            // JDBC calls do not observe interrupts, so a cancelled query may still run to the end;
+            // its result is thrown away either way
+            if (state.cancelled.get()) {
+                outcome = "cancelled";
+            }
+            branchTimer(operation, branch.name(), outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class BranchState {
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+    }
+
+    private Timer branchTimer(String operation, String branch, String outcome) {
+        return Timer.builder("query.fanout.branch")
+                .description("Time spent in one branch of a parallel read")
+                .tag("operation", operation)
+                .tag("branch", branch)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
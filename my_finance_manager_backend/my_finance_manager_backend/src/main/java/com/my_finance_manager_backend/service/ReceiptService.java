@@ -1,9 +1,12 @@
 package com.my_finance_manager_backend.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.my_finance_manager_backend.dto.ReceiptDTO;
 import com.my_finance_manager_backend.model.Receipt;
 import com.my_finance_manager_backend.repository.ReceiptRepository;
 import com.my_finance_manager_backend.service.GeminiAIService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -14,16 +17,22 @@ import java.util.Map;
 @Service
 public class ReceiptService {
 
+    private static final TypeReference<Map<String, Object>> FIELD_MAP = new TypeReference<>() {
+    };
+
     private final ReceiptRepository repo;
     private final GeminiAIService geminiAIService;
+    private final ExtractionCache extractionCache;
 
-    public ReceiptService(ReceiptRepository repo, GeminiAIService geminiAIService) {
+    public ReceiptService(ReceiptRepository repo, GeminiAIService geminiAIService, ExtractionCache extractionCache) {
         this.repo = repo;
         this.geminiAIService = geminiAIService;
+        this.extractionCache = extractionCache;
     }
 
-    // Save receipt metadata and process with AI
-    public Receipt saveReceipt(MultipartFile file) throws IOException {
+    // Save receipt metadata and process with AI. A file processed before reuses the
+    // stored AI result unless force is set; the upload is still recorded as a new receipt.
+    public Receipt saveReceipt(MultipartFile file, boolean force) throws IOException {
         // Validate file first
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
@@ -35,7 +44,8 @@ public class ReceiptService {
         
         try {
             // Process file with Gemini AI
-            Map<String, Object> aiResults = geminiAIService.extractInformationFromFile(file);
+            Map<String, Object> aiResults = extractionCache.getOrExtract(file, ExtractionCache.Kind.DOCUMENT, force,
+                    FIELD_MAP, () -> geminiAIService.extractInformationFromFile(file), GeminiAIService::isModelResult);
             
             // Build receipt with extracted information
             Receipt receipt = Receipt.builder()
@@ -153,8 +163,9 @@ public class ReceiptService {
     }
     
     // Get all receipts
-    public List<Receipt> getAllReceipts() {
-        return repo.findAll();
+    @Transactional(readOnly = true)
+    public List<ReceiptDTO> getAllReceipts() {
+        return repo.findAllViews();
     }
     
     // Delete receipt
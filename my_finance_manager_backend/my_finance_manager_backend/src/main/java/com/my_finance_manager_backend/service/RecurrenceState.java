@@ -0,0 +1,154 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.RecurrenceCadence;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Detector state for one merchant key: the latest occurrences (date and amount in minor
+ * units, oldest first), bounded to WINDOW entries, plus an all-time count. Adding or
+ * removing an occurrence costs O(WINDOW) whatever the history size, and rows may arrive
+ * in any date order. Occurrences pushed out of a full window are not kept, so removing
+ * one from the window can leave it short; remove() reports that, and the caller then
+ * rebuilds the state from the ledger. Not thread-safe.
+ */
+final class RecurrenceState {
+
+    static final int WINDOW = 12;
+
+    // Occurrences in a run may differ from the latest amount by at most this many percent
+    static final int AMOUNT_TOLERANCE_PERCENT = 15;
+
+    record Occurrence(LocalDate date, long amount) {
+    }
+
+    /** The evenly spaced, similarly sized run that ends at the latest occurrence. */
+    record Run(RecurrenceCadence cadence, int length, int intervalDays, long amountLow, long amountHigh,
+               LocalDate lastDate) {
+    }
+
+    private final List<Occurrence> recent;
+    private long occurrences;
+
+    RecurrenceState() {
+        this(new ArrayList<>(), 0);
+    }
+
+    private RecurrenceState(List<Occurrence> recent, long occurrences) {
+        this.recent = recent;
+        this.occurrences = occurrences;
+    }
+
+    // Keeps the window sorted by date; an occurrence older than a full window is only counted
+    void add(LocalDate date, long amount) {
+        occurrences++;
+        int i = recent.size();
+        while (i > 0 && recent.get(i - 1).date().isAfter(date)) {
+            i--;
+        }
+        if (recent.size() == WINDOW) {
+            if (i == 0) {
+                return;
+            }
+            recent.remove(0);
+            i--;
+        }
+        recent.add(i, new Occurrence(date, amount));
+    }
+
+    // Drops one matching occurrence; rows older than the window only lower the count.
+    // True when the window lost an entry while older occurrences exist outside it: one of
+    // those should move in, and only the ledger still has it.
+    boolean remove(LocalDate date, long amount) {
+        occurrences = Math.max(0, occurrences - 1);
+        return recent.remove(new Occurrence(date, amount)) && occurrences > recent.size();
+    }
+
+    long occurrences() {
+        return occurrences;
+    }
+
+    LocalDate lastDate() {
+        return recent.isEmpty() ? null : recent.get(recent.size() - 1).date();
+    }
+
+    // Walks back from the latest occurrence while the gaps stay in one cadence and the
+    // amounts stay close to the latest one; null unless the run is long enough to count
+    Run currentRun() {
+        int n = recent.size();
+        if (n < 2) {
+            return null;
+        }
+        RecurrenceCadence cadence = RecurrenceCadence.ofGap(gap(n - 2));
+        if (cadence == null) {
+            return null;
+        }
+        long reference = recent.get(n - 1).amount();
+        int first = n - 1;
+        while (first > 0 && cadence.fits(gap(first - 1)) && similar(recent.get(first - 1).amount(), reference)) {
+            first--;
+        }
+        int length = n - first;
+        if (length < cadence.getMinOccurrences()) {
+            return null;
+        }
+
+        long[] gaps = new long[length - 1];
+        long low = Long.MAX_VALUE;
+        long high = Long.MIN_VALUE;
+        for (int i = first; i < n; i++) {
+            if (i > first) {
+                gaps[i - first - 1] = gap(i - 1);
+            }
+            low = Math.min(low, recent.get(i).amount());
+            high = Math.max(high, recent.get(i).amount());
+        }
+        Arrays.sort(gaps);
+        return new Run(cadence, length, (int) gaps[gaps.length / 2], low, high, lastDate());
+    }
+
+    // Days between occurrence i and the one after it
+    private long gap(int i) {
+        return ChronoUnit.DAYS.between(recent.get(i).date(), recent.get(i + 1).date());
+    }
+
+    private static boolean similar(long amount, long reference) {
+        return Math.abs(amount - reference) * 100 <= Math.abs(reference) * AMOUNT_TOLERANCE_PERCENT;
+    }
+
+    // Stored form of the window: "2026-09-01:1599,2026-10-01:1599"
+    String encodeRecent() {
+        StringBuilder sb = new StringBuilder();
+        for (Occurrence o : recent) {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(o.date()).append(':').append(o.amount());
+        }
+        return sb.toString();
+    }
+
+    // State read back from the ledger: the latest occurrences in any order and the all-time count
+    static RecurrenceState of(List<Occurrence> latest, long occurrences) {
+        RecurrenceState state = new RecurrenceState();
+        latest.forEach(o -> state.add(o.date(), o.amount()));
+        state.occurrences = occurrences;
+        return state;
+    }
+
+    static RecurrenceState decode(String recent, long occurrences) {
+        List<Occurrence> window = new ArrayList<>(WINDOW);
+        if (recent != null && !recent.isEmpty()) {
+            for (String entry : recent.split(",")) {
+                int colon = entry.indexOf(':');
+                window.add(new Occurrence(LocalDate.parse(entry.substring(0, colon)),
+                        Long.parseLong(entry.substring(colon + 1))));
+            }
+        }
+        return new RecurrenceState(window, occurrences);
+    }
+}
@@ -0,0 +1,231 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.dto.RecurrenceCadence;
+import com.my_finance_manager_backend.dto.RecurringPatternDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.repository.RecurringPatternRepository;
+import com.my_finance_manager_backend.repository.RecurringPatternRepository.History;
+import com.my_finance_manager_backend.repository.RecurringPatternRepository.Key;
+import com.my_finance_manager_backend.repository.RecurringPatternRepository.PatternRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Detects recurring expenses and incomes (subscriptions, rent, salary): occurrences with the
+ * same normalized description, a steady weekly, monthly or yearly gap and a similar amount.
+ * Each merchant key keeps a small stored state that every ledger write updates in place,
+ * so a write costs O(rows written). Only a removal that empties a slot in a key's window
+ * while older occurrences exist reads that key's rows back from the ledger.
+ */
+@Service
+public class RecurringTransactionService {
+
+    private static final int BACKFILL_CHUNK = 1000;
+
+    private final RecurringPatternRepository repo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public RecurringTransactionService(RecurringPatternRepository repo, EntityManager entityManager,
+                                       TransactionTemplate transactionTemplate) {
+        this.repo = repo;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    private record Change(boolean added, LocalDate date, long amount, String description) {
+    }
+
+    // Same transaction as the ledger write, like the daily rollups.
+    // Removals are applied before additions, so an update moves an occurrence.
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLedgerChange(LedgerChangeEvent event) {
+        Map<Key, List<Change>> changes = new LinkedHashMap<>();
+        for (ExpenseDTO e : event.getExpensesRemoved()) {
+            collect(changes, "EXPENSE", e.getDescription(), e.getCategory(), false, e.getDate(), MinorUnits.of(e.getAmount()));
+        }
+        for (IncomeDTO i : event.getIncomesRemoved()) {
+            collect(changes, "INCOME", i.getSource(), i.getDescription(), false, i.getDate(), MinorUnits.of(i.getAmount()));
+        }
+        for (ExpenseDTO e : event.getExpensesAdded()) {
+            collect(changes, "EXPENSE", e.getDescription(), e.getCategory(), true, e.getDate(), MinorUnits.of(e.getAmount()));
+        }
+        for (IncomeDTO i : event.getIncomesAdded()) {
+            collect(changes, "INCOME", i.getSource(), i.getDescription(), true, i.getDate(), MinorUnits.of(i.getAmount()));
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        List<PatternRow> updates = new ArrayList<>();
+        List<Key> emptied = new ArrayList<>();
+        boolean flushed = false;
+        for (PatternRow stored : repo.lockAll(new ArrayList<>(changes.keySet()))) {
+            RecurrenceState state = RecurrenceState.decode(stored.recent(), stored.occurrences());
+            String description = stored.description();
+            LocalDate latest = state.lastDate();
+            boolean shortWindow = false;
+            for (Change change : changes.get(stored.key())) {
+                if (!change.added()) {
+                    shortWindow |= state.remove(change.date(), change.amount());
+                    continue;
+                }
+                state.add(change.date(), change.amount());
+                if (latest == null || !change.date().isBefore(latest)) {
+                    latest = change.date();
+                    description = change.description();
+                }
+            }
+            if (shortWindow) {
+                // An occurrence evicted from the window earlier has to move back in; the ledger,
+                // which already holds this write's rows, is the only place it still exists
+                if (!flushed) {
+                    entityManager.flush();
+                    flushed = true;
+                }
+                History history = repo.findHistory(stored.key(), RecurrenceState.WINDOW);
+                state = RecurrenceState.of(history.latest().stream()
+                        .map(row -> new RecurrenceState.Occurrence(row.date(), row.amount())).toList(),
+                        history.occurrences());
+                if (!history.latest().isEmpty()) {
+                    description = history.latest().get(0).description();
+                }
+            }
+            if (state.occurrences() == 0) {
+                emptied.add(stored.key());
+            } else {
+                updates.add(toRow(stored.key(), description, state));
+            }
+        }
+        repo.updateAll(updates);
+        repo.deleteAll(emptied);
+    }
+
+    // Recurring expenses and/or incomes ("expense", "income" or null for both), next due first.
+    // Runs whose next occurrence is overdue are left out unless includeInactive is set.
+    @Transactional(readOnly = true)
+    public List<RecurringPatternDTO> findRecurring(String type, boolean includeInactive) {
+        String txnType = parseType(type);
+        LocalDate today = LocalDate.now();
+        List<RecurringPatternDTO> result = new ArrayList<>();
+        for (PatternRow row : repo.findRecurring(txnType)) {
+            RecurrenceCadence cadence = RecurrenceCadence.valueOf(row.cadence());
+            boolean active = !today.isAfter(row.lastDate().plusDays(cadence.getMaxDays()));
+            if (!active && !includeInactive) {
+                continue;
+            }
+            result.add(RecurringPatternDTO.builder()
+                    .type(row.key().type())
+                    .merchant(row.key().merchant())
+                    .description(row.description())
+                    .cadence(cadence)
+                    .intervalDays(row.intervalDays())
+                    .amountLow(row.amountLow())
+                    .amountHigh(row.amountHigh())
+                    .occurrences(row.streak())
+                    .lastDate(row.lastDate())
+                    .nextExpected(cadence.next(row.lastDate()))
+                    .active(active)
+                    .build());
+        }
+        result.sort(Comparator.comparing(RecurringPatternDTO::getNextExpected)
+                .thenComparing(RecurringPatternDTO::getMerchant));
+        return result;
+    }
+
+    // Databases that had transactions before the detector existed are backfilled once,
+    // from a single streamed pass over both ledgers, before requests are served.
+    // All chunks commit together: the empty-table check is the only resume marker, so a
+    // backfill interrupted after some chunks had committed would never be completed.
+    @PostConstruct
+    void backfillIfEmpty() {
+        if (!repo.isEmpty()) {
+            return;
+        }
+        Map<Key, RecurrenceState> states = new HashMap<>();
+        Map<Key, LocalDate> latest = new HashMap<>();
+        Map<Key, String> descriptions = new HashMap<>();
+        repo.forEachLedgerRow(row -> {
+            Key key = key(row.type(), row.description(), row.fallbackKey());
+            if (key == null) {
+                return;
+            }
+            states.computeIfAbsent(key, k -> new RecurrenceState()).add(row.date(), row.amount());
+            LocalDate last = latest.get(key);
+            if (last == null || !row.date().isBefore(last)) {
+                latest.put(key, row.date());
+                descriptions.put(key, row.description());
+            }
+        });
+        if (states.isEmpty()) {
+            return;
+        }
+
+        System.out.println("Backfilling recurring transaction state for " + states.size() + " merchants");
+        List<PatternRow> rows = new ArrayList<>(states.size());
+        states.forEach((key, state) -> rows.add(toRow(key, descriptions.get(key), state)));
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rows.size(); from += BACKFILL_CHUNK) {
+                repo.insertAll(rows.subList(from, Math.min(rows.size(), from + BACKFILL_CHUNK)));
+            }
+        });
+    }
+
+    private static void collect(Map<Key, List<Change>> changes, String type, String description, String fallback,
+                                boolean added, LocalDate date, long amount) {
+        Key key = key(type, description, fallback);
+        if (key != null) {
+            changes.computeIfAbsent(key, k -> new ArrayList<>()).add(new Change(added, date, amount, description));
+        }
+    }
+
+    // Normalized name, or the fallback when it has none. Expenses are named by their description
+    // (category as fallback); incomes by their source, as in the unified ledger view.
+    private static Key key(String type, String description, String fallback) {
+        String merchant = DescriptionNormalizer.normalize(description);
+        if (merchant == null) {
+            merchant = DescriptionNormalizer.normalize(fallback);
+        }
+        return merchant != null ? new Key(type, merchant) : null;
+    }
+
+    private static PatternRow toRow(Key key, String description, RecurrenceState state) {
+        RecurrenceState.Run run = state.currentRun();
+        if (run == null) {
+            return new PatternRow(key, description, state.occurrences(), state.encodeRecent(), state.lastDate(),
+                    null, null, null, null, null);
+        }
+        return new PatternRow(key, description, state.occurrences(), state.encodeRecent(), state.lastDate(),
+                run.cadence().name(), run.intervalDays(), run.length(),
+                MinorUnits.toBigDecimal(run.amountLow()), MinorUnits.toBigDecimal(run.amountHigh()));
+    }
+
+    private static String parseType(String type) {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+        String upper = type.trim().toUpperCase(Locale.ROOT);
+        if (!upper.equals("EXPENSE") && !upper.equals("INCOME")) {
+            throw new IllegalArgumentException("Invalid type: " + type + " (expected expense or income)");
+        }
+        return upper;
+    }
+}
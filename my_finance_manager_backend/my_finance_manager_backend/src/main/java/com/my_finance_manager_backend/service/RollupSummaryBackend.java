@@ -0,0 +1,36 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Sums the daily rollup rows in MySQL (default backend)
+@Service
+@ConditionalOnProperty(name = "summary.backend", havingValue = "rollup", matchIfMissing = true)
+public class RollupSummaryBackend implements SummaryBackend {
+
+    private final LedgerRollupRepository rollupRepo;
+
+    public RollupSummaryBackend(LedgerRollupRepository rollupRepo) {
+        this.rollupRepo = rollupRepo;
+    }
+
+    @Override
+    public List<LedgerGroupTotalDTO> sumExpensesByCategory(LocalDate start, LocalDate end) {
+        return rollupRepo.sumExpensesByCategory(start, end);
+    }
+
+    @Override
+    public List<LedgerGroupTotalDTO> sumIncomesBySource(LocalDate start, LocalDate end) {
+        return rollupRepo.sumIncomesBySource(start, end);
+    }
+
+    @Override
+    public List<LedgerGroupTotalDTO> sumByGroup(LocalDate start, LocalDate end) {
+        return rollupRepo.sumByGroup(start, end);
+    }
+}
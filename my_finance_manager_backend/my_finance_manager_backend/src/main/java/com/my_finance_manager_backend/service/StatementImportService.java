@@ -0,0 +1,190 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ImportResultDTO;
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.repository.ImportCheckpointRepository;
+import com.my_finance_manager_backend.repository.ImportCheckpointRepository.Checkpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Imports statements in chunks of import.chunk-size rows, each committed in its own
+ * transaction, so locks and undo log stay bounded however long the statement is.
+ * Chunked imports record their progress in import_checkpoints in the same transaction
+ * as each chunk; retrying one continues after the last committed chunk. Saves without
+ * an import id have no checkpoint, so they commit in a single transaction. Uploaded
+ * statements are fingerprinted: rows that an earlier, overlapping statement already
+ * imported are skipped and reported. Saved lists are stored as given.
+ */
+@Service
+public class StatementImportService {
+
+    private static final int MAX_REPORTED_DUPLICATES = 100;
+    private static final IntConsumer NO_PROGRESS = committedRows -> {
+    };
+
+    private final TransactionHistoryService historyService;
+    private final ImportCheckpointRepository checkpoints;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public StatementImportService(TransactionHistoryService historyService, ImportCheckpointRepository checkpoints,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${import.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("import.chunk-size must be at least 1");
+        }
+        this.historyService = historyService;
+        this.checkpoints = checkpoints;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    private record Chunk(int from, int rows, List<TransactionDTO> duplicates) {
+    }
+
+    // Running totals of one call
+    private static final class Progress {
+        int imported;
+        int chunks;
+        int duplicateRows;
+        final List<TransactionDTO> duplicates = new ArrayList<>();
+
+        void add(int rows, List<TransactionDTO> skipped) {
+            imported += rows - skipped.size();
+            duplicateRows += skipped.size();
+            chunks++;
+            for (TransactionDTO t : skipped) {
+                if (duplicates.size() == MAX_REPORTED_DUPLICATES) {
+                    break;
+                }
+                duplicates.add(t);
+            }
+        }
+    }
+
+    // Extracted statements are keyed by their rows: uploading the same statement again
+    // resumes an interrupted import, or does nothing once it has completed
+    public ImportResultDTO importStatement(List<TransactionDTO> transactions) {
+        return importStatement(transactions, NO_PROGRESS);
+    }
+
+    // As above, reporting the rows committed so far (skipped duplicates included) after each chunk
+    public ImportResultDTO importStatement(List<TransactionDTO> transactions, IntConsumer progressListener) {
+        String content = contentSha256(transactions);
+        return importResumable(content, content, transactions, DuplicateTransactionFilter.fingerprints(transactions),
+                progressListener);
+    }
+
+    // importId is the client's name for the import; retrying with the same id and rows resumes it.
+    // Without one there is nothing to resume from, so the rows are saved all or nothing in one
+    // transaction: a failed save leaves no partial import behind and can simply be sent again.
+    // These rows are not fingerprinted: the list may be hand-picked or a single receipt, and a
+    // second identical purchase is a real one.
+    public ImportResultDTO importTransactions(List<TransactionDTO> transactions, String importId) {
+        if (importId != null && !importId.isBlank()) {
+            return importResumable(sha256("id:" + importId.trim()), contentSha256(transactions), transactions,
+                    null, NO_PROGRESS);
+        }
+        Progress progress = new Progress();
+        if (!transactions.isEmpty()) {
+            progress.add(transactions.size(), transactionTemplate.execute(
+                    status -> historyService.saveTransactions(transactions)));
+        }
+        return result(null, transactions.size(), 0, progress, false);
+    }
+
+    // fingerprints is null when the rows are saved without duplicate detection
+    private ImportResultDTO importResumable(String importKey, String content, List<TransactionDTO> transactions,
+                                            List<String> fingerprints, IntConsumer progressListener) {
+        int total = transactions.size();
+        Progress progress = new Progress();
+        if (total == 0) {
+            return result(importKey, 0, 0, progress, false);
+        }
+        checkpoints.createIfAbsent(importKey, content, total);
+
+        int resumedFrom = -1;
+        try {
+            while (true) {
+                Chunk chunk = transactionTemplate.execute(
+                        status -> commitNextChunk(importKey, content, transactions, fingerprints));
+                if (resumedFrom < 0) {
+                    resumedFrom = chunk.from();
+                }
+                progressListener.accept(chunk.from() + chunk.rows());
+                if (chunk.rows() == 0) {
+                    break;
+                }
+                progress.add(chunk.rows(), chunk.duplicates());
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            int committed = Math.max(resumedFrom, 0) + progress.imported + progress.duplicateRows;
+            throw new IllegalStateException("Import " + importKey + " stopped after " + committed + " of " + total
+                    + " rows, retry to resume: " + e.getMessage(), e);
+        }
+        return result(importKey, total, resumedFrom, progress, resumedFrom == total);
+    }
+
+    // Reads the offset under the checkpoint lock, so a concurrent retry of the same
+    // import continues where this one stopped instead of inserting the chunk twice
+    private Chunk commitNextChunk(String importKey, String content, List<TransactionDTO> transactions,
+                                  List<String> fingerprints) {
+        Checkpoint checkpoint = checkpoints.lock(importKey);
+        if (!checkpoint.contentSha256().equals(content)) {
+            throw new IllegalArgumentException("Import " + importKey + " was started with different transactions");
+        }
+        int from = checkpoint.committedRows();
+        if (from >= transactions.size()) {
+            return new Chunk(from, 0, List.of());
+        }
+        int to = Math.min(transactions.size(), from + chunkSize);
+        List<TransactionDTO> duplicates = historyService.saveTransactions(transactions.subList(from, to),
+                fingerprints != null ? fingerprints.subList(from, to) : null);
+        checkpoints.advance(importKey, to, to == transactions.size());
+        return new Chunk(from, to - from, duplicates);
+    }
+
+    private static ImportResultDTO result(String importKey, int total, int resumedFrom, Progress progress,
+                                          boolean alreadyImported) {
+        return new ImportResultDTO(importKey, total, resumedFrom, progress.imported, progress.duplicateRows,
+                progress.duplicates, progress.chunks, alreadyImported);
+    }
+
+    // Order-sensitive digest of the rows as saveTransactions stores them
+    static String contentSha256(List<TransactionDTO> transactions) {
+        MessageDigest digest = newDigest();
+        for (TransactionDTO t : transactions) {
+            BigDecimal amount = t.getAmount();
+            String row = t.getDate() + "\u001f" + t.getType() + "\u001f"
+                    + (amount != null ? amount.stripTrailingZeros().toPlainString() : null) + "\u001f"
+                    + t.getDescription() + "\n";
+            digest.update(row.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String sha256(String value) {
+        return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Source of per-category and per-source totals for the summary endpoints.
+ * Chosen with {@code summary.backend}: {@code ledger}, {@code rollup} (default) or {@code prefix-sum}.
+ * A null start or end leaves that side of the range open.
+ */
+public interface SummaryBackend {
+
+    List<LedgerGroupTotalDTO> sumExpensesByCategory(LocalDate start, LocalDate end);
+
+    List<LedgerGroupTotalDTO> sumIncomesBySource(LocalDate start, LocalDate end);
+
+    default List<LedgerGroupTotalDTO> sumByGroup(LocalDate start, LocalDate end) {
+        List<LedgerGroupTotalDTO> groups = new ArrayList<>(sumExpensesByCategory(start, end));
+        groups.addAll(sumIncomesBySource(start, end));
+        return groups;
+    }
+}
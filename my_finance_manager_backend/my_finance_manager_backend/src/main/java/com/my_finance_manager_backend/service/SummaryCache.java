@@ -0,0 +1,115 @@
+package com.my_finance_manager_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of summary results keyed by (summary, start, end).
+ * A committed ledger change drops exactly the entries whose range contains one of
+ * the changed dates, and only for the summaries that depend on that ledger.
+ * Metrics: cache.gets (hit/miss), cache.evictions and cache.size tagged cache=summaries,
+ * plus summary.cache.invalidations.
+ */
+@Component
+public class SummaryCache {
+
+    public static final String EXPENSES_BY_CATEGORY = "expensesByCategory";
+    public static final String INCOMES_BY_SOURCE = "incomesBySource";
+    public static final String TRANSACTION_SUMMARY = "transactionSummary";
+
+    private record Key(String summary, LocalDate start, LocalDate end) {
+
+        boolean covers(LocalDate date) {
+            return (start == null || !date.isBefore(start)) && (end == null || !date.isAfter(end));
+        }
+    }
+
+    private final Cache<Key, Object> cache;
+    private final Counter invalidations;
+    // Bumped on every committed change; lets a load that raced with a write drop its own result
+    private final AtomicLong writeEpoch = new AtomicLong();
+
+    public SummaryCache(MeterRegistry registry,
+                        @Value("${summary.cache.max-size:1000}") long maxSize,
+                        @Value("${summary.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                // Safety net for writes that bypass the services (manual SQL, rollup rebuilds)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "summaries");
+        this.invalidations = Counter.builder("summary.cache.invalidations")
+                .description("Summary cache entries dropped because a write touched their date range")
+                .register(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String summary, LocalDate start, LocalDate end, Supplier<T> loader) {
+        Key key = new Key(summary, start, end);
+        T cached = (T) cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long epoch = writeEpoch.get();
+        T value = loader.get();
+        cache.put(key, value);
+        // A write committed while we were loading; the value may predate it
+        if (writeEpoch.get() != epoch) {
+            cache.asMap().remove(key, value);
+        }
+        return value;
+    }
+
+    // Runs after the prefix-sum index (if any) has applied the same change
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onLedgerChange(LedgerChangeEvent event) {
+        writeEpoch.incrementAndGet();
+
+        Set<LocalDate> expenseDates = new HashSet<>();
+        event.getExpensesRemoved().forEach(e -> expenseDates.add(e.getDate()));
+        event.getExpensesAdded().forEach(e -> expenseDates.add(e.getDate()));
+        Set<LocalDate> incomeDates = new HashSet<>();
+        event.getIncomesRemoved().forEach(i -> incomeDates.add(i.getDate()));
+        event.getIncomesAdded().forEach(i -> incomeDates.add(i.getDate()));
+
+        cache.asMap().keySet().removeIf(key -> {
+            boolean stale = switch (key.summary()) {
+                case EXPENSES_BY_CATEGORY -> touches(key, expenseDates);
+                case INCOMES_BY_SOURCE -> touches(key, incomeDates);
+                default -> touches(key, expenseDates) || touches(key, incomeDates);
+            };
+            if (stale) {
+                invalidations.increment();
+            }
+            return stale;
+        });
+    }
+
+    private static boolean touches(Key key, Set<LocalDate> dates) {
+        for (LocalDate date : dates) {
+            if (key.covers(date)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.dto.TimeGranularity;
+import com.my_finance_manager_backend.dto.TimeSeriesBucketDTO;
+import com.my_finance_manager_backend.dto.TimeSeriesDTO;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.BucketTotal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class TimeSeriesService {
+
+    private final LedgerRollupRepository rollupRepo;
+    private final long maxBuckets;
+
+    public TimeSeriesService(LedgerRollupRepository rollupRepo,
+                             @Value("${timeseries.max-buckets:1000}") long maxBuckets) {
+        this.rollupRepo = rollupRepo;
+        this.maxBuckets = maxBuckets;
+    }
+
+    // All buckets for the range from one query over the daily rollups; empty buckets are filled with zeros.
+    // Without dates the range ends today and covers 30 days, 12 weeks or 12 months.
+    public TimeSeriesDTO getTimeSeries(String granularityParam, LocalDate start, LocalDate end, String groupBy) {
+        TimeGranularity granularity = TimeGranularity.parse(granularityParam);
+        if (groupBy != null && !groupBy.equals("category") && !groupBy.equals("source")) {
+            throw new IllegalArgumentException("Invalid groupBy: " + groupBy + " (expected category or source)");
+        }
+        LocalDate to = end != null ? end : LocalDate.now();
+        LocalDate from = start != null ? start : granularity.defaultStart(to);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        long buckets = granularity.bucketsBetween(from, to);
+        if (buckets > maxBuckets) {
+            throw new IllegalArgumentException("Range has " + buckets + " " + granularity.name().toLowerCase()
+                    + " buckets; at most " + maxBuckets + " are allowed");
+        }
+
+        // Totals and breakdowns in minor units, indexed by bucket position in the range
+        LocalDate first = granularity.bucketStart(from);
+        long[] income = new long[(int) buckets];
+        long[] expense = new long[(int) buckets];
+        Map<String, long[]> breakdown = new TreeMap<>();
+        for (BucketTotal row : rollupRepo.sumByBucket(granularity, groupBy, from, to)) {
+            int index = (int) granularity.bucketsBetween(first, row.bucket()) - 1;
+            long[] side = "INCOME".equals(row.type()) ? income : expense;
+            side[index] = Math.addExact(side[index], row.total());
+            if (row.key() != null) {
+                long[] values = breakdown.computeIfAbsent(row.key(), k -> new long[(int) buckets]);
+                values[index] = Math.addExact(values[index], row.total());
+            }
+        }
+
+        List<TimeSeriesBucketDTO> series = new ArrayList<>((int) buckets);
+        LocalDate b = first;
+        for (int index = 0; index < buckets; index++, b = granularity.next(b)) {
+            series.add(TimeSeriesBucketDTO.builder()
+                    .periodStart(b)
+                    .periodEnd(granularity.next(b).minusDays(1))
+                    .totalIncome(MinorUnits.toBigDecimal(income[index]))
+                    .totalExpense(MinorUnits.toBigDecimal(expense[index]))
+                    .netBalance(MinorUnits.toBigDecimal(Math.subtractExact(income[index], expense[index])))
+                    .breakdown(groupBy != null ? column(breakdown, index) : null)
+                    .build());
+        }
+
+        return TimeSeriesDTO.builder()
+                .granularity(granularity.name().toLowerCase())
+                .groupBy(groupBy)
+                .startDate(from)
+                .endDate(to)
+                .buckets(series)
+                .build();
+    }
+
+    // Every key seen anywhere in the range, so each bucket has the same series
+    private static Map<String, BigDecimal> column(Map<String, long[]> breakdown, int index) {
+        Map<String, BigDecimal> result = new TreeMap<>();
+        for (Map.Entry<String, long[]> key : breakdown.entrySet()) {
+            result.put(key.getKey(), MinorUnits.toBigDecimal(key.getValue()[index]));
+        }
+        return result;
+    }
+}
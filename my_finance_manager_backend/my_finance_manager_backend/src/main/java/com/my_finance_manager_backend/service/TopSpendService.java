@@ -0,0 +1,43 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.dto.SpendGrouping;
+import com.my_finance_manager_backend.dto.TopSpendDTO;
+import com.my_finance_manager_backend.repository.SpendRankingRepository;
+import com.my_finance_manager_backend.repository.SpendRankingRepository.GroupSpend;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class TopSpendService {
+
+    static final int MAX_N = 100;
+
+    private final SpendRankingRepository repo;
+
+    public TopSpendService(SpendRankingRepository repo) {
+        this.repo = repo;
+    }
+
+    // The n buckets with the largest spend in the date range, largest first
+    public List<TopSpendDTO> top(String by, int n, LocalDate start, LocalDate end) {
+        SpendGrouping grouping = SpendGrouping.parse(by);
+        if (n < 1 || n > MAX_N) {
+            throw new IllegalArgumentException("n must be between 1 and " + MAX_N);
+        }
+        if (start != null && end != null && start.isAfter(end)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+
+        List<GroupSpend> groups = grouping == SpendGrouping.CATEGORY
+                ? repo.topCategories(start, end, n)
+                : repo.topMerchants(start, end, n);
+        return groups.stream().map(TopSpendService::toDto).toList();
+    }
+
+    private static TopSpendDTO toDto(GroupSpend group) {
+        return new TopSpendDTO(group.key(), MinorUnits.toBigDecimal(group.total()), group.count());
+    }
+}
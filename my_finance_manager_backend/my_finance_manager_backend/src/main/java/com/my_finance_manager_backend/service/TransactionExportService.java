@@ -0,0 +1,139 @@
+package com.my_finance_manager_backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my_finance_manager_backend.dto.ExportFormat;
+import com.my_finance_manager_backend.dto.TransactionViewDTO;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Writes the unified ledger as CSV or NDJSON. Rows come from the two server-side
+ * cursors behind forEachTransaction and go to the output as they arrive, so memory
+ * use stays flat however many rows are exported.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final TransactionHistoryService transactionService;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(TransactionHistoryService transactionService, ObjectMapper objectMapper) {
+        this.transactionService = transactionService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Rows in list order (newest first); returns how many were written
+    public long export(ExportFormat format, LocalDate start, LocalDate end, OutputStream out) throws IOException {
+        RowWriter writer = open(format, out);
+        long rows;
+        try {
+            rows = transactionService.forEachTransaction(start, end, Long.MAX_VALUE, row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // client went away; stops the cursors
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        return rows;
+    }
+
+    RowWriter open(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvWriter(out);
+            case NDJSON -> new NdjsonWriter(objectMapper, out);
+        };
+    }
+
+    interface RowWriter {
+        void write(TransactionViewDTO row) throws IOException;
+
+        // Flushes buffered rows; the caller owns the stream and closes it
+        void finish() throws IOException;
+    }
+
+    // RFC 4180: fields with commas, quotes or line breaks are quoted, quotes doubled
+    private static final class CsvWriter implements RowWriter {
+        private final Writer out;
+
+        private CsvWriter(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            this.out.write("id,type,date,description,amount\r\n");
+        }
+
+        @Override
+        public void write(TransactionViewDTO row) throws IOException {
+            out.write(String.valueOf(row.getId()));
+            out.write(',');
+            out.write(row.getType());
+            out.write(',');
+            out.write(String.valueOf(row.getDate()));
+            out.write(',');
+            out.write(field(row.getDescription()));
+            out.write(',');
+            out.write(row.getAmount().toPlainString());
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        static String field(String value) {
+            if (value == null || value.isEmpty()) {
+                return "";
+            }
+            // Keeps spreadsheets from evaluating descriptions as formulas; a leading tab or
+            // carriage return can be dropped on import and expose a formula behind it
+            if ("=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    // One JSON object per line, written through a single generator
+    private static final class NdjsonWriter implements RowWriter {
+        private final JsonGenerator out;
+        private boolean empty = true;
+
+        private NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.out = objectMapper.getFactory().createGenerator(out);
+            this.out.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.out.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void write(TransactionViewDTO row) throws IOException {
+            out.writeObject(row);
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                out.writeRaw('\n');
+            }
+            out.flush();
+        }
+    }
+}
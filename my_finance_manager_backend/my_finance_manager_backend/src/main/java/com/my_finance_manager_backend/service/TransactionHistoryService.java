@@ -1,14 +1,26 @@
 package com.my_finance_manager_backend.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my_finance_manager_backend.dto.CursorPageDTO;
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.dto.TransactionCursor;
 import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
 import com.my_finance_manager_backend.model.Expense;
 import com.my_finance_manager_backend.model.Income;
 import com.my_finance_manager_backend.repository.ExpenseRepository;
 import com.my_finance_manager_backend.repository.IncomeRepository;
+import com.my_finance_manager_backend.repository.LedgerBatchRepository;
+import com.my_finance_manager_backend.repository.LedgerQueryRepository;
 import com.my_finance_manager_backend.service.GeminiAIService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.my_finance_manager_backend.dto.TransactionViewDTO;
@@ -18,11 +30,13 @@ import org.springframework.data.domain.Pageable;
 
 import com.my_finance_manager_backend.dto.TransactionSummaryDTO;
 
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -34,36 +48,80 @@ public class TransactionHistoryService {
 
     private final ExpenseRepository expenseRepo;
     private final IncomeRepository incomeRepo;
+    private final LedgerQueryRepository ledgerQueryRepo;
+    private final LedgerBatchRepository ledgerBatchRepo;
+    private final DuplicateTransactionFilter duplicateFilter;
+    private final SummaryBackend summaryBackend;
+    private final SummaryCache summaryCache;
+    private final QueryFanOut queryFanOut;
     private final GeminiAIService geminiAIService;
+    private final ApplicationEventPublisher events;
+    private final ExtractionCache extractionCache;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public TransactionHistoryService(ExpenseRepository expenseRepo, IncomeRepository incomeRepo, GeminiAIService geminiAIService) {
+    private static final TypeReference<List<TransactionDTO>> TRANSACTION_LIST = new TypeReference<>() {
+    };
+
+    // Multiple regex patterns for different statement formats
+    private static final List<Pattern> STATEMENT_PATTERNS = List.of(
+            Pattern.compile("(\\d{4}-\\d{2}-\\d{2})\\s+(.+?)\\s+([+-]?\\d+\\.\\d{2})"),  // YYYY-MM-DD Description Amount
+
+            Pattern.compile("(\\d{1,2}/\\d{1,2}/\\d{4})\\s+(.+?)\\s+([+-]?\\d+\\.\\d{2})"),  // MM/DD/YYYY Description Amount
+
+            Pattern.compile("(\\d{1,2}-\\d{1,2}-\\d{4})\\s+(.+?)\\s+([+-]?\\d+\\.\\d{2})"),  // DD-MM-YYYY Description Amount
+
+            Pattern.compile("(.+?)\\s+([+-]?\\d+\\.\\d{2})\\s+(\\d{1,2}/\\d{1,2}/\\d{4})")   // Description Amount Date
+
+    );
+
+    // Basic patterns like dates followed by amounts
+    // Pattern: Date (various formats) followed by description and amount
+    private static final Pattern BASIC_TRANSACTION_PATTERN = Pattern.compile(
+            "(\\d{1,2}/\\d{1,2}/\\d{2,4}|\\d{4}-\\d{2}-\\d{2})\\s+" +    // Date
+                    "(.+?)\\s+" +                                                // Description (non-greedy)
+                    "([+-]?\\d+(?:[.,]\\d{1,2})?)"                               // Amount
+    );
+
+    public TransactionHistoryService(ExpenseRepository expenseRepo, IncomeRepository incomeRepo,
+                                     LedgerQueryRepository ledgerQueryRepo, LedgerBatchRepository ledgerBatchRepo,
+                                     DuplicateTransactionFilter duplicateFilter, SummaryBackend summaryBackend,
+                                     SummaryCache summaryCache, QueryFanOut queryFanOut,
+                                     GeminiAIService geminiAIService, ExtractionCache extractionCache,
+                                     ApplicationEventPublisher events) {
         this.expenseRepo = expenseRepo;
         this.incomeRepo = incomeRepo;
+        this.ledgerQueryRepo = ledgerQueryRepo;
+        this.ledgerBatchRepo = ledgerBatchRepo;
+        this.duplicateFilter = duplicateFilter;
+        this.summaryBackend = summaryBackend;
+        this.summaryCache = summaryCache;
+        this.queryFanOut = queryFanOut;
         this.geminiAIService = geminiAIService;
+        this.extractionCache = extractionCache;
+        this.events = events;
     }
 
-    // Step 1: Extract transactions from PDF using Gemini AI
-    public List<TransactionDTO> extractTransactions(MultipartFile file) throws Exception {
+    // Step 1: Extract transactions from a statement PDF, or from an image using Gemini AI.
+    // A file extracted before is answered from the extraction cache unless force is set.
+    // The cache holds whatever came out, text fallback included: the fallback only parses
+    // the file's own text, so the same bytes always give the same rows.
+    public List<TransactionDTO> extractTransactions(MultipartFile file, boolean force) throws Exception {
         // Validate file first
-        if (file.isEmpty()) {
-            throw new IllegalArgumentException("File is empty");
-        }
+        checkStatementFile(file);
         
-        if (file.getSize() > 10 * 1024 * 1024) { // 10MB limit
-            throw new IllegalArgumentException("File size exceeds 10MB limit");
-        }
-        
-        // Check file type
-        String contentType = file.getContentType();
-        if (contentType == null || (!contentType.equals("application/pdf") && !contentType.startsWith("image/"))) {
-            throw new IllegalArgumentException("Unsupported file type. Only PDF and image files are supported.");
+        return extractionCache.getOrExtract(file, ExtractionCache.Kind.STATEMENT, force, TRANSACTION_LIST,
+                () -> extractTransactionsFromFile(file), extracted -> !extracted.isEmpty());
+    }
+
+    private List<TransactionDTO> extractTransactionsFromFile(MultipartFile file) throws Exception {
+        // The model adds nothing for a PDF: its rows come from the PDF's own text either way.
+        // Parsing it page by page never holds the whole statement as one string.
+        if ("application/pdf".equals(file.getContentType())) {
+            return extractTransactionsFromPdfPages(file);
         }
-        
         try {
             // Use Gemini AI to extract transactions from the PDF
-            String aiResponse = callGeminiAPIForTransactions(file);
-            List<TransactionDTO> transactions = parseAIResponseForTransactions(aiResponse);
+            List<TransactionDTO> transactions = parseAIResponseForTransactions(callGeminiAPIForTransactions(file));
             
             // If AI extraction fails, try fallback
             if (transactions.isEmpty()) {
@@ -86,103 +144,168 @@ public class TransactionHistoryService {
         }
     }
 
+    // Throws IllegalArgumentException for files extractTransactions does not accept
+    public void checkStatementFile(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        
+        if (file.getSize() > 10 * 1024 * 1024) { // 10MB limit
+            throw new IllegalArgumentException("File size exceeds 10MB limit");
+        }
+        
+        // Check file type
+        String contentType = file.getContentType();
+        if (contentType == null || (!contentType.equals("application/pdf") && !contentType.startsWith("image/"))) {
+            throw new IllegalArgumentException("Unsupported file type. Only PDF and image files are supported.");
+        }
+    }
+
     // Step 2: Save extracted transactions to DB
-    public void saveTransactions(List<TransactionDTO> transactions) {
-        for (TransactionDTO t : transactions) {
-            if ("INCOME".equals(t.getType())) {
-                incomeRepo.save(Income.builder()
-                        .amount(t.getAmount())
-                        .source(t.getDescription())
-                        .description("Imported from PDF")
-                        .date(t.getDate())
-                        .build());
+    // All rows and their rollup updates commit together. The rows get no fingerprint, so
+    // two identical purchases (say, two receipts for the same coffee) are both kept.
+    @Transactional
+    public List<TransactionDTO> saveTransactions(List<TransactionDTO> transactions) {
+        return saveTransactions(transactions, null);
+    }
+
+    // Statement imports pass one fingerprint per row, computed over the whole statement when it
+    // is saved in chunks; rows imported before are skipped and returned. null fingerprints
+    // saves every row, as above.
+    @Transactional
+    public List<TransactionDTO> saveTransactions(List<TransactionDTO> transactions, List<String> fingerprints) {
+        Set<String> existing = fingerprints != null ? duplicateFilter.findExisting(fingerprints) : Set.of();
+        List<TransactionDTO> duplicates = new ArrayList<>();
+        // Inserted as JDBC batches (multi-row INSERTs) rather than one entity save per row
+        List<TransactionDTO> expenseRows = new ArrayList<>();
+        List<ExpenseDTO> expenses = new ArrayList<>();
+        List<String> expenseFingerprints = new ArrayList<>();
+        List<TransactionDTO> incomeRows = new ArrayList<>();
+        List<IncomeDTO> incomes = new ArrayList<>();
+        List<String> incomeFingerprints = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            TransactionDTO t = transactions.get(i);
+            String fingerprint = fingerprints != null ? fingerprints.get(i) : null;
+            if (fingerprint != null && existing.contains(fingerprint)) {
+                duplicates.add(t);
+            } else if ("INCOME".equals(t.getType())) {
+                incomeRows.add(t);
+                incomes.add(new IncomeDTO(null, t.getAmount(), t.getDescription(), "Imported from PDF", t.getDate()));
+                incomeFingerprints.add(fingerprint);
             } else {
-                expenseRepo.save(Expense.builder()
-                        .amount(t.getAmount())
-                        .category("Imported")
-                        .description(t.getDescription())
-                        .date(t.getDate())
-                        .build());
+                expenseRows.add(t);
+                expenses.add(new ExpenseDTO(null, t.getAmount(), "Imported", t.getDescription(), t.getDate()));
+                expenseFingerprints.add(fingerprint);
             }
         }
+        // A concurrent import may have stored some of these fingerprints since they were looked
+        // up; the repository skips those rows (null in its result) and they are reported too
+        List<ExpenseDTO> savedExpenses = saved(ledgerBatchRepo.insertExpenses(expenses, expenseFingerprints),
+                expenseRows, expenseFingerprints, duplicates);
+        List<IncomeDTO> savedIncomes = saved(ledgerBatchRepo.insertIncomes(incomes, incomeFingerprints),
+                incomeRows, incomeFingerprints, duplicates);
+        events.publishEvent(LedgerChangeEvent.builder()
+                .expensesAdded(savedExpenses)
+                .incomesAdded(savedIncomes)
+                .build());
+        return duplicates;
+    }
+
+    // The inserted rows; skipped ones go to duplicates, inserted fingerprints to the filter
+    private <T> List<T> saved(List<T> inserted, List<TransactionDTO> rows, List<String> fingerprints,
+                              List<TransactionDTO> duplicates) {
+        List<T> saved = new ArrayList<>(inserted.size());
+        List<String> stored = new ArrayList<>(inserted.size());
+        for (int i = 0; i < inserted.size(); i++) {
+            if (inserted.get(i) == null) {
+                duplicates.add(rows.get(i));
+            } else {
+                saved.add(inserted.get(i));
+                if (fingerprints.get(i) != null) {
+                    stored.add(fingerprints.get(i));
+                }
+            }
+        }
+        duplicateFilter.remember(stored);
+        return saved;
+    }
+
+    // includeBalance adds each row's running balance over the whole history (not just the range).
+    // The page, its balance seed and the count read one snapshot, so a write committed
+    // in between cannot shift the balances.
+    @Transactional(readOnly = true)
+    public Page<TransactionViewDTO> listTransactions(LocalDate start, LocalDate end, Pageable pageable,
+                                                     boolean includeBalance) {
+        // Date filter, merge, ordering and LIMIT/OFFSET all run in MySQL
+        List<TransactionViewDTO> pageContent = ledgerQueryRepo.findTransactionViews(
+                start, end, pageable.getOffset(), pageable.getPageSize(), includeBalance);
+
+        long total = ledgerQueryRepo.countTransactions(start, end);
+
+        return new PageImpl<>(pageContent, pageable, total);
+    }
+
+    // Keyset pagination over the unified ledger; deep pages cost the same as the first one.
+    // Read-only transaction for the same reason as listTransactions.
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TransactionViewDTO> scrollTransactions(LocalDate start, LocalDate end, String cursor, int size,
+                                                                boolean includeBalance) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        TransactionCursor position = TransactionCursor.parse(cursor, null);
+        List<TransactionViewDTO> rows = ledgerQueryRepo.findTransactionViewsAfter(start, end, position, size + 1, includeBalance);
+        return CursorPageDTO.of(rows, size, t -> new TransactionCursor(t.getDate(), t.getId(), t.getType()));
     }
 
-    public Page<TransactionViewDTO> listTransactions(LocalDate start, LocalDate end, Pageable pageable) {
-        // Get expenses
-        List<TransactionViewDTO> expenses = expenseRepo.findAll().stream()
-                .filter(e -> (start == null || !e.getDate().isBefore(start)) &&
-                        (end == null || !e.getDate().isAfter(end)))
-                .map(e -> new TransactionViewDTO(e.getDate(), e.getDescription(), e.getAmount(), "EXPENSE"))
-                .collect(Collectors.toList());
-
-        // Get incomes
-        List<TransactionViewDTO> incomes = incomeRepo.findAll().stream()
-                .filter(i -> (start == null || !i.getDate().isBefore(start)) &&
-                        (end == null || !i.getDate().isAfter(end)))
-                .map(i -> new TransactionViewDTO(i.getDate(), i.getSource(), i.getAmount(), "INCOME"))
-                .collect(Collectors.toList());
-
-        // Combine
-        List<TransactionViewDTO> all = new ArrayList<>();
-        all.addAll(expenses);
-        all.addAll(incomes);
-
-        // Sort by date (newest first)
-        all.sort(Comparator.comparing(TransactionViewDTO::getDate).reversed());
-
-        // Manual pagination
-        int startIdx = (int) pageable.getOffset();
-        int endIdx = Math.min((startIdx + pageable.getPageSize()), all.size());
-        List<TransactionViewDTO> pageContent = all.subList(startIdx, endIdx);
-
-        return new PageImpl<>(pageContent, pageable, all.size());
+    // Walks the unified ledger in list order without materializing it. Each ledger is
+    // read through its own cursor and the two streams are merged lazily, stopping
+    // once `limit` rows have been handed to the action.
+    @Transactional(readOnly = true)
+    public long forEachTransaction(LocalDate start, LocalDate end, long limit, Consumer<TransactionViewDTO> action) {
+        try (Stream<TransactionViewDTO> expenses = expenseRepo.streamViewsByDateRange(start, end);
+             Stream<TransactionViewDTO> incomes = incomeRepo.streamViewsByDateRange(start, end)) {
+            Iterator<TransactionViewDTO> merged = new TransactionMergeIterator(
+                    List.of(expenses.iterator(), incomes.iterator()));
+            long count = 0;
+            while (count < limit && merged.hasNext()) {
+                action.accept(merged.next());
+                count++;
+            }
+            return count;
+        }
     }
 
+    // The summary backend does the aggregation; this only folds the grouped rows into the DTO.
+    // Both ledgers are read in parallel, and the totals are the sums of their groups.
     public TransactionSummaryDTO getSummary(LocalDate start, LocalDate end) {
-        // ---- Income ----
-        List<com.my_finance_manager_backend.model.Income> incomes = incomeRepo.findAll().stream()
-                .filter(i -> (start == null || !i.getDate().isBefore(start)) &&
-                        (end == null || !i.getDate().isAfter(end)))
-                .collect(Collectors.toList());
-
-        BigDecimal totalIncome = incomes.stream()
-                .map(i -> i.getAmount())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Map<String, BigDecimal> incomeBySource = incomes.stream()
-                .collect(Collectors.groupingBy(
-                        i -> i.getSource(),
-                        Collectors.reducing(BigDecimal.ZERO, i -> i.getAmount(), BigDecimal::add)
-                ));
-
-        // ---- Expense ----
-        List<com.my_finance_manager_backend.model.Expense> expenses = expenseRepo.findAll().stream()
-                .filter(e -> (start == null || !e.getDate().isBefore(start)) &&
-                        (end == null || !e.getDate().isAfter(end)))
-                .collect(Collectors.toList());
-
-        BigDecimal totalExpense = expenses.stream()
-                .map(e -> e.getAmount())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Map<String, BigDecimal> expenseByCategory = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getCategory(),
-                        Collectors.reducing(BigDecimal.ZERO, e -> e.getAmount(), BigDecimal::add)
-                ));
-
-        BigDecimal netBalance = totalIncome.subtract(totalExpense);
+        return summaryCache.get(SummaryCache.TRANSACTION_SUMMARY, start, end, () -> buildSummary(start, end));
+    }
+
+    private TransactionSummaryDTO buildSummary(LocalDate start, LocalDate end) {
+        // Folded in minor units; BigDecimal only appears in the DTO
+        MinorUnitTotals incomes = new MinorUnitTotals();
+        MinorUnitTotals expenses = new MinorUnitTotals();
+        List<List<LedgerGroupTotalDTO>> sides = queryFanOut.invokeAll("transactionSummary", List.of(
+                new QueryFanOut.Branch<>("expensesByCategory", () -> summaryBackend.sumExpensesByCategory(start, end)),
+                new QueryFanOut.Branch<>("incomesBySource", () -> summaryBackend.sumIncomesBySource(start, end))));
+        for (LedgerGroupTotalDTO group : sides.get(0)) {
+            expenses.add(group.getGroupKey(), group.getTotal());
+        }
+        for (LedgerGroupTotalDTO group : sides.get(1)) {
+            incomes.add(group.getGroupKey(), group.getTotal());
+        }
 
         return TransactionSummaryDTO.builder()
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
-                .netBalance(netBalance)
-                .incomeBySource(incomeBySource)
-                .expenseByCategory(expenseByCategory)
+                .totalIncome(MinorUnits.toBigDecimal(incomes.total()))
+                .totalExpense(MinorUnits.toBigDecimal(expenses.total()))
+                .netBalance(MinorUnits.toBigDecimal(Math.subtractExact(incomes.total(), expenses.total())))
+                .incomeBySource(incomes.toBigDecimalMap())
+                .expenseByCategory(expenses.toBigDecimalMap())
                 .build();
     }
     
-    // Helper methods for PDF processing with Gemini AI
+    // Helper methods for image processing with Gemini AI
     private String callGeminiAPIForTransactions(MultipartFile file) throws Exception {
         try {
             // Use Gemini AI to extract information from the file
@@ -212,19 +335,17 @@ public class TransactionHistoryService {
         List<TransactionDTO> transactions = new ArrayList<>();
         
         try {
-            // Split text into lines for processing
-            String[] lines = text.split("\\n");
-            
-            for (String line : lines) {
+            // Walk the lines without splitting the text into an array
+            text.lines().forEach(line -> {
                 line = line.trim();
-                if (line.length() < 10) continue; // Skip very short lines
+                if (line.length() < 10) return; // Skip very short lines
                 
                 // Try to extract transaction from this line
                 TransactionDTO transaction = extractTransactionFromLine(line);
                 if (transaction != null) {
                     transactions.add(transaction);
                 }
-            }
+            });
             
             System.out.println("Extracted " + transactions.size() + " transactions from PDF text");
             
@@ -427,21 +548,49 @@ public class TransactionHistoryService {
             return new ArrayList<>();
         }
     }
+
+    // Same patterns as above, applied to each line as PDFBox produces it page by page,
+    // so only one page of text is held at a time however long the statement is.
+    // Basic matches are only kept until the first statement pattern matches.
+    private List<TransactionDTO> extractTransactionsFromPdfPages(MultipartFile file) {
+        List<TransactionDTO> transactions = new ArrayList<>();
+        List<TransactionDTO> basicTransactions = new ArrayList<>();
+        int[] lines = new int[1];
+        try (InputStream in = file.getInputStream()) {
+            PdfText.forEachLine(in, line -> {
+                lines[0]++;
+                collectPatternMatches(line, transactions);
+                if (transactions.isEmpty()) {
+                    collectBasicPatternMatches(line, basicTransactions);
+                } else {
+                    basicTransactions.clear();
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Fallback extraction failed: " + e.getMessage());
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+        
+        System.out.println("Read " + lines[0] + " lines from PDF, " + transactions.size() + " transactions matched");
+        if (transactions.isEmpty()) {
+            System.err.println("No transactions found using pattern matching");
+            System.out.println("Basic pattern extraction found " + basicTransactions.size() + " transactions");
+            return basicTransactions;
+        }
+        return transactions;
+    }
     
     private List<TransactionDTO> extractBasicTransactionPatterns(String text) {
         List<TransactionDTO> transactions = new ArrayList<>();
-        
-        try {
-            // Look for basic patterns like dates followed by amounts
-            // Pattern: Date (various formats) followed by description and amount
-            Pattern basicPattern = Pattern.compile(
-                    "(\\d{1,2}/\\d{1,2}/\\d{2,4}|\\d{4}-\\d{2}-\\d{2})\\s+" +    // Date
-                            "(.+?)\\s+" +                                                // Description (non-greedy)
-                            "([+-]?\\d+(?:[.,]\\d{1,2})?)"                               // Amount
-            );
-
+        collectBasicPatternMatches(text, transactions);
+        System.out.println("Basic pattern extraction found " + transactions.size() + " transactions");
+        return transactions;
+    }
 
-            Matcher matcher = basicPattern.matcher(text);
+    private void collectBasicPatternMatches(String text, List<TransactionDTO> transactions) {
+        try {
+            Matcher matcher = BASIC_TRANSACTION_PATTERN.matcher(text);
             while (matcher.find()) {
                 try {
                     String dateStr = matcher.group(1);
@@ -470,32 +619,19 @@ public class TransactionHistoryService {
                     System.err.println("Failed to parse basic pattern match: " + e.getMessage());
                 }
             }
-            
-            System.out.println("Basic pattern extraction found " + transactions.size() + " transactions");
-            
         } catch (Exception e) {
             System.err.println("Basic pattern extraction failed: " + e.getMessage());
         }
-        
-        return transactions;
     }
     
     private List<TransactionDTO> extractTransactionsUsingPatterns(String text) {
         List<TransactionDTO> transactions = new ArrayList<>();
-        
-        // Multiple regex patterns for different statement formats
-        List<Pattern> patterns = Arrays.asList(
-                Pattern.compile("(\\d{4}-\\d{2}-\\d{2})\\s+(.+?)\\s+([+-]?\\d+\\.\\d{2})"),  // YYYY-MM-DD Description Amount
-
-                Pattern.compile("(\\d{1,2}/\\d{1,2}/\\d{4})\\s+(.+?)\\s+([+-]?\\d+\\.\\d{2})"),  // MM/DD/YYYY Description Amount
-
-                Pattern.compile("(\\d{1,2}-\\d{1,2}-\\d{4})\\s+(.+?)\\s+([+-]?\\d+\\.\\d{2})"),  // DD-MM-YYYY Description Amount
-
-                Pattern.compile("(.+?)\\s+([+-]?\\d+\\.\\d{2})\\s+(\\d{1,2}/\\d{1,2}/\\d{4})")   // Description Amount Date
+        collectPatternMatches(text, transactions);
+        return transactions;
+    }
 
-        );
-        
-        for (Pattern pattern : patterns) {
+    private void collectPatternMatches(String text, List<TransactionDTO> transactions) {
+        for (Pattern pattern : STATEMENT_PATTERNS) {
             Matcher matcher = pattern.matcher(text);
             while (matcher.find()) {
                 try {
@@ -514,8 +650,6 @@ public class TransactionHistoryService {
                 }
             }
         }
-        
-        return transactions;
     }
     
     private LocalDate parseDate(String dateStr) {
@@ -542,6 +676,7 @@ public class TransactionHistoryService {
         return null;
     }
 
+    @Transactional
     public TransactionDTO saveTransaction(TransactionDTO transactionDTO) {
         if ("INCOME".equalsIgnoreCase(transactionDTO.getType())) {
             Income income = Income.builder()
@@ -551,6 +686,7 @@ public class TransactionHistoryService {
                     .date(transactionDTO.getDate())
                     .build();
             Income savedIncome = incomeRepo.save(income);
+            events.publishEvent(LedgerChangeEvent.builder().incomeAdded(IncomeDTO.from(savedIncome)).build());
             return new TransactionDTO(savedIncome.getDate(), savedIncome.getSource(), savedIncome.getAmount(), "INCOME", null);
         } else {
             Expense expense = Expense.builder()
@@ -560,6 +696,7 @@ public class TransactionHistoryService {
                     .date(transactionDTO.getDate())
                     .build();
             Expense savedExpense = expenseRepo.save(expense);
+            events.publishEvent(LedgerChangeEvent.builder().expenseAdded(ExpenseDTO.from(savedExpense)).build());
             return new TransactionDTO(savedExpense.getDate(), savedExpense.getDescription(), savedExpense.getAmount(), "EXPENSE", savedExpense.getCategory());
         }
     }
@@ -0,0 +1,62 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.TransactionViewDTO;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Lazily merges ledger streams that are each already in list order
+ * (date desc, type, id desc). Holds exactly one lookahead row per source.
+ */
+public class TransactionMergeIterator implements Iterator<TransactionViewDTO> {
+
+    // Same order as the unified list query in LedgerQueryRepository
+    public static final Comparator<TransactionViewDTO> LEDGER_ORDER =
+            Comparator.comparing(TransactionViewDTO::getDate, Comparator.reverseOrder())
+                    .thenComparing(TransactionViewDTO::getType)
+                    .thenComparing(TransactionViewDTO::getId, Comparator.reverseOrder());
+
+    private final PriorityQueue<Head> heads;
+
+    public TransactionMergeIterator(List<Iterator<TransactionViewDTO>> sources) {
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> LEDGER_ORDER.compare(a.row, b.row));
+        for (Iterator<TransactionViewDTO> source : sources) {
+            advance(source);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public TransactionViewDTO next() {
+        Head head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        advance(head.source);
+        return head.row;
+    }
+
+    private void advance(Iterator<TransactionViewDTO> source) {
+        if (source.hasNext()) {
+            heads.add(new Head(source.next(), source));
+        }
+    }
+
+    private static final class Head {
+        private final TransactionViewDTO row;
+        private final Iterator<TransactionViewDTO> source;
+
+        private Head(TransactionViewDTO row, Iterator<TransactionViewDTO> source) {
+            this.row = row;
+            this.source = source;
+        }
+    }
+}
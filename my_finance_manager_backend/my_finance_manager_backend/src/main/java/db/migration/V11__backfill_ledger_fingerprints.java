@@ -0,0 +1,56 @@
+package db.migration;
+
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.service.DuplicateTransactionFilter;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Fingerprints the statement rows imported before V9 added the column, so that an
+ * overlapping statement uploaded now skips them too. Imported rows are recognized by
+ * what the import stores for them: category "Imported" for expenses, description
+ * "Imported from PDF" for incomes. Identical rows are numbered in id order, as they
+ * would be within one statement. A fingerprint that a later import already holds is
+ * left off that row (UPDATE IGNORE); the later row is the one duplicates are matched to.
+ */
+public class V11__backfill_ledger_fingerprints extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        backfill(jdbc, "EXPENSE", "SELECT id, expense_date AS txn_date, amount, description FROM expenses"
+                        + " WHERE category = 'Imported' AND fingerprint IS NULL ORDER BY id",
+                "UPDATE IGNORE expenses SET fingerprint = ? WHERE id = ?");
+        backfill(jdbc, "INCOME", "SELECT id, income_date AS txn_date, amount, source AS description FROM incomes"
+                        + " WHERE description = 'Imported from PDF' AND fingerprint IS NULL ORDER BY id",
+                "UPDATE IGNORE incomes SET fingerprint = ? WHERE id = ?");
+    }
+
+    private static void backfill(JdbcTemplate jdbc, String type, String select, String update) {
+        List<Long> ids = new ArrayList<>();
+        List<TransactionDTO> rows = new ArrayList<>();
+        jdbc.query(select, rs -> {
+            ids.add(rs.getLong("id"));
+            rows.add(TransactionDTO.builder()
+                    .date(rs.getObject("txn_date", LocalDate.class))
+                    .amount(rs.getBigDecimal("amount"))
+                    .description(rs.getString("description"))
+                    .type(type)
+                    .build());
+        });
+        List<String> fingerprints = DuplicateTransactionFilter.fingerprints(rows);
+        List<Object[]> batch = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            batch.add(new Object[]{fingerprints.get(i), ids.get(i)});
+        }
+        jdbc.batchUpdate(update, batch);
+        System.out.println("Fingerprinted " + ids.size() + " previously imported " + type.toLowerCase(Locale.ROOT) + " rows");
+    }
+}
@@ -0,0 +1,13 @@
+-- Results of AI extraction per uploaded file (SHA-256 of its bytes, hex) and kind of
+-- extraction: STATEMENT (transactions from /api/transactions/extract) or DOCUMENT (receipt
+-- and bill fields). A repeated upload is answered from here instead of Gemini; rows older
+-- than extraction.cache.retention are ignored and purged by ExtractionCache.
+
+CREATE TABLE extraction_results (
+    content_sha256 CHAR(64)    NOT NULL,
+    kind           VARCHAR(10) NOT NULL,
+    result         MEDIUMTEXT  NOT NULL,
+    created_at     DATETIME    NOT NULL,
+    PRIMARY KEY (content_sha256, kind),
+    KEY idx_extraction_results_created (created_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,47 @@
+-- Baseline schema, matching what Hibernate used to generate from the entities.
+-- IF NOT EXISTS lets this run against databases that were created by ddl-auto=update.
+
+CREATE TABLE IF NOT EXISTS expenses (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    amount       DECIMAL(19, 2) NOT NULL,
+    category     VARCHAR(50)    NOT NULL,
+    description  VARCHAR(255),
+    expense_date DATE           NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS incomes (
+    id          BIGINT         NOT NULL AUTO_INCREMENT,
+    amount      DECIMAL(19, 2) NOT NULL,
+    source      VARCHAR(50)    NOT NULL,
+    description VARCHAR(255),
+    income_date DATE           NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS receipts (
+    id               BIGINT  NOT NULL AUTO_INCREMENT,
+    file_name        VARCHAR(255),
+    file_type        VARCHAR(255),
+    file_size        BIGINT,
+    uploaded_at      DATETIME(6),
+    processed        BIT     NOT NULL,
+    extracted_text   VARCHAR(255),
+    merchant_name    VARCHAR(255),
+    amount           FLOAT(53),
+    currency         VARCHAR(255),
+    transaction_date VARCHAR(255),
+    category         VARCHAR(255),
+    description      VARCHAR(255),
+    ai_confidence    VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    email    VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
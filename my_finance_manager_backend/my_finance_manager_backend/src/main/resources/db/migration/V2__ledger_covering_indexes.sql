@@ -0,0 +1,9 @@
+-- Covering indexes for the ledger read paths.
+-- Date indexes serve range filters, list ordering and keyset seeks on (date, id);
+-- amount and category/source are included so summaries never touch the base rows.
+
+CREATE INDEX idx_expenses_date_cover ON expenses (expense_date, id, amount, category);
+CREATE INDEX idx_expenses_category_cover ON expenses (category, amount);
+
+CREATE INDEX idx_incomes_date_cover ON incomes (income_date, id, amount, source);
+CREATE INDEX idx_incomes_source_cover ON incomes (source, amount);
@@ -0,0 +1,25 @@
+-- Per-day totals for each expense category and income source.
+-- Kept in step with the ledgers by LedgerRollupService in the same transaction
+-- as every write; summaries read these instead of scanning the ledgers.
+
+CREATE TABLE daily_expense_rollup (
+    rollup_date DATE           NOT NULL,
+    category    VARCHAR(50)    NOT NULL,
+    total       DECIMAL(19, 2) NOT NULL,
+    txn_count   BIGINT         NOT NULL,
+    PRIMARY KEY (rollup_date, category)
+) ENGINE = InnoDB;
+
+CREATE TABLE daily_income_rollup (
+    rollup_date DATE           NOT NULL,
+    source      VARCHAR(50)    NOT NULL,
+    total       DECIMAL(19, 2) NOT NULL,
+    txn_count   BIGINT         NOT NULL,
+    PRIMARY KEY (rollup_date, source)
+) ENGINE = InnoDB;
+
+INSERT INTO daily_expense_rollup (rollup_date, category, total, txn_count)
+SELECT expense_date, category, SUM(amount), COUNT(*) FROM expenses GROUP BY expense_date, category;
+
+INSERT INTO daily_income_rollup (rollup_date, source, total, txn_count)
+SELECT income_date, source, SUM(amount), COUNT(*) FROM incomes GROUP BY income_date, source;
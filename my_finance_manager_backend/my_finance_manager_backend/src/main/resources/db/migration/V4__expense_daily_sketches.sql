@@ -0,0 +1,11 @@
+-- Mergeable sketches of each day's expenses per category:
+-- a t-digest of amounts (quantiles) and a HyperLogLog of normalized descriptions (distinct merchants).
+-- Maintained by ExpenseSketchService; any date range is answered by merging its rows.
+
+CREATE TABLE expense_daily_sketches (
+    sketch_date DATE        NOT NULL,
+    category    VARCHAR(50) NOT NULL,
+    amounts     BLOB,
+    merchants   BLOB,
+    PRIMARY KEY (sketch_date, category)
+) ENGINE = InnoDB;
@@ -0,0 +1,11 @@
+-- Spending limit per expense category and budget period (WEEKLY, MONTHLY or YEARLY).
+-- Spend against each budget is tracked in memory by BudgetSpendTracker.
+
+CREATE TABLE budgets (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    category     VARCHAR(50)    NOT NULL,
+    period       VARCHAR(10)    NOT NULL,
+    limit_amount DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_budgets_category_period UNIQUE (category, period)
+) ENGINE = InnoDB;
@@ -0,0 +1,5 @@
+-- Covering index for spend per description (/api/expenses/top?by=description).
+-- GROUP BY description reads it in order instead of building a temporary table
+-- with one row per distinct description.
+
+CREATE INDEX idx_expenses_description_cover ON expenses (description, amount);
@@ -0,0 +1,20 @@
+-- Incremental state of the recurring-transaction detector, one row per ledger and merchant key
+-- (normalized description). Maintained by RecurringTransactionService in the same transaction
+-- as every ledger write; `recent` holds the latest occurrences as date:minor-units pairs and
+-- the remaining columns are derived from it (cadence is NULL while nothing recurs).
+
+CREATE TABLE recurring_patterns (
+    txn_type      VARCHAR(10)    NOT NULL,
+    merchant_key  VARCHAR(255)   NOT NULL,
+    description   VARCHAR(255),
+    occurrences   BIGINT         NOT NULL,
+    recent        VARCHAR(512)   NOT NULL,
+    last_date     DATE,
+    cadence       VARCHAR(10),
+    interval_days INT,
+    streak        INT,
+    amount_low    DECIMAL(19, 2),
+    amount_high   DECIMAL(19, 2),
+    PRIMARY KEY (txn_type, merchant_key),
+    KEY idx_recurring_patterns_cadence (cadence, last_date)
+) ENGINE = InnoDB;
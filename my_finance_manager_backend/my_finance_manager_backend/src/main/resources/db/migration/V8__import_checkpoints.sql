@@ -0,0 +1,15 @@
+-- Progress of chunked statement imports, one row per import (SHA-256 of its key, hex).
+-- StatementImportService advances committed_rows in the same transaction as each chunk,
+-- so a retried import resumes after the last committed chunk. content_sha256 identifies
+-- the rows being imported; a retry with different rows is rejected.
+
+CREATE TABLE import_checkpoints (
+    import_key     CHAR(64)       NOT NULL,
+    content_sha256 CHAR(64)       NOT NULL,
+    total_rows     INT            NOT NULL,
+    committed_rows INT            NOT NULL,
+    created_at     DATETIME       NOT NULL,
+    updated_at     DATETIME       NOT NULL,
+    completed_at   DATETIME,
+    PRIMARY KEY (import_key)
+) ENGINE = InnoDB;
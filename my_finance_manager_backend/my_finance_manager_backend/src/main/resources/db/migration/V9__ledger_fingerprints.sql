@@ -0,0 +1,12 @@
+-- Fingerprint of imported statement rows (SHA-256 hex of date, amount, normalized description,
+-- type and occurrence number within the statement). Importing an overlapping statement skips
+-- rows whose fingerprint already exists. Rows entered by hand have none (NULL), so two
+-- identical manual entries remain possible.
+
+ALTER TABLE expenses
+    ADD COLUMN fingerprint CHAR(64) NULL,
+    ADD CONSTRAINT uk_expenses_fingerprint UNIQUE (fingerprint);
+
+ALTER TABLE incomes
+    ADD COLUMN fingerprint CHAR(64) NULL,
+    ADD CONSTRAINT uk_incomes_fingerprint UNIQUE (fingerprint);
@@ -0,0 +1,127 @@
+package com.my_finance_manager_backend.benchmark;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.model.Expense;
+import com.my_finance_manager_backend.model.Income;
+import com.my_finance_manager_backend.repository.ExpenseRepository;
+import com.my_finance_manager_backend.repository.IncomeRepository;
+import com.my_finance_manager_backend.service.TransactionHistoryService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement import throughput (rows/sec): one entity save per row, as imports used to run,
+ * against the JDBC-batched path of {@link TransactionHistoryService#saveTransactions}.
+ * Both publish the same ledger change event, so rollups and detectors do the same work.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ImportThroughputBenchmark {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUrlParam("rewriteBatchedStatements", "true");
+
+    @Autowired
+    private TransactionHistoryService transactionHistoryService;
+
+    @Autowired
+    private ExpenseRepository expenseRepo;
+
+    @Autowired
+    private IncomeRepository incomeRepo;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000})
+    void testBatchedImportOutpacesPerRowSaves(int rows) {
+        List<TransactionDTO> statement = statement(rows);
+        // Warm up both paths on a small import first
+        perRowImport(statement(1_000));
+        transactionHistoryService.saveTransactions(statement(1_000));
+
+        double perRow = rowsPerSecond(rows, () -> perRowImport(statement));
+        double batched = rowsPerSecond(rows, () -> transactionHistoryService.saveTransactions(statement));
+
+        System.out.printf("%,d rows: per-row saves %,.0f rows/s, JDBC batches %,.0f rows/s (%.1fx)%n",
+                rows, perRow, batched, batched / perRow);
+        assertEquals(2L * (rows + 1_000), jdbc.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM expenses) + (SELECT COUNT(*) FROM incomes)", Long.class));
+        assertTrue(batched > perRow, "Expected batched imports to be faster");
+
+        jdbc.update("DELETE FROM expenses");
+        jdbc.update("DELETE FROM incomes");
+    }
+
+    // The import as it was before batching: one repository save (one INSERT round trip) per row
+    private void perRowImport(List<TransactionDTO> transactions) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LedgerChangeEvent.LedgerChangeEventBuilder change = LedgerChangeEvent.builder();
+            for (TransactionDTO t : transactions) {
+                if ("INCOME".equals(t.getType())) {
+                    change.incomeAdded(IncomeDTO.from(incomeRepo.save(Income.builder().amount(t.getAmount())
+                            .source(t.getDescription()).description("Imported from PDF").date(t.getDate()).build())));
+                } else {
+                    change.expenseAdded(ExpenseDTO.from(expenseRepo.save(Expense.builder().amount(t.getAmount())
+                            .category("Imported").description(t.getDescription()).date(t.getDate()).build())));
+                }
+            }
+            events.publishEvent(change.build());
+        });
+    }
+
+    private static double rowsPerSecond(int rows, Runnable importer) {
+        long started = System.nanoTime();
+        importer.run();
+        return rows / ((System.nanoTime() - started) / 1e9);
+    }
+
+    // 70% expenses, 30% incomes, spread over two years of 40 merchants
+    private static List<TransactionDTO> statement(int rows) {
+        LocalDate first = LocalDate.of(2024, 1, 1);
+        List<TransactionDTO> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            transactions.add(TransactionDTO.builder()
+                    .date(first.plusDays(i % 730))
+                    .description("Merchant " + (i % 40) + " #" + i)
+                    .amount(BigDecimal.valueOf(100 + i % 90_000, 2))
+                    .type(i % 10 < 7 ? "EXPENSE" : "INCOME")
+                    .category("Imported")
+                    .build());
+        }
+        return transactions;
+    }
+}
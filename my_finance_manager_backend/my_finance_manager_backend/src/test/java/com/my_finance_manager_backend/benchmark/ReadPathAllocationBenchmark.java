@@ -0,0 +1,132 @@
+package com.my_finance_manager_backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my_finance_manager_backend.repository.ExpenseRepository;
+import com.my_finance_manager_backend.service.ExpenseService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares heap allocation and GC activity per request for the expense list endpoint:
+ * managed entities inside a session (what open-in-view gave the old controller)
+ * against the read-only DTO projection. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadPathAllocationBenchmark {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final int ROWS = 20_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ExpenseRepository expenseRepo;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seedExpenses() {
+        LocalDate first = LocalDate.of(2023, 1, 1);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{BigDecimal.valueOf(i % 5000, 2), "Category " + (i % 12),
+                    "Expense description " + i, Date.valueOf(first.plusDays(i % 1000))});
+        }
+        jdbc.batchUpdate("INSERT INTO expenses (amount, category, description, expense_date) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void testDtoProjectionAllocatesLessThanManagedEntities() {
+        Sample entities = measure(() -> transactionTemplate.execute(status -> serialize(expenseRepo.findAll())));
+        Sample views = measure(() -> serialize(expenseService.findAll()));
+
+        System.out.println("Managed entities : " + entities);
+        System.out.println("DTO projection   : " + views);
+
+        assertTrue(views.bytesPerRequest < entities.bytesPerRequest,
+                "Expected the projection to allocate less per request: " + views + " vs " + entities);
+    }
+
+    private String serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Sample measure(Supplier<String> request) {
+        for (int i = 0; i < WARMUP; i++) {
+            request.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long[] gcBefore = gcTotals();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long[] gcAfter = gcTotals();
+        return new Sample(allocated / ITERATIONS, gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1],
+                elapsed / ITERATIONS / 1_000_000.0);
+    }
+
+    // Collection count and accumulated collection time (ms) over all collectors
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    private record Sample(long bytesPerRequest, long gcCount, long gcMillis, double millisPerRequest) {
+        @Override
+        public String toString() {
+            return String.format("%,d bytes/request, %d GCs (%d ms) over %d requests, %.1f ms/request",
+                    bytesPerRequest, gcCount, gcMillis, ITERATIONS, millisPerRequest);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.my_finance_manager_backend.benchmark;
+
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.service.MinorUnitTotals;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JMH comparison of per-category summary aggregation: the stream/BigDecimal reduction
+ * the services used to do against the long minor-unit accumulator. Run with
+ * {@code mvn test -Pbenchmark -Dtest=SummaryAggregationBenchmark}; the GC profiler
+ * reports allocation per operation.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryAggregationBenchmark {
+
+    private static final int CATEGORIES = 12;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private List<Row> ledger;
+    private String[] keys;
+    private long[] minorUnits;
+
+    private record Row(String category, BigDecimal amount) {
+    }
+
+    @Setup
+    public void seed() {
+        Random random = new Random(42);
+        ledger = new ArrayList<>(rows);
+        keys = new String[rows];
+        minorUnits = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            String category = "Category " + random.nextInt(CATEGORIES);
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(500_000), 2);
+            ledger.add(new Row(category, amount));
+            keys[i] = category;
+            minorUnits[i] = MinorUnits.of(amount);
+        }
+    }
+
+    // What getSummaryByCategory did before the totals moved out of Java
+    @Benchmark
+    public Map<String, BigDecimal> bigDecimalStream() {
+        return ledger.stream().collect(Collectors.groupingBy(Row::category,
+                Collectors.reducing(BigDecimal.ZERO, Row::amount, BigDecimal::add)));
+    }
+
+    // Amounts converted to minor units on the way in, as the JDBC row mappers do
+    @Benchmark
+    public Map<String, BigDecimal> minorUnitsFromBigDecimal() {
+        MinorUnitTotals totals = new MinorUnitTotals();
+        for (Row row : ledger) {
+            totals.add(row.category(), MinorUnits.of(row.amount()));
+        }
+        return totals.toBigDecimalMap();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> minorUnits() {
+        MinorUnitTotals totals = new MinorUnitTotals();
+        for (int i = 0; i < keys.length; i++) {
+            totals.add(keys[i], minorUnits[i]);
+        }
+        return totals.toBigDecimalMap();
+    }
+
+    @Test
+    void testMinorUnitsMatchBigDecimalToTheCent() {
+        rows = 10_000;
+        seed();
+        Map<String, BigDecimal> expected = bigDecimalStream();
+        assertEquals(expected, minorUnitsFromBigDecimal());
+        assertEquals(expected, minorUnits());
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SummaryAggregationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
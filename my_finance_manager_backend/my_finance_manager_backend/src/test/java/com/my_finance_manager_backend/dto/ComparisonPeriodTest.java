@@ -0,0 +1,38 @@
+package com.my_finance_manager_backend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparisonPeriodTest {
+
+    @Test
+    void testPeriodBounds() {
+        LocalDate anchor = LocalDate.of(2024, 2, 29);
+        assertEquals(LocalDate.of(2024, 2, 1), ComparisonPeriod.MONTH.start(anchor));
+        assertEquals(LocalDate.of(2024, 2, 29), ComparisonPeriod.MONTH.end(anchor));
+        assertEquals(LocalDate.of(2024, 1, 1), ComparisonPeriod.QUARTER.start(anchor));
+        assertEquals(LocalDate.of(2024, 3, 31), ComparisonPeriod.QUARTER.end(anchor));
+        assertEquals(LocalDate.of(2024, 12, 31), ComparisonPeriod.YEAR.end(anchor));
+    }
+
+    @Test
+    void testPreviousPeriodCrossesYearBoundary() {
+        assertEquals(LocalDate.of(2023, 12, 1), ComparisonPeriod.MONTH.previous(LocalDate.of(2024, 1, 1)));
+        assertEquals(LocalDate.of(2023, 10, 1), ComparisonPeriod.QUARTER.previous(LocalDate.of(2024, 1, 1)));
+        assertEquals(LocalDate.of(2023, 1, 1), ComparisonPeriod.YEAR.previous(LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    void testAnchorFormats() {
+        assertEquals(LocalDate.of(2026, 10, 1), ComparisonPeriod.parseAnchor("2026-10"));
+        assertEquals(LocalDate.of(2026, 10, 17), ComparisonPeriod.parseAnchor("2026-10-17"));
+        assertEquals(LocalDate.of(2026, 1, 1), ComparisonPeriod.parseAnchor("2026"));
+        assertEquals(LocalDate.of(2026, 10, 1), ComparisonPeriod.parseAnchor("2026-q4"));
+        assertThrows(IllegalArgumentException.class, () -> ComparisonPeriod.parseAnchor("2026-13"));
+        assertThrows(IllegalArgumentException.class, () -> ComparisonPeriod.parseAnchor("October"));
+        assertThrows(IllegalArgumentException.class, () -> ComparisonPeriod.parse("week"));
+    }
+}
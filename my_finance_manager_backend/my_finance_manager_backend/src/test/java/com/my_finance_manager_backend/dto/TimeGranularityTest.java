@@ -0,0 +1,41 @@
+package com.my_finance_manager_backend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeGranularityTest {
+
+    @Test
+    void testBucketStarts() {
+        LocalDate thursday = LocalDate.of(2024, 2, 29);
+        assertEquals(thursday, TimeGranularity.DAY.bucketStart(thursday));
+        assertEquals(LocalDate.of(2024, 2, 26), TimeGranularity.WEEK.bucketStart(thursday));
+        assertEquals(LocalDate.of(2024, 2, 1), TimeGranularity.MONTH.bucketStart(thursday));
+    }
+
+    @Test
+    void testBucketsBetweenCountsPartialBuckets() {
+        LocalDate start = LocalDate.of(2024, 1, 15);
+        LocalDate end = LocalDate.of(2024, 4, 10);
+        assertEquals(87, TimeGranularity.DAY.bucketsBetween(start, end));
+        assertEquals(13, TimeGranularity.WEEK.bucketsBetween(start, end));
+        assertEquals(4, TimeGranularity.MONTH.bucketsBetween(start, end));
+    }
+
+    @Test
+    void testDefaultWindows() {
+        LocalDate today = LocalDate.of(2026, 10, 17);
+        assertEquals(30, TimeGranularity.DAY.bucketsBetween(TimeGranularity.DAY.defaultStart(today), today));
+        assertEquals(12, TimeGranularity.WEEK.bucketsBetween(TimeGranularity.WEEK.defaultStart(today), today));
+        assertEquals(12, TimeGranularity.MONTH.bucketsBetween(TimeGranularity.MONTH.defaultStart(today), today));
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(TimeGranularity.WEEK, TimeGranularity.parse(" Week "));
+        assertThrows(IllegalArgumentException.class, () -> TimeGranularity.parse("year"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.my_finance_manager_backend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        TransactionCursor cursor = new TransactionCursor(LocalDate.of(2026, 10, 2), 42L, "INCOME");
+
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+
+        assertEquals(LocalDate.of(2026, 10, 2), decoded.getDate());
+        assertEquals(42L, decoded.getId());
+        assertEquals("INCOME", decoded.getType());
+    }
+
+    @Test
+    void testParseWithoutTokenStartsFromTheTop() {
+        TransactionCursor cursor = TransactionCursor.parse("", "EXPENSE");
+
+        assertEquals("EXPENSE", cursor.getType());
+        assertEquals(Long.MAX_VALUE, cursor.getId());
+        assertTrue(cursor.getDate().isAfter(LocalDate.now()));
+    }
+
+    @Test
+    void testParseRejectsCursorFromOtherLedger() {
+        String token = new TransactionCursor(LocalDate.of(2026, 1, 1), 1L, "INCOME").encode();
+
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.parse(token, "EXPENSE"));
+    }
+
+    @Test
+    void testDecodeRejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void testCursorPageUsesExtraRowOnlyToDetectNextPage() {
+        List<TransactionViewDTO> rows = List.of(
+                new TransactionViewDTO(3L, LocalDate.of(2026, 10, 3), "A", null, "EXPENSE"),
+                new TransactionViewDTO(2L, LocalDate.of(2026, 10, 2), "B", null, "EXPENSE"),
+                new TransactionViewDTO(1L, LocalDate.of(2026, 10, 1), "C", null, "EXPENSE"));
+
+        CursorPageDTO<TransactionViewDTO> page = CursorPageDTO.of(rows, 2,
+                t -> new TransactionCursor(t.getDate(), t.getId(), t.getType()));
+
+        assertEquals(2, page.getContent().size());
+        TransactionCursor next = TransactionCursor.decode(page.getNextCursor());
+        assertEquals(2L, next.getId());
+
+        CursorPageDTO<TransactionViewDTO> lastPage = CursorPageDTO.of(rows.subList(2, 3), 2,
+                t -> new TransactionCursor(t.getDate(), t.getId(), t.getType()));
+        assertNull(lastPage.getNextCursor());
+    }
+}
@@ -0,0 +1,122 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.service.DuplicateTransactionFilter;
+import db.migration.V11__backfill_ledger_fingerprints;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that a batch insert skips rows whose fingerprint another import stored in the
+ * meantime, and that V11 fingerprints statement rows imported before V9.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerBatchRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 2);
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LedgerBatchRepository batchRepo;
+
+    @Test
+    void testRowsWhoseFingerprintIsTakenAreSkipped() {
+        String taken = "b".repeat(64);
+        jdbc.update("INSERT INTO expenses (amount, category, description, expense_date, fingerprint)"
+                + " VALUES (5.00, 'Batch', 'Stored by another import', ?, ?)", DAY, taken);
+
+        List<ExpenseDTO> rows = new ArrayList<>();
+        List<String> fingerprints = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(new ExpenseDTO(null, new BigDecimal("1.00"), "Batch", "Row " + i, DAY));
+            fingerprints.add(i == 3 ? taken : i == 4 ? null : String.valueOf(i).repeat(64));
+        }
+        List<ExpenseDTO> saved = transactionTemplate.execute(status -> batchRepo.insertExpenses(rows, fingerprints));
+
+        assertEquals(5, saved.size());
+        assertNull(saved.get(3));
+        for (int i : new int[]{0, 1, 2, 4}) {
+            assertEquals("Row " + i, jdbc.queryForObject("SELECT description FROM expenses WHERE id = ?",
+                    String.class, saved.get(i).getId()));
+        }
+        assertEquals(5, jdbc.queryForObject("SELECT COUNT(*) FROM expenses WHERE category = 'Batch'", Integer.class));
+    }
+
+    @Test
+    void testV11FingerprintsRowsImportedBeforeV9() throws Exception {
+        TransactionDTO coffee = row("EXPENSE", "Coffee #12", "3.20");
+        TransactionDTO rent = row("EXPENSE", "Rent", "900.00");
+        TransactionDTO salary = row("INCOME", "ACME PAYROLL", "2500.00");
+        List<String> expected = DuplicateTransactionFilter.fingerprints(List.of(coffee, coffee, rent));
+        String salaryFingerprint = DuplicateTransactionFilter.fingerprints(List.of(salary)).get(0);
+
+        // Two identical imported coffees, an imported rent already re-imported with a fingerprint,
+        // an imported salary and a hand-entered coffee
+        long first = insertExpense("Imported", coffee, null);
+        long second = insertExpense("Imported", coffee, null);
+        long oldRent = insertExpense("Imported", rent, null);
+        insertExpense("Imported", rent, expected.get(2));
+        long manual = insertExpense("Food", coffee, null);
+        jdbc.update("INSERT INTO incomes (amount, source, description, income_date) VALUES (?, ?, 'Imported from PDF', ?)",
+                salary.getAmount(), salary.getDescription(), DAY);
+
+        try (Connection connection = dataSource.getConnection()) {
+            Context context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+            new V11__backfill_ledger_fingerprints().migrate(context);
+        }
+
+        assertEquals(expected.get(0), fingerprint(first));
+        assertEquals(expected.get(1), fingerprint(second));
+        assertNull(fingerprint(oldRent));
+        assertNull(fingerprint(manual));
+        assertEquals(salaryFingerprint, jdbc.queryForObject(
+                "SELECT fingerprint FROM incomes WHERE source = 'ACME PAYROLL'", String.class));
+    }
+
+    private long insertExpense(String category, TransactionDTO t, String fingerprint) {
+        jdbc.update("INSERT INTO expenses (amount, category, description, expense_date, fingerprint) VALUES (?, ?, ?, ?, ?)",
+                t.getAmount(), category, t.getDescription(), t.getDate(), fingerprint);
+        return jdbc.queryForObject("SELECT MAX(id) FROM expenses", Long.class);
+    }
+
+    private String fingerprint(long expenseId) {
+        return jdbc.queryForObject("SELECT fingerprint FROM expenses WHERE id = ?", String.class, expenseId);
+    }
+
+    private static TransactionDTO row(String type, String description, String amount) {
+        return TransactionDTO.builder().date(DAY).description(description).amount(new BigDecimal(amount)).type(type).build();
+    }
+}
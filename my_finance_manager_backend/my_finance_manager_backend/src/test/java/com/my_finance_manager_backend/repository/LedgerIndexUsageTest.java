@@ -0,0 +1,264 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.TransactionCursor;
+import com.my_finance_manager_backend.dto.TransactionViewDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls the ledger read methods on a migrated MySQL schema, records the SQL and
+ * parameters each one sends, and fails when EXPLAIN of any of those statements reads
+ * a base table with a full scan (access type ALL).
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LedgerIndexUsageTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final String[] CATEGORIES = {"Food", "Transport", "Shopping", "Utilities", "Travel"};
+    private static final String[] SOURCES = {"Salary", "Freelance", "Investments"};
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+    private static final LocalDate CURSOR_DATE = LocalDate.of(2024, 3, 15);
+
+    // Statements prepared on the current thread while a capture is running
+    private static final ThreadLocal<List<SentStatement>> RECORDING = new ThreadLocal<>();
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private LedgerQueryRepository ledgerQueryRepository;
+
+    @Autowired
+    private SpendRankingRepository spendRankingRepository;
+
+    @BeforeAll
+    void seedLedgers() {
+        // Enough rows over three years that the optimizer prefers an index for a one-month range
+        LocalDate first = LocalDate.of(2023, 1, 1);
+        List<Object[]> expenses = new ArrayList<>();
+        List<Object[]> incomes = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            LocalDate date = first.plusDays(i % 1095);
+            expenses.add(new Object[]{BigDecimal.valueOf(i % 500, 1), CATEGORIES[i % CATEGORIES.length], "Expense " + i, Date.valueOf(date)});
+            incomes.add(new Object[]{BigDecimal.valueOf(i % 900, 0), SOURCES[i % SOURCES.length], "Income " + i, Date.valueOf(date)});
+        }
+        jdbc.batchUpdate("INSERT INTO expenses (amount, category, description, expense_date) VALUES (?, ?, ?, ?)", expenses);
+        jdbc.batchUpdate("INSERT INTO incomes (amount, source, description, income_date) VALUES (?, ?, ?, ?)", incomes);
+        // Same backfill as V3; the rows above bypass LedgerRollupService
+        jdbc.update("INSERT INTO daily_expense_rollup (rollup_date, category, total, txn_count)"
+                + " SELECT expense_date, category, SUM(amount), COUNT(*) FROM expenses GROUP BY expense_date, category");
+        jdbc.update("INSERT INTO daily_income_rollup (rollup_date, source, total, txn_count)"
+                + " SELECT income_date, source, SUM(amount), COUNT(*) FROM incomes GROUP BY income_date, source");
+        jdbc.execute("ANALYZE TABLE expenses, incomes, daily_expense_rollup, daily_income_rollup");
+    }
+
+    @Test
+    void testExpenseFindViewsByDateBetweenUsesIndex() {
+        // Page query and its count query
+        assertNoFullScan(() -> expenseRepository.findViewsByDateBetween(START, END, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void testIncomeFindViewsByDateBetweenUsesIndex() {
+        assertNoFullScan(() -> incomeRepository.findViewsByDateBetween(START, END, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void testExpenseSummaryByCategoryForRangeUsesIndex() {
+        assertNoFullScan(() -> ledgerQueryRepository.sumExpensesByCategory(START, END));
+    }
+
+    @Test
+    void testIncomeSummaryBySourceForRangeUsesIndex() {
+        assertNoFullScan(() -> ledgerQueryRepository.sumIncomesBySource(START, END));
+    }
+
+    @Test
+    void testSummaryByGroupForRangeUsesIndex() {
+        assertNoFullScan(() -> ledgerQueryRepository.sumByGroup(START, END));
+    }
+
+    @Test
+    void testKeysetSeekUsesIndex() {
+        // With and without a date range, so both sides of the ":startDate IS NULL OR ..." predicates are covered
+        assertNoFullScan(() -> expenseRepository.findWindowAfter(CURSOR_DATE, 2500L, null, null, Limit.of(21)));
+        assertNoFullScan(() -> expenseRepository.findWindowAfter(CURSOR_DATE, 2500L, START, END, Limit.of(21)));
+        assertNoFullScan(() -> incomeRepository.findWindowAfter(CURSOR_DATE, 2500L, null, null, Limit.of(21)));
+        assertNoFullScan(() -> incomeRepository.findWindowAfter(CURSOR_DATE, 2500L, START, END, Limit.of(21)));
+    }
+
+    @Test
+    void testStreamedViewsForRangeUseIndex() {
+        // The stream holds a server-side cursor, so it is read inside a transaction
+        assertNoFullScan(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TransactionViewDTO> rows = expenseRepository.streamViewsByDateRange(START, END)) {
+                rows.forEach(row -> { });
+            }
+        }));
+    }
+
+    @Test
+    void testUnifiedPageUsesIndex() {
+        assertNoFullScan(() -> ledgerQueryRepository.findTransactionViews(START, END, 0, 20, false));
+    }
+
+    @Test
+    void testUnifiedKeysetPageWithBalanceUsesIndex() {
+        // Sends the page query and the netBalanceBefore seed query
+        TransactionCursor cursor = new TransactionCursor(CURSOR_DATE, 2500L, "EXPENSE");
+        assertNoFullScan(() -> ledgerQueryRepository.findTransactionViewsAfter(START, END, cursor, 21, true));
+    }
+
+    @Test
+    void testSpendByDescriptionUsesIndex() {
+        assertNoFullScan(() -> spendRankingRepository.topMerchants(START, END, 10));
+    }
+
+    // Runs the call and EXPLAINs every SELECT it sent, with the parameters it bound
+    private void assertNoFullScan(Runnable call) {
+        List<SentStatement> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            call.run();
+        } finally {
+            RECORDING.remove();
+        }
+
+        List<SentStatement> selects = statements.stream()
+                .filter(statement -> statement.sql().stripLeading().replace("(", "").regionMatches(true, 0, "select", 0, 6))
+                .toList();
+        assertFalse(selects.isEmpty(), "No SELECT was sent: " + statements);
+        for (SentStatement statement : selects) {
+            List<Map<String, Object>> plan = jdbc.queryForList("EXPLAIN " + statement.sql(), statement.params().values().toArray());
+            assertFalse(plan.isEmpty(), "EXPLAIN returned no rows for: " + statement.sql());
+            for (Map<String, Object> step : plan) {
+                String table = String.valueOf(step.get("table"));
+                if (table.startsWith("<")) {
+                    continue; // derived tables and union results are not base tables
+                }
+                assertNotEquals("ALL", step.get("type"),
+                        "Full table scan on " + table + " for: " + statement.sql() + " " + statement.params().values() + " -> " + plan);
+            }
+        }
+    }
+
+    // SQL text and bound parameters (by index) of one prepared statement
+    record SentStatement(String sql, Map<Integer, Object> params) {
+    }
+
+    @TestConfiguration
+    static class StatementRecorder {
+
+        // Wraps the application DataSource so Hibernate and JdbcTemplate statements are both seen
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private static Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        List<SentStatement> statements = RECORDING.get();
+                        if (statements != null && result instanceof PreparedStatement prepared
+                                && method.getName().equals("prepareStatement")) {
+                            SentStatement statement = new SentStatement((String) args[0], new TreeMap<>());
+                            statements.add(statement);
+                            return recording(prepared, statement);
+                        }
+                        return result;
+                    });
+        }
+
+        // setXxx(index, value, ...) calls are parameter bindings; setNull binds null
+        private static PreparedStatement recording(PreparedStatement prepared, SentStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2
+                                && method.getParameterTypes()[0] == int.class) {
+                            statement.params().put((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+                        }
+                        return invoke(prepared, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.TransactionCursor;
+import com.my_finance_manager_backend.dto.TransactionViewDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the running balance of unified ledger pages against a brute-force running
+ * sum over every row, for offset and keyset pages, with and without a date range.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LedgerQueryRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    // Newest first; within a date expenses before incomes, then id descending
+    private static final Comparator<TransactionViewDTO> LIST_ORDER = Comparator
+            .comparing(TransactionViewDTO::getDate).reversed()
+            .thenComparing(TransactionViewDTO::getType)
+            .thenComparing(TransactionViewDTO::getId, Comparator.reverseOrder());
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private LedgerQueryRepository ledgerQueryRepo;
+
+    @Autowired
+    private LedgerRollupRepository rollupRepo;
+
+    // Expected balance after each row, keyed by type and id
+    private final Map<String, BigDecimal> expectedBalance = new HashMap<>();
+
+    @BeforeAll
+    void seedLedgers() {
+        // Several rows of both types on most days, so same-day ordering matters
+        Random random = new Random(17);
+        List<Object[]> expenses = new ArrayList<>();
+        List<Object[]> incomes = new ArrayList<>();
+        for (LocalDate day = LocalDate.of(2023, 1, 1); day.isBefore(LocalDate.of(2024, 7, 1)); day = day.plusDays(1)) {
+            for (int i = random.nextInt(4); i > 0; i--) {
+                expenses.add(new Object[]{BigDecimal.valueOf(random.nextInt(20_000) + 1, 2), "Food", "Expense", Date.valueOf(day)});
+            }
+            for (int i = random.nextInt(2); i > 0; i--) {
+                incomes.add(new Object[]{BigDecimal.valueOf(random.nextInt(50_000) + 1, 2), "Salary", "Income", Date.valueOf(day)});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO expenses (amount, category, description, expense_date) VALUES (?, ?, ?, ?)", expenses);
+        jdbc.batchUpdate("INSERT INTO incomes (amount, source, description, income_date) VALUES (?, ?, ?, ?)", incomes);
+        rollupRepo.rebuild();
+
+        List<TransactionViewDTO> all = new ArrayList<>(jdbc.query(
+                "SELECT id, expense_date AS txn_date, amount FROM expenses", (rs, n) -> view(rs.getLong("id"),
+                        rs.getObject("txn_date", LocalDate.class), rs.getBigDecimal("amount"), "EXPENSE")));
+        all.addAll(jdbc.query("SELECT id, income_date AS txn_date, amount FROM incomes", (rs, n) -> view(rs.getLong("id"),
+                rs.getObject("txn_date", LocalDate.class), rs.getBigDecimal("amount"), "INCOME")));
+        all.sort(LIST_ORDER.reversed());
+        BigDecimal balance = BigDecimal.ZERO;
+        for (TransactionViewDTO row : all) {
+            balance = "INCOME".equals(row.getType()) ? balance.add(row.getAmount()) : balance.subtract(row.getAmount());
+            expectedBalance.put(row.getType() + row.getId(), balance);
+        }
+    }
+
+    @Test
+    void testOffsetPagesMatchTheBruteForceBalance() {
+        for (long offset : new long[]{0, 37, 500, expectedBalance.size() - 10}) {
+            List<TransactionViewDTO> page = ledgerQueryRepo.findTransactionViews(null, null, offset, 25, true);
+            assertFalse(page.isEmpty(), "offset " + offset);
+            assertBalances(page);
+        }
+        // A date range limits the rows, not the history the balance covers
+        assertBalances(ledgerQueryRepo.findTransactionViews(LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 30), 10, 25, true));
+    }
+
+    @Test
+    void testKeysetPagesMatchTheBruteForceBalanceAcrossTheWholeLedger() {
+        int seen = 0;
+        TransactionCursor cursor = TransactionCursor.first("EXPENSE");
+        while (true) {
+            List<TransactionViewDTO> page = ledgerQueryRepo.findTransactionViewsAfter(null, null, cursor, 100, true);
+            if (page.isEmpty()) {
+                break;
+            }
+            assertBalances(page);
+            seen += page.size();
+            TransactionViewDTO last = page.get(page.size() - 1);
+            cursor = new TransactionCursor(last.getDate(), last.getId(), last.getType());
+        }
+        assertEquals(expectedBalance.size(), seen);
+
+        TransactionCursor midMonth = new TransactionCursor(LocalDate.of(2024, 3, 15), Long.MAX_VALUE, "INCOME");
+        assertBalances(ledgerQueryRepo.findTransactionViewsAfter(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                midMonth, 40, true));
+    }
+
+    private void assertBalances(List<TransactionViewDTO> page) {
+        for (TransactionViewDTO row : page) {
+            assertEquals(expectedBalance.get(row.getType() + row.getId()), row.getBalanceAfter(),
+                    row.getType() + " " + row.getId() + " on " + row.getDate());
+        }
+    }
+
+    private static TransactionViewDTO view(long id, LocalDate date, BigDecimal amount, String type) {
+        return new TransactionViewDTO(id, date, null, amount, type);
+    }
+}
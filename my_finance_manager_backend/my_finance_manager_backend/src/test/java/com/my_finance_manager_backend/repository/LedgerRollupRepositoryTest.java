@@ -0,0 +1,100 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.DateRange;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.RangeTotals;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the conditional-aggregation query behind period comparisons against
+ * one plain grouped sum per range over the same rollups.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LedgerRollupRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final String[] CATEGORIES = {"Food", "Transport", "Shopping", "Utilities", "Travel"};
+    private static final String[] SOURCES = {"Salary", "Freelance", "Investments"};
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private LedgerRollupRepository rollupRepo;
+
+    @BeforeAll
+    void seedRollups() {
+        // Two years of days, each with a random subset of keys, so some keys are missing from some ranges
+        Random random = new Random(42);
+        List<Object[]> expenseDays = new ArrayList<>();
+        List<Object[]> incomeDays = new ArrayList<>();
+        for (LocalDate day = LocalDate.of(2023, 1, 1); day.isBefore(LocalDate.of(2025, 1, 1)); day = day.plusDays(1)) {
+            for (String category : CATEGORIES) {
+                if (random.nextInt(3) == 0) {
+                    expenseDays.add(new Object[]{Date.valueOf(day), category, BigDecimal.valueOf(random.nextInt(100_000), 2), 1});
+                }
+            }
+            for (String source : SOURCES) {
+                if (random.nextInt(10) == 0) {
+                    incomeDays.add(new Object[]{Date.valueOf(day), source, BigDecimal.valueOf(random.nextInt(500_000), 2), 1});
+                }
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO daily_expense_rollup (rollup_date, category, total, txn_count) VALUES (?, ?, ?, ?)", expenseDays);
+        jdbc.batchUpdate("INSERT INTO daily_income_rollup (rollup_date, source, total, txn_count) VALUES (?, ?, ?, ?)", incomeDays);
+    }
+
+    @Test
+    void testSumByRangesMatchesOneSumPerRange() {
+        List<DateRange> ranges = List.of(
+                new DateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)),   // a quarter
+                new DateRange(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 12, 31)), // the one before it
+                new DateRange(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 3, 31)),   // a year earlier
+                new DateRange(LocalDate.of(2024, 3, 15), LocalDate.of(2024, 3, 15)),  // one day, overlapping the first
+                new DateRange(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 12, 31))); // no rows at all
+
+        List<RangeTotals> rows = rollupRepo.sumByRanges(ranges);
+        assertFalse(rows.isEmpty());
+
+        for (int i = 0; i < ranges.size(); i++) {
+            Map<String, Long> combined = new HashMap<>();
+            for (RangeTotals row : rows) {
+                if (row.totals()[i] != 0) {
+                    combined.put(row.type() + "|" + row.key(), row.totals()[i]);
+                }
+            }
+            Map<String, Long> separate = new HashMap<>();
+            for (LedgerGroupTotalDTO group : rollupRepo.sumByGroup(ranges.get(i).start(), ranges.get(i).end())) {
+                if (group.getTotal() != 0) {
+                    separate.put(group.getType() + "|" + group.getGroupKey(), group.getTotal());
+                }
+            }
+            assertEquals(separate, combined, "range " + ranges.get(i));
+        }
+    }
+}
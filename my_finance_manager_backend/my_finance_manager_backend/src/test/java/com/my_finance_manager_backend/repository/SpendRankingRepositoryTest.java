@@ -0,0 +1,96 @@
+package com.my_finance_manager_backend.repository;
+
+import com.my_finance_manager_backend.dto.MinorUnits;
+import com.my_finance_manager_backend.repository.SpendRankingRepository.GroupSpend;
+import com.my_finance_manager_backend.service.DescriptionNormalizer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the merchant ranking done in MySQL against the same ranking computed in
+ * Java with DescriptionNormalizer over every expense row.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SpendRankingRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    // Variants that normalize to a handful of merchants, plus some with no letters at all
+    private static final String[] DESCRIPTIONS = {
+            "STARBUCKS #1234 Seattle", "Starbucks #987  seattle", "Café-München 01/02", "CAFÉ MÜNCHEN",
+            "Uber *Trip", "UBER   TRIP 5521", "Rent", "rent.", "12345", " #-/ ", "Amazon Mktp US*2K4", "AMAZON MKTP US"};
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 6, 30);
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private SpendRankingRepository rankingRepo;
+
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @BeforeAll
+    void seedExpenses() {
+        Random random = new Random(3);
+        for (int i = 0; i < 3000; i++) {
+            LocalDate date = LocalDate.of(2023, 7, 1).plusDays(random.nextInt(365));
+            rows.add(new Object[]{BigDecimal.valueOf(random.nextInt(10_000) + 1, 2), "Misc",
+                    DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)], Date.valueOf(date)});
+        }
+        jdbc.batchUpdate("INSERT INTO expenses (amount, category, description, expense_date) VALUES (?, ?, ?, ?)", rows);
+        // A processed receipt is not ledger spend until it is saved as an expense
+        jdbc.update("INSERT INTO receipts (file_name, processed, merchant_name, amount, transaction_date)"
+                + " VALUES ('r.jpg', 1, 'Starbucks Seattle', 9999.99, '2024-03-01')");
+    }
+
+    @Test
+    void testTopMerchantsMatchTheJavaNormalizer() {
+        assertEquals(expected(null, null), rankingRepo.topMerchants(null, null, 100));
+        assertEquals(expected(START, END), rankingRepo.topMerchants(START, END, 100));
+        assertEquals(expected(START, END).subList(0, 3), rankingRepo.topMerchants(START, END, 3));
+    }
+
+    private List<GroupSpend> expected(LocalDate start, LocalDate end) {
+        Map<String, long[]> groups = new HashMap<>();
+        for (Object[] row : rows) {
+            LocalDate date = ((Date) row[3]).toLocalDate();
+            String key = DescriptionNormalizer.normalize((String) row[2]);
+            if (key == null || (start != null && date.isBefore(start)) || (end != null && date.isAfter(end))) {
+                continue;
+            }
+            long[] sums = groups.computeIfAbsent(key, k -> new long[2]);
+            sums[0] += MinorUnits.of((BigDecimal) row[0]);
+            sums[1]++;
+        }
+        List<GroupSpend> ranked = new ArrayList<>();
+        groups.forEach((key, sums) -> ranked.add(new GroupSpend(key, sums[0], sums[1])));
+        ranked.sort(Comparator.comparingLong(GroupSpend::total).reversed().thenComparing(GroupSpend::key));
+        return ranked;
+    }
+}
@@ -0,0 +1,160 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.LedgerGroupTotalDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.model.BudgetPeriod;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BudgetSpendTrackerTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate monthStart = BudgetPeriod.MONTHLY.start(today);
+    private final LedgerRollupRepository rollupRepo = mock(LedgerRollupRepository.class);
+    private BudgetSpendTracker tracker;
+
+    @BeforeEach
+    void loadFromRollups() {
+        when(rollupRepo.sumExpensesByCategory(any(), any())).thenReturn(List.of());
+        when(rollupRepo.sumExpensesByCategory(eq(monthStart), eq(BudgetPeriod.MONTHLY.end(monthStart))))
+                .thenReturn(List.of(new LedgerGroupTotalDTO("EXPENSE", "Food", 12_550)));
+        tracker = new BudgetSpendTracker(rollupRepo, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        tracker.load();
+    }
+
+    @Test
+    void testLoadsCurrentPeriodsFromRollups() {
+        assertEquals(12_550, tracker.spent("Food", BudgetPeriod.MONTHLY, today));
+        assertEquals(12_550, tracker.spent("food", BudgetPeriod.MONTHLY, today));
+        assertEquals(0, tracker.spent("Travel", BudgetPeriod.MONTHLY, today));
+        // Current and next period for each of the three kinds
+        verify(rollupRepo, times(6)).sumExpensesByCategory(any(), any());
+    }
+
+    @Test
+    void testCommittedChangesMoveTheCounters() {
+        ExpenseDTO lunch = new ExpenseDTO(1L, new BigDecimal("20.00"), "Food", "lunch", monthStart);
+        commit(LedgerChangeEvent.builder().expenseAdded(lunch).build());
+        assertEquals(14_550, tracker.spent("Food", BudgetPeriod.MONTHLY, today));
+        assertEquals(2_000, tracker.spent("FOOD", BudgetPeriod.YEARLY, today));
+
+        // An update that moves the expense to another category
+        ExpenseDTO moved = new ExpenseDTO(1L, new BigDecimal("25.00"), "Travel", "lunch", monthStart);
+        commit(LedgerChangeEvent.builder().expenseRemoved(lunch).expenseAdded(moved).build());
+        assertEquals(12_550, tracker.spent("Food", BudgetPeriod.MONTHLY, today));
+        assertEquals(2_500, tracker.spent("Travel", BudgetPeriod.MONTHLY, today));
+    }
+
+    @Test
+    void testNextPeriodIsCountedAndOlderPeriodsAreIgnored() {
+        LocalDate nextMonth = BudgetPeriod.MONTHLY.next(monthStart);
+        commit(LedgerChangeEvent.builder()
+                .expenseAdded(new ExpenseDTO(2L, new BigDecimal("9.99"), "Food", "prepaid", nextMonth))
+                .expenseAdded(new ExpenseDTO(3L, new BigDecimal("5.00"), "Food", "old", monthStart.minusYears(2)))
+                .build());
+
+        assertEquals(12_550, tracker.spent("Food", BudgetPeriod.MONTHLY, today));
+        assertEquals(999, tracker.spent("Food", BudgetPeriod.MONTHLY, nextMonth));
+        assertEquals(0, tracker.spent("Food", BudgetPeriod.MONTHLY, monthStart.minusYears(2)));
+    }
+
+    @Test
+    void testRolledBackChangesLeaveTheCounters() {
+        complete(LedgerChangeEvent.builder()
+                .expenseAdded(new ExpenseDTO(5L, new BigDecimal("3.00"), "Food", "rolled back", today))
+                .build(), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(12_550, tracker.spent("Food", BudgetPeriod.MONTHLY, today));
+    }
+
+    @Test
+    void testReconcileWaitsForACommitInFlight() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tracker.onLedgerChange(LedgerChangeEvent.builder()
+                    .expenseAdded(new ExpenseDTO(6L, new BigDecimal("20.00"), "Food", "lunch", today))
+                    .build());
+            // The ledger and rollup rows are committed; the change has not reached the counters yet
+            when(rollupRepo.sumExpensesByCategory(eq(monthStart), eq(BudgetPeriod.MONTHLY.end(monthStart))))
+                    .thenReturn(List.of(new LedgerGroupTotalDTO("EXPENSE", "Food", 14_550)));
+            CompletableFuture<Void> reconcile = CompletableFuture.runAsync(tracker::reconcile);
+            assertThrows(TimeoutException.class, () -> reconcile.get(200, TimeUnit.MILLISECONDS));
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+            reconcile.get(5, TimeUnit.SECONDS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        // Counted once: in the rollups the rebuild read, not again on top of them
+        assertEquals(14_550, tracker.spent("Food", BudgetPeriod.MONTHLY, today));
+    }
+
+    @Test
+    void testRolloverReadsTheNextPeriodsFromTheRollups() {
+        LocalDate nextMonth = BudgetPeriod.MONTHLY.next(monthStart);
+        when(rollupRepo.sumExpensesByCategory(eq(nextMonth), eq(BudgetPeriod.MONTHLY.end(nextMonth))))
+                .thenReturn(List.of(new LedgerGroupTotalDTO("EXPENSE", "Rent", 90_000)));
+
+        tracker.rollover();
+
+        assertEquals(90_000, tracker.spent("Rent", BudgetPeriod.MONTHLY, nextMonth));
+        assertEquals(12_550, tracker.spent("Food", BudgetPeriod.MONTHLY, today));
+    }
+
+    @Test
+    void testReconcileReplacesDriftedCounters() {
+        commit(LedgerChangeEvent.builder()
+                .expenseAdded(new ExpenseDTO(4L, new BigDecimal("1.00"), "Food", "rolled back elsewhere", today))
+                .build());
+        assertEquals(12_650, tracker.spent("Food", BudgetPeriod.MONTHLY, today));
+
+        tracker.reconcile();
+        assertEquals(12_550, tracker.spent("Food", BudgetPeriod.MONTHLY, today));
+    }
+
+    // Runs the listener inside a transaction that then commits
+    private void commit(LedgerChangeEvent event) {
+        complete(event, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private void complete(LedgerChangeEvent event, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tracker.onLedgerChange(event);
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), status);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testPeriodBounds() {
+        LocalDate leapDay = LocalDate.of(2024, 2, 29); // a Thursday
+        assertEquals(LocalDate.of(2024, 2, 26), BudgetPeriod.WEEKLY.start(leapDay));
+        assertEquals(LocalDate.of(2024, 3, 3), BudgetPeriod.WEEKLY.end(BudgetPeriod.WEEKLY.start(leapDay)));
+        assertEquals(LocalDate.of(2024, 2, 29), BudgetPeriod.MONTHLY.end(BudgetPeriod.MONTHLY.start(leapDay)));
+        assertEquals(LocalDate.of(2024, 1, 1), BudgetPeriod.YEARLY.start(leapDay));
+        assertEquals(BudgetPeriod.MONTHLY, BudgetPeriod.parse(" monthly "));
+        assertThrows(IllegalArgumentException.class, () -> BudgetPeriod.parse("daily"));
+    }
+}
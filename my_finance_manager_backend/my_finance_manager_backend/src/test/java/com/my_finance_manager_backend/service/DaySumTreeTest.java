@@ -0,0 +1,56 @@
+package com.my_finance_manager_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaySumTreeTest {
+
+    @Test
+    void testEmptyTreeSumsToZero() {
+        assertEquals(0, new DaySumTree().sum(null, null));
+    }
+
+    @Test
+    void testOpenAndClosedRanges() {
+        DaySumTree tree = new DaySumTree();
+        tree.add(LocalDate.of(2024, 3, 1), 100);
+        tree.add(LocalDate.of(2024, 3, 2), 250);
+        tree.add(LocalDate.of(2024, 3, 2), -50);
+        tree.add(LocalDate.of(2024, 4, 1), 7);
+
+        assertEquals(307, tree.sum(null, null));
+        assertEquals(300, tree.sum(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)));
+        assertEquals(207, tree.sum(LocalDate.of(2024, 3, 2), null));
+        assertEquals(100, tree.sum(null, LocalDate.of(2024, 3, 1)));
+        assertEquals(0, tree.sum(LocalDate.of(2024, 3, 3), LocalDate.of(2024, 3, 31)));
+        assertEquals(0, tree.sum(LocalDate.of(2024, 4, 2), LocalDate.of(2024, 4, 1)));
+    }
+
+    @Test
+    void testGrowsInBothDirectionsAndMatchesBruteForce() {
+        DaySumTree tree = new DaySumTree();
+        TreeMap<LocalDate, Long> expected = new TreeMap<>();
+        Random random = new Random(42);
+        LocalDate origin = LocalDate.of(2024, 1, 1);
+
+        for (int i = 0; i < 2000; i++) {
+            // Spread over ~20 years on both sides of the first day to force several resizes
+            LocalDate day = origin.plusDays(random.nextInt(14_000) - 7_000);
+            long delta = random.nextInt(20_000) - 10_000;
+            tree.add(day, delta);
+            expected.merge(day, delta, Long::sum);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            LocalDate a = origin.plusDays(random.nextInt(16_000) - 8_000);
+            LocalDate b = a.plusDays(random.nextInt(4_000));
+            long brute = expected.subMap(a, true, b, true).values().stream().mapToLong(Long::longValue).sum();
+            assertEquals(brute, tree.sum(a, b), "range " + a + ".." + b);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.my_finance_manager_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DescriptionNormalizerTest {
+
+    @Test
+    void testStoreNumbersAndCaseAreIgnored() {
+        assertEquals("starbucks seattle", DescriptionNormalizer.normalize("STARBUCKS #1234 Seattle"));
+        assertEquals(DescriptionNormalizer.normalize("Starbucks #987  seattle"),
+                DescriptionNormalizer.normalize("STARBUCKS #1234 Seattle"));
+    }
+
+    @Test
+    void testNonLatinLettersAreKept() {
+        assertEquals("café münchen", DescriptionNormalizer.normalize("Café-München 01/02"));
+    }
+
+    @Test
+    void testNothingLeftIsNull() {
+        assertNull(DescriptionNormalizer.normalize(null));
+        assertNull(DescriptionNormalizer.normalize(" 12345 #-/ "));
+    }
+}
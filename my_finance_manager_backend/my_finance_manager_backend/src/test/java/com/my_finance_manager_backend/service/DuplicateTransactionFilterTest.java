@@ -0,0 +1,93 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.repository.LedgerBatchRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DuplicateTransactionFilterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Test
+    void testFingerprintIgnoresCaseSpacingAndAmountScale() {
+        List<String> a = DuplicateTransactionFilter.fingerprints(List.of(row("STARBUCKS  #1234, Seattle", "4.5", "EXPENSE")));
+        List<String> b = DuplicateTransactionFilter.fingerprints(List.of(row("starbucks 1234 seattle", "4.50", "EXPENSE")));
+        assertEquals(a, b);
+
+        assertNotEquals(a, DuplicateTransactionFilter.fingerprints(List.of(row("starbucks 1235 seattle", "4.50", "EXPENSE"))));
+        assertNotEquals(a, DuplicateTransactionFilter.fingerprints(List.of(row("starbucks 1234 seattle", "4.50", "INCOME"))));
+        assertEquals(64, a.get(0).length());
+    }
+
+    @Test
+    void testIdenticalRowsInOneStatementAreNumbered() {
+        TransactionDTO coffee = row("Coffee", "3.20", "EXPENSE");
+        List<String> march = DuplicateTransactionFilter.fingerprints(List.of(coffee, row("Rent", "900", "EXPENSE"), coffee));
+        assertNotEquals(march.get(0), march.get(2));
+
+        // An overlapping statement with the same two coffees produces the same two fingerprints
+        List<String> overlap = DuplicateTransactionFilter.fingerprints(List.of(coffee, coffee, row("Book", "12", "EXPENSE")));
+        assertEquals(Set.of(march.get(0), march.get(2)), Set.of(overlap.get(0), overlap.get(1)));
+    }
+
+    @Test
+    void testOnlyRowsTheFilterCannotRuleOutAreLookedUp() {
+        LedgerBatchRepository repo = mock(LedgerBatchRepository.class);
+        List<String> stored = DuplicateTransactionFilter.fingerprints(statement(0, 1000));
+        doAnswer(invocation -> {
+            stored.forEach(invocation.getArgument(0));
+            return null;
+        }).when(repo).forEachFingerprint(any());
+        when(repo.findExistingFingerprints(any())).thenAnswer(invocation -> {
+            Set<String> hits = new HashSet<>(invocation.<List<String>>getArgument(0));
+            hits.retainAll(stored);
+            return hits;
+        });
+        DuplicateTransactionFilter filter = new DuplicateTransactionFilter(repo, 10_000);
+        filter.load();
+
+        List<String> incoming = DuplicateTransactionFilter.fingerprints(statement(900, 2000));
+        assertEquals(new HashSet<>(incoming.subList(0, 100)), filter.findExisting(incoming));
+
+        verify(repo).findExistingFingerprints(argThat(candidates ->
+                candidates.containsAll(incoming.subList(0, 100)) && candidates.size() < 150));
+    }
+
+    @Test
+    void testBloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(10_000, 0.01);
+        List<String> present = DuplicateTransactionFilter.fingerprints(statement(0, 10_000));
+        present.forEach(filter::put);
+        assertTrue(present.stream().allMatch(filter::mightContain));
+
+        long falsePositives = DuplicateTransactionFilter.fingerprints(statement(10_000, 100_000)).stream()
+                .filter(filter::mightContain).count();
+        assertTrue(falsePositives < 90_000 * 0.02, "False positives: " + falsePositives);
+    }
+
+    // Rows from..to-1 of an endless statement with one distinct row per index
+    private static List<TransactionDTO> statement(int from, int to) {
+        List<TransactionDTO> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            rows.add(TransactionDTO.builder().date(DAY.plusDays(i % 365)).description("Shop " + i)
+                    .amount(BigDecimal.valueOf(100 + i, 2)).type("EXPENSE").build());
+        }
+        return rows;
+    }
+
+    private static TransactionDTO row(String description, String amount, String type) {
+        return TransactionDTO.builder().date(DAY).description(description).amount(new BigDecimal(amount))
+                .type(type).build();
+    }
+}
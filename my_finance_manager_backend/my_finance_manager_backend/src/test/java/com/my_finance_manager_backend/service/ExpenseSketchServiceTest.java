@@ -0,0 +1,193 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.AmountQuantilesDTO;
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.ExpenseStatsDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.repository.ExpenseSketchRepository;
+import com.my_finance_manager_backend.repository.ExpenseSketchRepository.LedgerRow;
+import com.my_finance_manager_backend.repository.ExpenseSketchRepository.SketchRow;
+import jakarta.persistence.EntityManager;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.memory.Memory;
+import org.apache.datasketches.tdigest.TDigestDouble;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExpenseSketchServiceTest {
+
+    private static final LocalDate MARCH_5 = LocalDate.of(2024, 3, 5);
+    private static final LocalDate APRIL_2 = LocalDate.of(2024, 4, 2);
+
+    private final ExpenseSketchRepository repo = mock(ExpenseSketchRepository.class);
+    private final ExpenseSketchService service = new ExpenseSketchService(repo, mock(EntityManager.class),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    // Stands in for expense_daily_sketches, keyed like its primary key
+    private final Map<String, SketchRow> table = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(repo.lock(any(), any())).thenAnswer(inv -> table.computeIfAbsent(key(inv.getArgument(0), inv.getArgument(1)),
+                k -> new SketchRow(inv.getArgument(0), inv.getArgument(1), null, null)));
+        doAnswer(inv -> {
+            SketchRow row = inv.getArgument(0);
+            table.put(key(row.date(), row.category()), row);
+            return null;
+        }).when(repo).update(any());
+        doAnswer(inv -> table.remove(key(inv.getArgument(0), inv.getArgument(1)))).when(repo).delete(any(), any());
+        doAnswer(inv -> {
+            LocalDate start = inv.getArgument(0);
+            LocalDate end = inv.getArgument(1);
+            Consumer<SketchRow> action = inv.getArgument(2);
+            new ArrayList<>(table.values()).stream()
+                    .filter(row -> !row.date().isBefore(start) && !row.date().isAfter(end))
+                    .forEach(action);
+            return null;
+        }).when(repo).forEachInRange(any(), any(), any());
+    }
+
+    @Test
+    void testInsertsAreMergedIntoTheStoredSketch() {
+        service.onLedgerChange(LedgerChangeEvent.builder()
+                .expenseAdded(expense("10.00", "Food", "STARBUCKS #1234 Seattle", MARCH_5))
+                .expenseAdded(expense("20.00", "Food", "Uber Eats", MARCH_5))
+                .build());
+        service.onLedgerChange(LedgerChangeEvent.builder()
+                .expenseAdded(expense("30.00", "food", "Starbucks #987 seattle", MARCH_5))
+                .build());
+
+        assertEquals(1, table.size());
+        ExpenseStatsDTO stats = service.getStats(MARCH_5, MARCH_5);
+        AmountQuantilesDTO food = stats.getQuantilesByCategory().get("Food");
+        assertEquals(3, food.getCount());
+        assertEquals(new BigDecimal("20.00"), food.getP50());
+        assertEquals(Map.of("2024-03", 2L), stats.getDistinctMerchantsByMonth());
+        verify(repo, never()).findLedgerRows(any(LocalDate.class), any(String.class));
+    }
+
+    @Test
+    void testRemovalRebuildsTheDayFromTheLedgerUnderTheLock() {
+        service.onLedgerChange(LedgerChangeEvent.builder()
+                .expenseAdded(expense("10.00", "Food", "Cafe", MARCH_5))
+                .expenseAdded(expense("90.00", "Food", "Steakhouse", MARCH_5))
+                .build());
+        when(repo.findLedgerRows(MARCH_5, "Food")).thenReturn(List.of(
+                new LedgerRow(MARCH_5, "Food", new BigDecimal("10.00"), "Cafe")));
+        clearInvocations(repo);
+
+        service.onLedgerChange(LedgerChangeEvent.builder()
+                .expenseRemoved(expense("90.00", "Food", "Steakhouse", MARCH_5))
+                .build());
+
+        InOrder order = inOrder(repo);
+        order.verify(repo).lock(MARCH_5, "Food");
+        order.verify(repo).findLedgerRows(MARCH_5, "Food");
+        AmountQuantilesDTO food = service.getStats(MARCH_5, MARCH_5).getQuantilesByCategory().get("Food");
+        assertEquals(1, food.getCount());
+        assertEquals(new BigDecimal("10.00"), food.getP99());
+    }
+
+    @Test
+    void testSketchRowsAreLockedByDateThenCategory() {
+        when(repo.findLedgerRows(MARCH_5, "Travel")).thenReturn(List.of(
+                new LedgerRow(MARCH_5, "Travel", new BigDecimal("40.00"), "Train")));
+
+        // Newest first, as a statement import would deliver them, with a rebuilt day in the middle
+        service.onLedgerChange(LedgerChangeEvent.builder()
+                .expenseAdded(expense("10.00", "Food", "Cafe", APRIL_2))
+                .expenseAdded(expense("25.00", "travel", "Taxi", MARCH_5))
+                .expenseRemoved(expense("60.00", "Travel", "Hotel", MARCH_5))
+                .expenseAdded(expense("15.00", "Food", "Bakery", MARCH_5))
+                .build());
+
+        InOrder order = inOrder(repo);
+        order.verify(repo).lock(MARCH_5, "Food");
+        order.verify(repo).lock(MARCH_5, "Travel");
+        order.verify(repo).lock(APRIL_2, "Food");
+        verify(repo, times(3)).lock(any(), any());
+    }
+
+    @Test
+    void testRemovingTheLastRowDeletesTheSketch() {
+        service.onLedgerChange(LedgerChangeEvent.builder().expenseAdded(expense("10.00", "Food", "Cafe", MARCH_5)).build());
+        when(repo.findLedgerRows(MARCH_5, "Food")).thenReturn(List.of());
+
+        service.onLedgerChange(LedgerChangeEvent.builder().expenseRemoved(expense("10.00", "Food", "Cafe", MARCH_5)).build());
+
+        assertTrue(table.isEmpty());
+        assertTrue(service.getStats(MARCH_5, MARCH_5).getQuantilesByCategory().isEmpty());
+    }
+
+    @Test
+    void testStoredBytesReadBackAsTheSameSketches() {
+        LedgerChangeEvent.LedgerChangeEventBuilder event = LedgerChangeEvent.builder();
+        for (int i = 1; i <= 100; i++) {
+            event.expenseAdded(expense(i + ".00", "Food", "Merchant " + (char) ('a' + i % 26), MARCH_5));
+        }
+        service.onLedgerChange(event.build());
+
+        SketchRow stored = table.values().iterator().next();
+        TDigestDouble amounts = TDigestDouble.heapify(Memory.wrap(stored.amounts()));
+        HllSketch merchants = HllSketch.heapify(stored.merchants());
+        assertEquals(100, amounts.getTotalWeight());
+        assertEquals(1.0, amounts.getMinValue());
+        assertEquals(100.0, amounts.getMaxValue());
+        assertEquals(50.5, amounts.getQuantile(0.5), 1.0);
+        assertEquals(26, Math.round(merchants.getEstimate()));
+    }
+
+    @Test
+    void testStatsMergeDaysAndCategoriesCaseInsensitively() {
+        service.onLedgerChange(LedgerChangeEvent.builder()
+                .expenseAdded(expense("10.00", "Food", "Cafe", MARCH_5))
+                .expenseAdded(expense("20.00", "FOOD", "Bakery", MARCH_5.plusDays(1)))
+                .expenseAdded(expense("500.00", "Rent", "Landlord", MARCH_5))
+                .expenseAdded(expense("40.00", "Food", "Cafe", APRIL_2))
+                .build());
+
+        ExpenseStatsDTO march = service.getStats(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        assertEquals(List.of("Food", "Rent"), new ArrayList<>(march.getQuantilesByCategory().keySet()));
+        assertEquals(2, march.getQuantilesByCategory().get("Food").getCount());
+        assertEquals(1, march.getQuantilesByCategory().get("Rent").getCount());
+        assertEquals(Map.of("2024-03", 3L), march.getDistinctMerchantsByMonth());
+
+        ExpenseStatsDTO both = service.getStats(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 30));
+        assertEquals(3, both.getQuantilesByCategory().get("Food").getCount());
+        assertEquals(List.of("2024-03", "2024-04"), new ArrayList<>(both.getDistinctMerchantsByMonth().keySet()));
+        assertEquals(1L, both.getDistinctMerchantsByMonth().get("2024-04"));
+    }
+
+    @Test
+    void testStatsDefaultToTheLastTwelveMonthsAndRejectReversedRanges() {
+        ExpenseStatsDTO stats = service.getStats(null, LocalDate.of(2024, 6, 15));
+        assertEquals(LocalDate.of(2023, 7, 1), stats.getStartDate());
+        assertEquals(LocalDate.of(2024, 6, 15), stats.getEndDate());
+
+        assertThrows(IllegalArgumentException.class, () -> service.getStats(APRIL_2, MARCH_5));
+    }
+
+    private static ExpenseDTO expense(String amount, String category, String description, LocalDate date) {
+        return ExpenseDTO.builder().amount(new BigDecimal(amount)).category(category).description(description).date(date).build();
+    }
+
+    private static String key(LocalDate date, String category) {
+        return date + "|" + category.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,114 @@
+package com.my_finance_manager_backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.repository.ExtractionResultRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExtractionCacheTest {
+
+    private static final TypeReference<List<TransactionDTO>> TRANSACTIONS = new TypeReference<>() {
+    };
+
+    private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    private final ExtractionResultRepository repo = mock(ExtractionResultRepository.class);
+    private final ExtractionCache cache = new ExtractionCache(repo,
+            new ObjectMapper().registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS), Duration.ofDays(30));
+    private final MockMultipartFile file = new MockMultipartFile("file", "march.pdf", "application/pdf", "abc".getBytes());
+    private final AtomicInteger extractions = new AtomicInteger();
+
+    @Test
+    void testDigestIsStreamedFromTheUpload() throws Exception {
+        assertEquals(ABC_SHA256, ExtractionCache.sha256(file));
+
+        // Larger than the read buffer, read only through getInputStream, never copied whole
+        byte[] content = new byte[1_000_000];
+        new Random(7).nextBytes(content);
+        MultipartFile large = spy(new MockMultipartFile("file", "year.pdf", "application/pdf", content));
+
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)),
+                ExtractionCache.sha256(large));
+        verify(large).getInputStream();
+        verify(large, never()).getBytes();
+        verify(large, never()).getResource();
+        verify(large, never()).transferTo(any(File.class));
+        verify(large, never()).transferTo(any(Path.class));
+    }
+
+    @Test
+    void testFirstUploadIsExtractedAndStored() throws Exception {
+        List<TransactionDTO> result = cache.getOrExtract(file, ExtractionCache.Kind.STATEMENT, false, TRANSACTIONS,
+                this::extract, extracted -> !extracted.isEmpty());
+
+        assertEquals(1, extractions.get());
+        assertEquals(1, result.size());
+        verify(repo).save(eq(ABC_SHA256), eq("STATEMENT"), contains("\"2026-03-02\""), any());
+    }
+
+    @Test
+    void testRepeatUploadIsAnsweredFromTheStoredResult() throws Exception {
+        when(repo.find(eq(ABC_SHA256), eq("STATEMENT"), any())).thenReturn(
+                "[{\"date\":\"2026-03-02\",\"description\":\"Rent\",\"amount\":900.00,\"type\":\"EXPENSE\"}]");
+
+        List<TransactionDTO> result = cache.getOrExtract(file, ExtractionCache.Kind.STATEMENT, false, TRANSACTIONS,
+                this::extract, extracted -> true);
+
+        assertEquals(0, extractions.get());
+        assertEquals(LocalDate.of(2026, 3, 2), result.get(0).getDate());
+        assertEquals(new BigDecimal("900.00"), result.get(0).getAmount());
+        verify(repo, never()).save(any(), any(), any(), any());
+    }
+
+    @Test
+    void testForceReprocessesAndReplacesTheStoredResult() throws Exception {
+        when(repo.find(any(), any(), any())).thenReturn("[]");
+
+        cache.getOrExtract(file, ExtractionCache.Kind.STATEMENT, true, TRANSACTIONS, this::extract, extracted -> true);
+
+        assertEquals(1, extractions.get());
+        verify(repo, never()).find(any(), any(), any());
+        verify(repo).save(eq(ABC_SHA256), eq("STATEMENT"), any(), any());
+    }
+
+    @Test
+    void testFallbackResultsAreNotStoredAndOldOnesAreIgnored() throws Exception {
+        Map<String, Object> fallback = cache.getOrExtract(file, ExtractionCache.Kind.DOCUMENT, false,
+                new TypeReference<>() {
+                }, () -> Map.of("processingMethod", "Default (Processing Failed)"), GeminiAIService::isModelResult);
+
+        assertFalse(GeminiAIService.isModelResult(fallback));
+        verify(repo, never()).save(any(), any(), any(), any());
+        verify(repo).find(eq(ABC_SHA256), eq("DOCUMENT"),
+                argThat(notBefore -> notBefore.isBefore(LocalDateTime.now().minusDays(29))));
+    }
+
+    private List<TransactionDTO> extract() {
+        extractions.incrementAndGet();
+        return List.of(TransactionDTO.builder().date(LocalDate.of(2026, 3, 2)).description("Rent")
+                .amount(new BigDecimal("900.00")).type("EXPENSE").build());
+    }
+}
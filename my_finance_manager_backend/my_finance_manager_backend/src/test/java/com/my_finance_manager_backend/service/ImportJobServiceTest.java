@@ -0,0 +1,136 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ImportJobDTO;
+import com.my_finance_manager_backend.dto.ImportJobStage;
+import com.my_finance_manager_backend.dto.ImportResultDTO;
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.exception.ImportQueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImportJobServiceTest {
+
+    private final TransactionHistoryService historyService = mock(TransactionHistoryService.class);
+    private final StatementImportService importService = mock(StatementImportService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ImportJobService service = new ImportJobService(historyService, importService, registry,
+            1, 1, Duration.ofSeconds(20), Duration.ofHours(1));
+    private final MockMultipartFile file = new MockMultipartFile("file", "march.pdf", "application/pdf", "%PDF".getBytes());
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void testSubmitReturnsAtOnceAndTheJobReportsProgress() throws Exception {
+        List<TransactionDTO> rows = List.of(row("Rent"), row("Coffee"), row("Book"));
+        when(historyService.extractTransactions(any(), eq(false))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return rows;
+        });
+        ImportResultDTO result = new ImportResultDTO("key", 3, 0, 3, 0, List.of(), 2, false);
+        when(importService.importStatement(eq(rows), any())).thenAnswer(invocation -> {
+            IntConsumer progress = invocation.getArgument(1);
+            progress.accept(2);
+            progress.accept(3);
+            return result;
+        });
+
+        ImportJobDTO queued = service.submit(file, false);
+        assertFalse(queued.getStage().isFinished());
+        assertEquals("march.pdf", queued.getFileName());
+
+        release.countDown();
+        ImportJobDTO done = awaitFinished(queued.getId());
+        assertEquals(ImportJobStage.COMPLETED, done.getStage());
+        assertEquals(3, done.getRowsParsed());
+        assertEquals(3, done.getRowsSaved());
+        assertSame(result, done.getResult());
+        assertNotNull(done.getFinishedAt());
+    }
+
+    @Test
+    void testFullQueueIsRejectedWithRetryAfter() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        when(historyService.extractTransactions(any(), anyBoolean())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        service.submit(file, false);                     // runs on the only worker
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        ImportJobDTO waiting = service.submit(file, false); // fills the queue
+        ImportQueueFullException full = assertThrows(ImportQueueFullException.class, () -> service.submit(file, false));
+
+        assertEquals(Duration.ofSeconds(20), full.getRetryAfter());
+        assertEquals(1, registry.get("import.jobs.rejected").counter().count());
+        assertEquals(1, registry.get("import.jobs").tag("state", "queued").gauge().value());
+        assertEquals(ImportJobStage.QUEUED, service.find(waiting.getId()).getStage());
+    }
+
+    @Test
+    void testFailureIsReportedAndTheSpooledUploadDeleted() throws Exception {
+        AtomicReference<MultipartFile> spooled = new AtomicReference<>();
+        when(historyService.extractTransactions(any(), eq(true))).thenAnswer(invocation -> {
+            MultipartFile upload = invocation.getArgument(0);
+            assertArrayEquals("%PDF".getBytes(), upload.getBytes());
+            spooled.set(upload);
+            throw new Exception("Failed to extract transactions from file: unreadable");
+        });
+
+        ImportJobDTO failed = awaitFinished(service.submit(file, true).getId());
+
+        assertEquals(ImportJobStage.FAILED, failed.getStage());
+        assertTrue(failed.getError().contains("unreadable"));
+        assertNull(failed.getResult());
+        assertThrows(IOException.class, () -> spooled.get().getInputStream());
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void testUnsupportedFileIsRejectedBeforeQueueing() throws Exception {
+        doThrow(new IllegalArgumentException("File is empty")).when(historyService).checkStatementFile(any());
+
+        assertThrows(IllegalArgumentException.class, () -> service.submit(file, false));
+        verify(historyService, never()).extractTransactions(any(), anyBoolean());
+    }
+
+    private ImportJobDTO awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            ImportJobDTO job = service.find(id);
+            if (job.getStage().isFinished()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job " + id + " did not finish");
+        return null;
+    }
+
+    private static TransactionDTO row(String description) {
+        return TransactionDTO.builder().date(LocalDate.of(2026, 3, 2)).description(description)
+                .amount(new BigDecimal("10.00")).type("EXPENSE").build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.Delta;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LedgerRollupDeltasTest {
+
+    private static final LocalDate MARCH_5 = LocalDate.of(2024, 3, 5);
+    private static final LocalDate APRIL_2 = LocalDate.of(2024, 4, 2);
+
+    private final LedgerRollupRepository repo = mock(LedgerRollupRepository.class);
+    private final LedgerRollupService service = new LedgerRollupService(repo);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeltasAreNettedAndSortedByDateThenKey() {
+        // Newest first, as a statement import would deliver them
+        service.onLedgerChange(LedgerChangeEvent.builder()
+                .expenseAdded(expense("10.00", "Food", APRIL_2))
+                .expenseAdded(expense("25.00", "travel", MARCH_5))
+                .expenseAdded(expense("15.00", "Food", MARCH_5))
+                .expenseAdded(expense("5.00", "Rent", MARCH_5))
+                .expenseRemoved(expense("5.00", "Rent", MARCH_5))
+                .build());
+
+        ArgumentCaptor<List<Delta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(repo).applyExpenseDeltas(deltas.capture());
+        assertEquals(List.of(
+                new Delta(MARCH_5, "Food", new BigDecimal("15.00"), 1),
+                new Delta(MARCH_5, "travel", new BigDecimal("25.00"), 1),
+                new Delta(APRIL_2, "Food", new BigDecimal("10.00"), 1)), deltas.getValue());
+        verify(repo).applyIncomeDeltas(List.of());
+    }
+
+    private static ExpenseDTO expense(String amount, String category, LocalDate date) {
+        return ExpenseDTO.builder().amount(new BigDecimal(amount)).category(category).description("Shop").date(date).build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.model.Expense;
+import com.my_finance_manager_backend.model.Income;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes through every ledger service path and checks that the daily rollups
+ * still agree with the base tables afterwards.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerRollupServiceTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private IncomeService incomeService;
+
+    @Autowired
+    private TransactionHistoryService transactionHistoryService;
+
+    @Autowired
+    private LedgerRollupService rollupService;
+
+    @Test
+    void testRollupsFollowEveryWritePath() {
+        LocalDate day = LocalDate.of(2024, 3, 5);
+
+        Expense lunch = expenseService.save(expense("12.50", "Food", day));
+        expenseService.save(expense("7.50", "Food", day));
+        incomeService.save(Income.builder().amount(new BigDecimal("1000.00")).source("Salary").date(day).build());
+
+        // Move one expense to another day and category, then delete the other side of the update
+        Expense moved = expense("20.00", "Travel", day.plusDays(1));
+        moved.setId(lunch.getId());
+        expenseService.save(moved);
+
+        transactionHistoryService.saveTransactions(List.of(
+                new TransactionDTO(day, "Refund", new BigDecimal("5.00"), "INCOME", null),
+                new TransactionDTO(day, "Coffee", new BigDecimal("3.00"), "EXPENSE", null)));
+        transactionHistoryService.saveTransaction(
+                new TransactionDTO(day, "Taxi", new BigDecimal("9.99"), "EXPENSE", "Travel"));
+
+        assertEquals(List.of(), rollupService.verify());
+        assertEquals(new BigDecimal("29.99"), expenseService.getSummaryByCategory(null, null).get("Travel"));
+        assertEquals(new BigDecimal("7.50"), expenseService.getSummaryByCategory(null, null).get("Food"));
+
+        expenseService.delete(moved.getId());
+        assertEquals(List.of(), rollupService.verify());
+        assertEquals(new BigDecimal("9.99"), expenseService.getSummaryByCategory(null, null).get("Travel"));
+    }
+
+    private static Expense expense(String amount, String category, LocalDate date) {
+        return Expense.builder().amount(new BigDecimal(amount)).category(category).description("test").date(date).build();
+    }
+}
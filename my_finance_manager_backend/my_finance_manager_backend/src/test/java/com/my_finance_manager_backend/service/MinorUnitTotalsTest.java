@@ -0,0 +1,67 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.MinorUnits;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinorUnitTotalsTest {
+
+    @Test
+    void testMinorUnitsRoundHalfUpToCents() {
+        assertEquals(1999, MinorUnits.of(new BigDecimal("19.99")));
+        assertEquals(1000, MinorUnits.of(new BigDecimal("10")));
+        assertEquals(13, MinorUnits.of(new BigDecimal("0.125")));
+        assertEquals(-13, MinorUnits.of(new BigDecimal("-0.125")));
+        assertEquals(new BigDecimal("-0.05"), MinorUnits.toBigDecimal(-5));
+    }
+
+    @Test
+    void testMinorUnitsRejectAmountsBeyondLong() {
+        assertThrows(ArithmeticException.class, () -> MinorUnits.of(new BigDecimal("100000000000000000")));
+    }
+
+    @Test
+    void testTotalsAreExactCents() {
+        // 0.1 + 0.2 style sums that drift when accumulated as doubles
+        MinorUnitTotals totals = new MinorUnitTotals();
+        for (int i = 0; i < 1000; i++) {
+            totals.add("Food", MinorUnits.of(new BigDecimal("0.10")));
+            totals.add("Travel", MinorUnits.of(new BigDecimal("0.20")));
+        }
+
+        Map<String, BigDecimal> byKey = totals.toBigDecimalMap();
+        assertEquals(new BigDecimal("100.00"), byKey.get("Food"));
+        assertEquals(new BigDecimal("200.00"), byKey.get("Travel"));
+        assertEquals(new BigDecimal("300.00"), MinorUnits.toBigDecimal(totals.total()));
+        assertEquals(2, totals.size());
+    }
+
+    @Test
+    void testGrowsPastInitialKeyCapacity() {
+        MinorUnitTotals totals = new MinorUnitTotals();
+        for (int i = 0; i < 100; i++) {
+            totals.add("Category " + (i % 40), i);
+        }
+
+        assertEquals(40, totals.size());
+        assertEquals(4950, totals.total());
+        assertEquals(MinorUnits.toBigDecimal(0 + 40 + 80), totals.toBigDecimalMap().get("Category 0"));
+    }
+
+    @Test
+    void testOverflowThrowsInsteadOfWrapping() {
+        MinorUnitTotals totals = new MinorUnitTotals();
+        totals.add("Food", Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> totals.add("Travel", 1));
+        assertThrows(ArithmeticException.class, () -> totals.add("Food", 1));
+
+        // The failed adds left no trace
+        assertEquals(1, totals.size());
+        assertEquals(Map.of("Food", MinorUnits.toBigDecimal(Long.MAX_VALUE)), totals.toBigDecimalMap());
+        assertEquals(Long.MAX_VALUE, totals.total());
+    }
+}
@@ -0,0 +1,76 @@
+package com.my_finance_manager_backend.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfTextTest {
+
+    @Test
+    void testLinesArriveInPageOrder() throws IOException {
+        byte[] pdf = pdf(List.of(
+                List.of("2026-03-01 Rent 900.00", "2026-03-02 Coffee 3.20"),
+                List.of("2026-03-05 Salary 2500.00"),
+                List.of("2026-03-09 Book 12.00")));
+
+        List<String> lines = new ArrayList<>();
+        PdfText.forEachLine(new ByteArrayInputStream(pdf), line -> lines.add(line.trim()));
+
+        assertEquals(List.of("2026-03-01 Rent 900.00", "2026-03-02 Coffee 3.20", "2026-03-05 Salary 2500.00",
+                "2026-03-09 Book 12.00"), lines.stream().filter(line -> !line.isEmpty()).toList());
+    }
+
+    @Test
+    void testPagesAreReadOneAtATimeUntilTheConsumerStops() throws IOException {
+        byte[] pdf = pdf(List.of(List.of("first page"), List.of("second page"), List.of("third page")));
+
+        List<String> pages = new ArrayList<>();
+        PdfText.forEachPage(new ByteArrayInputStream(pdf), page -> {
+            pages.add(page.trim());
+            return pages.size() < 2;
+        });
+
+        assertEquals(List.of("first page", "second page"), pages);
+    }
+
+    @Test
+    void testUnreadableInputFails() {
+        assertThrows(IOException.class,
+                () -> PdfText.forEachLine(new ByteArrayInputStream("not a pdf".getBytes()), line -> {
+                }));
+    }
+
+    // A PDF with one page per entry, each line of text drawn on its own row
+    static byte[] pdf(List<List<String>> pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (List<String> lines : pages) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 11);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 700);
+                    for (String line : lines) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.PeriodComparisonDTO;
+import com.my_finance_manager_backend.dto.PeriodSummaryDTO;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.DateRange;
+import com.my_finance_manager_backend.repository.LedgerRollupRepository.RangeTotals;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PeriodComparisonServiceTest {
+
+    private final LedgerRollupRepository repo = mock(LedgerRollupRepository.class);
+    private final PeriodComparisonService service = new PeriodComparisonService(repo);
+
+    @Test
+    void testQuarterIsComparedWithThePreviousQuarterAndLastYear() {
+        List<DateRange> ranges = List.of(
+                new DateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)),
+                new DateRange(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 12, 31)),
+                new DateRange(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 3, 31)));
+        when(repo.sumByRanges(ranges)).thenReturn(List.of(
+                new RangeTotals("EXPENSE", "Food", new long[]{12_050, 9_000, 0}),
+                new RangeTotals("EXPENSE", "Rent", new long[]{300_000, 300_000, 280_000}),
+                new RangeTotals("INCOME", "Salary", new long[]{900_000, 450_000, 400_000})));
+
+        PeriodComparisonDTO comparison = service.compare("Quarter", "2024-02-17");
+
+        assertEquals("quarter", comparison.getPeriod());
+        PeriodSummaryDTO current = comparison.getCurrent();
+        assertEquals(LocalDate.of(2024, 1, 1), current.getStartDate());
+        assertEquals(LocalDate.of(2024, 3, 31), current.getEndDate());
+        assertEquals(new BigDecimal("9000.00"), current.getTotalIncome());
+        assertEquals(new BigDecimal("3120.50"), current.getTotalExpense());
+        assertEquals(new BigDecimal("5879.50"), current.getNetBalance());
+        assertEquals(Map.of("Food", new BigDecimal("120.50"), "Rent", new BigDecimal("3000.00")), current.getExpenseByCategory());
+        assertEquals(Map.of("Salary", new BigDecimal("9000.00")), current.getIncomeBySource());
+
+        assertEquals(new BigDecimal("1410.00"), comparison.getPrevious().getNetBalance());
+        PeriodSummaryDTO lastYear = comparison.getSameTimeLastYear();
+        assertEquals(LocalDate.of(2023, 1, 1), lastYear.getStartDate());
+        assertEquals(new BigDecimal("2800.00"), lastYear.getTotalExpense());
+        // A key with nothing in the range is still listed, at zero
+        assertEquals(new BigDecimal("0.00"), lastYear.getExpenseByCategory().get("Food"));
+        verify(repo, times(1)).sumByRanges(any());
+    }
+
+    @Test
+    void testNoLedgerRowsGiveZeroSummaries() {
+        when(repo.sumByRanges(any())).thenReturn(List.of());
+
+        PeriodComparisonDTO comparison = service.compare("month", "2024-03");
+
+        assertEquals(LocalDate.of(2024, 2, 1), comparison.getPrevious().getStartDate());
+        assertEquals(LocalDate.of(2024, 2, 29), comparison.getPrevious().getEndDate());
+        assertEquals(new BigDecimal("0.00"), comparison.getCurrent().getNetBalance());
+        assertTrue(comparison.getCurrent().getExpenseByCategory().isEmpty());
+    }
+
+    @Test
+    void testInvalidParametersAreRejectedBeforeQuerying() {
+        assertThrows(IllegalArgumentException.class, () -> service.compare("week", null));
+        assertThrows(IllegalArgumentException.class, () -> service.compare("month", "March"));
+        verifyNoInteractions(repo);
+    }
+}
@@ -0,0 +1,153 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.exception.QueryTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryFanOutTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryFanOut fanOut = new QueryFanOut(registry, 4, 10, Duration.ofSeconds(2));
+
+    @AfterEach
+    void shutdown() {
+        fanOut.shutdown();
+    }
+
+    @Test
+    void testBranchesRunConcurrentlyAndKeepTheirOrder() {
+        // Each branch waits for the other to start, which only works if they overlap
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        List<String> results = fanOut.invokeAll("test", List.of(
+                new QueryFanOut.Branch<>("first", () -> awaitThenReturn(bothStarted, "a")),
+                new QueryFanOut.Branch<>("second", () -> awaitThenReturn(bothStarted, "b"))));
+
+        assertEquals(List.of("a", "b"), results);
+        assertEquals(1, branchCount("first", "success"));
+        assertEquals(1, branchCount("second", "success"));
+        assertEquals(1, registry.get("query.fanout").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testDeadlineCancelsUnfinishedBranches() throws InterruptedException {
+        QueryFanOut shortDeadline = new QueryFanOut(registry, 4, 10, Duration.ofMillis(100));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            assertThrows(QueryTimeoutException.class, () -> shortDeadline.invokeAll("test", List.of(
+                    new QueryFanOut.Branch<>("fast", () -> "done"),
+                    new QueryFanOut.Branch<>("slow", () -> blockUntilInterrupted(interrupted)))));
+        } finally {
+            shortDeadline.shutdown();
+        }
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "slow branch was not interrupted");
+        assertEquals(1, branchCount("fast", "success"));
+        assertEquals(1, awaitBranchCount("slow", "cancelled"));
+        assertEquals(1, registry.get("query.fanout").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void testFailureIsRethrownAndCancelsSiblings() throws InterruptedException {
+        // The failing branch waits until its sibling is running, so the sibling is interrupted
+        // rather than cancelled before it starts
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> fanOut.invokeAll("test", List.of(
+                new QueryFanOut.Branch<>("slow", () -> {
+                    slowStarted.countDown();
+                    return blockUntilInterrupted(interrupted);
+                }),
+                new QueryFanOut.Branch<String>("broken", () -> {
+                    await(slowStarted);
+                    throw new IllegalArgumentException("bad range");
+                }))));
+
+        assertEquals("bad range", thrown.getMessage());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "sibling branch was not interrupted");
+        assertEquals(1, branchCount("broken", "failure"));
+        assertEquals(1, awaitBranchCount("slow", "cancelled"));
+    }
+
+    @Test
+    void testSaturatedPoolRejectsInsteadOfRunningOnTheCaller() throws InterruptedException {
+        // One worker, kept busy by another read, and one queue slot: the second branch has nowhere to go
+        QueryFanOut tiny = new QueryFanOut(registry, 1, 1, Duration.ofSeconds(2));
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread other = new Thread(() -> tiny.invokeAll("other", List.of(new QueryFanOut.Branch<>("blocker", () -> {
+            busy.countDown();
+            await(release);
+            return "done";
+        }))));
+        other.start();
+        Thread caller = Thread.currentThread();
+        try {
+            assertTrue(busy.await(1, TimeUnit.SECONDS), "worker did not start");
+            assertThrows(QueryTimeoutException.class, () -> tiny.invokeAll("test", List.of(
+                    new QueryFanOut.Branch<>("queued", () -> "queued"),
+                    new QueryFanOut.Branch<>("rejected", () -> {
+                        assertNotSame(caller, Thread.currentThread(), "branch ran on the request thread");
+                        return "rejected";
+                    }))));
+        } finally {
+            release.countDown();
+            other.join(1000);
+            tiny.shutdown();
+        }
+
+        assertEquals(1, branchCount("queued", "cancelled"));
+        assertNull(registry.find("query.fanout.branch").tag("branch", "rejected").timer());
+        assertEquals(1, registry.get("query.fanout").tag("operation", "test").tag("outcome", "rejected").timer().count());
+        assertEquals(1, branchCount("blocker", "success"));
+    }
+
+    private long branchCount(String branch, String outcome) {
+        return registry.get("query.fanout.branch").tag("branch", branch).tag("outcome", outcome).timer().count();
+    }
+
+    // An interrupted branch records its own timing once it unwinds
+    private long awaitBranchCount(String branch, String outcome) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (registry.find("query.fanout.branch").tag("branch", branch).tag("outcome", outcome).timer() == null
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return branchCount(branch, outcome);
+    }
+
+    private static String awaitThenReturn(CountDownLatch latch, String value) {
+        latch.countDown();
+        try {
+            assertTrue(latch.await(1, TimeUnit.SECONDS), "branches did not overlap");
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return value;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(1, TimeUnit.SECONDS), "latch was not released");
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String blockUntilInterrupted(CountDownLatch interrupted) {
+        try {
+            Thread.sleep(10_000);
+            return "too late";
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.RecurrenceCadence;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceStateTest {
+
+    private static final LocalDate JAN_31 = LocalDate.of(2026, 1, 31);
+
+    @Test
+    void testMonthlySubscriptionIsDetectedAfterThreeCharges() {
+        RecurrenceState state = new RecurrenceState();
+        state.add(JAN_31, 1599);
+        state.add(JAN_31.plusMonths(1), 1599); // Feb 28
+        assertNull(state.currentRun());
+
+        state.add(JAN_31.plusMonths(2), 1649);
+        RecurrenceState.Run run = state.currentRun();
+        assertEquals(RecurrenceCadence.MONTHLY, run.cadence());
+        assertEquals(3, run.length());
+        assertEquals(31, run.intervalDays()); // upper median of 28 and 31
+        assertEquals(1599, run.amountLow());
+        assertEquals(1649, run.amountHigh());
+        assertEquals(LocalDate.of(2026, 3, 31), run.lastDate());
+        assertEquals(LocalDate.of(2026, 4, 30), run.cadence().next(run.lastDate()));
+    }
+
+    @Test
+    void testOutOfOrderRowsLandInDateOrder() {
+        RecurrenceState state = new RecurrenceState();
+        LocalDate monday = LocalDate.of(2026, 10, 5);
+        state.add(monday.plusWeeks(2), 500);
+        state.add(monday, 500);
+        state.add(monday.plusWeeks(1), 520);
+
+        RecurrenceState.Run run = state.currentRun();
+        assertEquals(RecurrenceCadence.WEEKLY, run.cadence());
+        assertEquals(7, run.intervalDays());
+        assertEquals(monday.plusWeeks(2), state.lastDate());
+        assertEquals("2026-10-05:500,2026-10-12:520,2026-10-19:500", state.encodeRecent());
+    }
+
+    @Test
+    void testRunStopsAtAmountJumpOrIrregularGap() {
+        RecurrenceState state = new RecurrenceState();
+        state.add(LocalDate.of(2026, 1, 1), 1000);
+        state.add(LocalDate.of(2026, 1, 20), 1000);  // irregular
+        state.add(LocalDate.of(2026, 2, 20), 5000);  // price far off the latest
+        state.add(LocalDate.of(2026, 3, 20), 1000);
+        state.add(LocalDate.of(2026, 4, 20), 1000);
+        assertNull(state.currentRun());
+
+        state.add(LocalDate.of(2026, 5, 20), 1100);
+        assertEquals(3, state.currentRun().length());
+
+        // An irregular purchase as the latest occurrence ends the run
+        state.add(LocalDate.of(2026, 5, 22), 1000);
+        assertNull(state.currentRun());
+    }
+
+    @Test
+    void testRemovalUndoesAnOccurrence() {
+        RecurrenceState state = new RecurrenceState();
+        for (int i = 0; i < 3; i++) {
+            state.add(LocalDate.of(2024 + i, 3, 1), 9900);
+        }
+        assertEquals(RecurrenceCadence.YEARLY, state.currentRun().cadence());
+
+        state.remove(LocalDate.of(2026, 3, 1), 9900);
+        assertEquals(2, state.currentRun().length());
+        state.remove(LocalDate.of(2025, 3, 1), 9900);
+        assertNull(state.currentRun());
+        assertEquals(1, state.occurrences());
+    }
+
+    @Test
+    void testWindowIsBoundedAndRoundTrips() {
+        RecurrenceState state = new RecurrenceState();
+        LocalDate first = LocalDate.of(2020, 1, 6);
+        for (int i = 0; i < 40; i++) {
+            state.add(first.plusWeeks(i), 300);
+        }
+        state.add(first.minusYears(1), 300); // older than the whole window: counted only
+
+        RecurrenceState copy = RecurrenceState.decode(state.encodeRecent(), state.occurrences());
+        assertEquals(41, copy.occurrences());
+        assertEquals(RecurrenceState.WINDOW, copy.currentRun().length());
+        assertEquals(state.encodeRecent(), copy.encodeRecent());
+        assertEquals(first.plusWeeks(39), copy.lastDate());
+    }
+
+    @Test
+    void testRemovingFromAFullWindowAsksForTheEvictedOccurrence() {
+        RecurrenceState state = new RecurrenceState();
+        LocalDate first = LocalDate.of(2025, 1, 6);
+        for (int i = 0; i < 20; i++) {
+            state.add(first.plusWeeks(i), 300);
+        }
+
+        assertFalse(state.remove(first, 300));               // older than the window: count only
+        assertTrue(state.remove(first.plusWeeks(19), 300));  // week 7 should move back in
+        assertEquals(RecurrenceState.WINDOW - 1, state.currentRun().length());
+
+        // What the caller rebuilds from the ledger: the latest rows in any order, plus the count
+        List<RecurrenceState.Occurrence> latest = new ArrayList<>();
+        for (int i = 18; i >= 7; i--) {
+            latest.add(new RecurrenceState.Occurrence(first.plusWeeks(i), 300));
+        }
+        RecurrenceState rebuilt = RecurrenceState.of(latest, 18);
+        assertEquals(18, rebuilt.occurrences());
+        assertEquals(RecurrenceState.WINDOW, rebuilt.currentRun().length());
+        assertEquals(first.plusWeeks(18), rebuilt.lastDate());
+
+        // With nothing left outside the window there is nothing to restore
+        RecurrenceState small = new RecurrenceState();
+        small.add(first, 300);
+        small.add(first.plusWeeks(1), 300);
+        assertFalse(small.remove(first.plusWeeks(1), 300));
+    }
+}
@@ -0,0 +1,131 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import com.my_finance_manager_backend.repository.RecurringPatternRepository;
+import com.my_finance_manager_backend.repository.RecurringPatternRepository.History;
+import com.my_finance_manager_backend.repository.RecurringPatternRepository.Key;
+import com.my_finance_manager_backend.repository.RecurringPatternRepository.LedgerRow;
+import com.my_finance_manager_backend.repository.RecurringPatternRepository.PatternRow;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class RecurringTransactionServiceTest {
+
+    private static final Key NETFLIX = new Key("EXPENSE", "netflix");
+    private static final LocalDate FIRST = LocalDate.of(2024, 1, 15);
+
+    private final RecurringPatternRepository repo = mock(RecurringPatternRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final RecurringTransactionService service = new RecurringTransactionService(repo, entityManager,
+            new TransactionTemplate(transactionManager));
+
+    @Test
+    void testRemovalFromAFullWindowIsRefilledFromTheLedger() {
+        // Fourteen monthly charges; the stored window only has the latest twelve
+        RecurrenceState stored = new RecurrenceState();
+        for (int i = 0; i < 14; i++) {
+            stored.add(FIRST.plusMonths(i), 1599);
+        }
+        when(repo.lockAll(List.of(NETFLIX))).thenReturn(List.of(row(stored)));
+        // The ledger after the delete: months 0..12, newest first
+        List<LedgerRow> latest = new ArrayList<>();
+        for (int i = 12; i >= 1; i--) {
+            latest.add(new LedgerRow("EXPENSE", FIRST.plusMonths(i), "Netflix", "Entertainment", 1599));
+        }
+        when(repo.findHistory(NETFLIX, RecurrenceState.WINDOW)).thenReturn(new History(13, latest));
+
+        service.onLedgerChange(LedgerChangeEvent.builder()
+                .expenseRemoved(expense(FIRST.plusMonths(13)))
+                .build());
+
+        InOrder inOrder = inOrder(entityManager, repo);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(repo).findHistory(NETFLIX, RecurrenceState.WINDOW);
+        PatternRow updated = updatedRow();
+        assertEquals(13, updated.occurrences());
+        assertEquals(12, updated.streak());
+        assertEquals(FIRST.plusMonths(12), updated.lastDate());
+        assertTrue(updated.recent().startsWith(FIRST.plusMonths(1) + ":1599,"));
+    }
+
+    @Test
+    void testChangesInsideTheWindowDoNotReadTheLedger() {
+        RecurrenceState stored = new RecurrenceState();
+        for (int i = 0; i < 3; i++) {
+            stored.add(FIRST.plusMonths(i), 1599);
+        }
+        when(repo.lockAll(List.of(NETFLIX))).thenReturn(List.of(row(stored)));
+
+        service.onLedgerChange(LedgerChangeEvent.builder()
+                .expenseRemoved(expense(FIRST.plusMonths(2)))
+                .expenseAdded(expense(FIRST.plusMonths(3)))
+                .build());
+
+        verify(repo, never()).findHistory(any(), anyInt());
+        verifyNoInteractions(entityManager);
+        assertEquals(3, updatedRow().occurrences());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBackfillCommitsAllChunksInOneTransaction() {
+        when(repo.isEmpty()).thenReturn(true);
+        doAnswer(inv -> {
+            Consumer<LedgerRow> action = inv.getArgument(0);
+            for (int i = 0; i < 2500; i++) {
+                action.accept(new LedgerRow("EXPENSE", FIRST, "Shop " + letters(i), "Misc", 100));
+            }
+            return null;
+        }).when(repo).forEachLedgerRow(any(Consumer.class));
+
+        service.backfillIfEmpty();
+
+        verify(repo, atLeast(2)).insertAll(any());
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private PatternRow updatedRow() {
+        ArgumentCaptor<List<PatternRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(repo).updateAll(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        return rows.getValue().get(0);
+    }
+
+    // Distinct letters-only names, since digits are dropped from merchant keys
+    private static String letters(int i) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return sb.toString();
+    }
+
+    private static PatternRow row(RecurrenceState state) {
+        return new PatternRow(NETFLIX, "Netflix", state.occurrences(), state.encodeRecent(), state.lastDate(),
+                null, null, null, null, null);
+    }
+
+    private static ExpenseDTO expense(LocalDate date) {
+        return ExpenseDTO.builder().amount(new BigDecimal("15.99")).category("Entertainment").description("Netflix").date(date).build();
+    }
+}
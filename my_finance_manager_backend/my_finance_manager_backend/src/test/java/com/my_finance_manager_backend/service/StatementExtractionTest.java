@@ -0,0 +1,47 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.repository.ExpenseRepository;
+import com.my_finance_manager_backend.repository.IncomeRepository;
+import com.my_finance_manager_backend.repository.LedgerBatchRepository;
+import com.my_finance_manager_backend.repository.LedgerQueryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+class StatementExtractionTest {
+
+    private final GeminiAIService geminiAIService = mock(GeminiAIService.class);
+    private final ExtractionCache extractionCache = mock(ExtractionCache.class);
+    private final TransactionHistoryService service = new TransactionHistoryService(mock(ExpenseRepository.class),
+            mock(IncomeRepository.class), mock(LedgerQueryRepository.class), mock(LedgerBatchRepository.class),
+            mock(DuplicateTransactionFilter.class), mock(SummaryBackend.class), mock(SummaryCache.class),
+            mock(QueryFanOut.class), geminiAIService, extractionCache, mock(ApplicationEventPublisher.class));
+
+    @Test
+    void testStatementPdfRowsAreParsedPageByPage() throws Exception {
+        when(extractionCache.getOrExtract(any(), any(), anyBoolean(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<ExtractionCache.Extractor<?>>getArgument(4).extract());
+        byte[] pdf = PdfTextTest.pdf(List.of(
+                List.of("Statement for March 2026", "2026-03-01 Rent -900.00", "2026-03-02 Coffee Shop -3.20"),
+                List.of("03/05/2026 ACME Payroll 2500.00", "Closing balance 1596.80")));
+
+        List<TransactionDTO> rows = service.extractTransactions(
+                new MockMultipartFile("file", "march.pdf", "application/pdf", pdf), false);
+
+        assertEquals(List.of(
+                "2026-03-01 Rent 900.00 EXPENSE",
+                "2026-03-02 Coffee Shop 3.20 EXPENSE",
+                "2026-03-05 ACME Payroll 2500.00 INCOME"),
+                rows.stream().map(t -> t.getDate() + " " + t.getDescription() + " " + t.getAmount() + " " + t.getType()).toList());
+        // Statement PDFs never go through the model, whether it is configured or not
+        verifyNoInteractions(geminiAIService);
+    }
+}
@@ -0,0 +1,197 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ImportResultDTO;
+import com.my_finance_manager_backend.dto.TransactionDTO;
+import com.my_finance_manager_backend.repository.ImportCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class StatementImportServiceTest {
+
+    private final TransactionHistoryService historyService = mock(TransactionHistoryService.class);
+    private final InMemoryCheckpoints checkpoints = new InMemoryCheckpoints();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final StatementImportService service = new StatementImportService(historyService, checkpoints,
+            new TransactionTemplate(transactionManager), 500);
+
+    @Test
+    void testRowsCommitInChunksAndCompleteTheCheckpoint() {
+        List<TransactionDTO> statement = statement(1200);
+        List<Integer> chunkSizes = recordChunkSizes();
+
+        List<Integer> progress = new ArrayList<>();
+        ImportResultDTO result = service.importStatement(statement, progress::add);
+
+        assertEquals(List.of(500, 500, 200), chunkSizes);
+        assertEquals(List.of(500, 1000, 1200, 1200), progress);
+        assertEquals(1200, result.getImportedRows());
+        assertEquals(3, result.getChunks());
+        assertEquals(0, result.getResumedFrom());
+        assertTrue(checkpoints.stored.get(result.getImportId()).isCompleted());
+    }
+
+    @Test
+    void testRetryResumesAfterTheLastCommittedChunk() {
+        List<TransactionDTO> statement = statement(1200);
+        when(historyService.saveTransactions(any(), any()))
+                .thenReturn(List.of())
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> service.importTransactions(statement, "march-statement"));
+        assertTrue(failure.getMessage().contains("stopped after 500 of 1200 rows"), failure.getMessage());
+
+        reset(historyService);
+        List<Integer> chunkSizes = recordChunkSizes();
+        ImportResultDTO retry = service.importTransactions(statement, "march-statement");
+
+        assertEquals(List.of(500, 200), chunkSizes);
+        assertEquals(500, retry.getResumedFrom());
+        assertEquals(700, retry.getImportedRows());
+        verify(historyService).saveTransactions(eq(statement.subList(500, 1000)), any());
+
+        ImportResultDTO again = service.importTransactions(statement, "march-statement");
+        assertTrue(again.isAlreadyImported());
+        assertEquals(0, again.getImportedRows());
+        assertEquals(2, chunkSizes.size());
+    }
+
+    @Test
+    void testSameImportIdWithDifferentRowsIsRejected() {
+        service.importTransactions(statement(3), "april");
+        List<TransactionDTO> other = statement(4);
+
+        assertThrows(IllegalArgumentException.class, () -> service.importTransactions(other, "april"));
+        verify(historyService, never()).saveTransactions(eq(other.subList(3, 4)), any());
+    }
+
+    @Test
+    void testImportsWithoutIdAreSavedInOneTransaction() {
+        List<TransactionDTO> rows = statement(1200);
+        when(historyService.saveTransactions(any())).thenReturn(List.of());
+
+        ImportResultDTO result = service.importTransactions(rows, null);
+
+        verify(historyService).saveTransactions(rows);
+        assertEquals(1200, result.getImportedRows());
+        assertEquals(1, result.getChunks());
+        assertNull(result.getImportId());
+        assertTrue(checkpoints.stored.isEmpty());
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testFailedImportWithoutIdCommitsNothing() {
+        when(historyService.saveTransactions(any())).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> service.importTransactions(statement(1200), null));
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void testOnlyUploadedStatementsAreFingerprinted() {
+        List<TransactionDTO> rows = statement(3);
+        recordChunkSizes();
+
+        service.importTransactions(rows, "hand-picked");
+        verify(historyService).saveTransactions(eq(rows), isNull());
+
+        service.importStatement(rows);
+        verify(historyService).saveTransactions(rows, DuplicateTransactionFilter.fingerprints(rows));
+    }
+
+    @Test
+    void testContentDigestIgnoresAmountScale() {
+        TransactionDTO a = row(LocalDate.of(2026, 3, 1), "Coffee", "4.5");
+        TransactionDTO b = row(LocalDate.of(2026, 3, 1), "Coffee", "4.50");
+        TransactionDTO c = row(LocalDate.of(2026, 3, 1), "Coffee", "4.51");
+
+        assertEquals(StatementImportService.contentSha256(List.of(a)), StatementImportService.contentSha256(List.of(b)));
+        assertNotEquals(StatementImportService.contentSha256(List.of(a)), StatementImportService.contentSha256(List.of(c)));
+        assertNotEquals(StatementImportService.contentSha256(List.of(a, c)), StatementImportService.contentSha256(List.of(c, a)));
+    }
+
+    @Test
+    void testDuplicatesAreCountedAndReported() {
+        List<TransactionDTO> statement = statement(1200);
+        when(historyService.saveTransactions(any(), any())).thenAnswer(invocation -> {
+            List<TransactionDTO> chunk = invocation.getArgument(0);
+            List<String> fingerprints = invocation.getArgument(1);
+            assertEquals(chunk.size(), fingerprints.size());
+            return chunk.subList(0, chunk.size() / 2); // first half of every chunk seen before
+        });
+
+        ImportResultDTO result = service.importStatement(statement);
+
+        assertEquals(600, result.getDuplicateRows());
+        assertEquals(600, result.getImportedRows());
+        assertEquals(100, result.getDuplicates().size());
+        assertSame(statement.get(0), result.getDuplicates().get(0));
+    }
+
+    private List<Integer> recordChunkSizes() {
+        List<Integer> sizes = new ArrayList<>();
+        when(historyService.saveTransactions(any(), any())).thenAnswer(invocation -> {
+            sizes.add(invocation.<List<?>>getArgument(0).size());
+            return List.of();
+        });
+        return sizes;
+    }
+
+    private static List<TransactionDTO> statement(int rows) {
+        List<TransactionDTO> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            transactions.add(row(LocalDate.of(2026, 1, 1).plusDays(i % 90), "Merchant " + i, "12.34"));
+        }
+        return transactions;
+    }
+
+    private static TransactionDTO row(LocalDate date, String description, String amount) {
+        return TransactionDTO.builder().date(date).description(description).amount(new BigDecimal(amount))
+                .type("EXPENSE").build();
+    }
+
+    private static class InMemoryCheckpoints extends ImportCheckpointRepository {
+
+        final Map<String, Checkpoint> stored = new HashMap<>();
+
+        InMemoryCheckpoints() {
+            super(null);
+        }
+
+        @Override
+        public void createIfAbsent(String importKey, String contentSha256, int totalRows) {
+            stored.putIfAbsent(importKey, new Checkpoint(importKey, contentSha256, totalRows, 0, null));
+        }
+
+        @Override
+        public Checkpoint lock(String importKey) {
+            return stored.get(importKey);
+        }
+
+        @Override
+        public void advance(String importKey, int committedRows, boolean completed) {
+            Checkpoint c = stored.get(importKey);
+            stored.put(importKey, new Checkpoint(importKey, c.contentSha256(), c.totalRows(), committedRows,
+                    completed ? LocalDateTime.now() : null));
+        }
+    }
+}
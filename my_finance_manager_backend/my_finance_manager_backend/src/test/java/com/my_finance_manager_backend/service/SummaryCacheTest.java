@@ -0,0 +1,111 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.ExpenseDTO;
+import com.my_finance_manager_backend.dto.IncomeDTO;
+import com.my_finance_manager_backend.event.LedgerChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.event.TransactionalApplicationListenerMethodAdapter;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummaryCacheTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate MARCH_31 = LocalDate.of(2024, 3, 31);
+    private static final LocalDate APRIL_1 = LocalDate.of(2024, 4, 1);
+    private static final LocalDate APRIL_30 = LocalDate.of(2024, 4, 30);
+
+    private SimpleMeterRegistry registry;
+    private SummaryCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new SummaryCache(registry, 100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testRepeatedReadsHitTheCache() {
+        load(SummaryCache.EXPENSES_BY_CATEGORY, MARCH_1, MARCH_31);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, MARCH_1, MARCH_31);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, APRIL_1, APRIL_30);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "summaries").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testWriteDropsOnlyOverlappingRanges() {
+        load(SummaryCache.EXPENSES_BY_CATEGORY, MARCH_1, MARCH_31);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, APRIL_1, APRIL_30);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, null, null);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, APRIL_1, null);
+
+        cache.onLedgerChange(LedgerChangeEvent.builder().expenseAdded(expense(LocalDate.of(2024, 3, 15))).build());
+        assertEquals(2, registry.get("summary.cache.invalidations").counter().count());
+
+        loads.set(0);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, MARCH_1, MARCH_31);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, APRIL_1, APRIL_30);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, null, null);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, APRIL_1, null);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testWriteOnlyAffectsSummariesOfThatLedger() {
+        load(SummaryCache.EXPENSES_BY_CATEGORY, MARCH_1, MARCH_31);
+        load(SummaryCache.INCOMES_BY_SOURCE, MARCH_1, MARCH_31);
+        load(SummaryCache.TRANSACTION_SUMMARY, MARCH_1, MARCH_31);
+
+        cache.onLedgerChange(LedgerChangeEvent.builder()
+                .incomeAdded(IncomeDTO.builder().amount(BigDecimal.TEN).source("Salary").date(MARCH_31).build())
+                .build());
+
+        loads.set(0);
+        load(SummaryCache.EXPENSES_BY_CATEGORY, MARCH_1, MARCH_31);
+        load(SummaryCache.INCOMES_BY_SOURCE, MARCH_1, MARCH_31);
+        load(SummaryCache.TRANSACTION_SUMMARY, MARCH_1, MARCH_31);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoadThatRacesWithAWriteIsNotKept() {
+        cache.get(SummaryCache.EXPENSES_BY_CATEGORY, MARCH_1, MARCH_31, () -> {
+            // The write commits while this load is still reading
+            cache.onLedgerChange(LedgerChangeEvent.builder().expenseAdded(expense(LocalDate.of(2019, 1, 1))).build());
+            return "stale";
+        });
+
+        assertEquals("fresh", cache.get(SummaryCache.EXPENSES_BY_CATEGORY, MARCH_1, MARCH_31, () -> "fresh"));
+    }
+
+    @Test
+    void testPrefixSumIndexIsUpdatedBeforeTheCacheDropsEntries() throws Exception {
+        // Otherwise a reload right after the drop could read the index before the change
+        assertTrue(listener(PrefixSumSummaryBackend.class).getOrder() < listener(SummaryCache.class).getOrder());
+    }
+
+    private static TransactionalApplicationListenerMethodAdapter listener(Class<?> type) throws NoSuchMethodException {
+        Method method = type.getMethod("onLedgerChange", LedgerChangeEvent.class);
+        return new TransactionalApplicationListenerMethodAdapter(type.getSimpleName(), type, method);
+    }
+
+    private void load(String summary, LocalDate start, LocalDate end) {
+        cache.get(summary, start, end, () -> "loaded " + loads.incrementAndGet());
+    }
+
+    private static ExpenseDTO expense(LocalDate date) {
+        return ExpenseDTO.builder().amount(BigDecimal.ONE).category("Food").date(date).build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.TopSpendDTO;
+import com.my_finance_manager_backend.repository.SpendRankingRepository;
+import com.my_finance_manager_backend.repository.SpendRankingRepository.GroupSpend;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TopSpendServiceTest {
+
+    private final SpendRankingRepository repo = mock(SpendRankingRepository.class);
+    private final TopSpendService service = new TopSpendService(repo);
+
+    @Test
+    void testMerchantsAreRankedBySql() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 3, 31);
+        when(repo.topMerchants(start, end, 2)).thenReturn(List.of(
+                new GroupSpend("rent", 150_000, 1),
+                new GroupSpend("starbucks seattle", 3_750, 6)));
+
+        List<TopSpendDTO> top = service.top("description", 2, start, end);
+
+        assertEquals(2, top.size());
+        assertEquals("rent", top.get(0).getKey());
+        assertEquals("starbucks seattle", top.get(1).getKey());
+        assertEquals(new BigDecimal("37.50"), top.get(1).getTotal());
+        assertEquals(6, top.get(1).getCount());
+        verify(repo, never()).topCategories(any(), any(), anyInt());
+    }
+
+    @Test
+    void testCategoriesAreRankedBySql() {
+        when(repo.topCategories(null, null, 3)).thenReturn(List.of(new GroupSpend("Food", 42_050, 12)));
+
+        List<TopSpendDTO> top = service.top("category", 3, null, null);
+
+        assertEquals("Food", top.get(0).getKey());
+        assertEquals(new BigDecimal("420.50"), top.get(0).getTotal());
+        verify(repo, never()).topMerchants(any(), any(), anyInt());
+    }
+
+    @Test
+    void testInvalidRequests() {
+        assertThrows(IllegalArgumentException.class, () -> service.top("merchant", 10, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.top("category", 0, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.top("category", TopSpendService.MAX_N + 1, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.top("category", 10, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 3, 1)));
+        verifyNoInteractions(repo);
+    }
+}
@@ -0,0 +1,85 @@
+package com.my_finance_manager_backend.service;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.my_finance_manager_backend.dto.ExportFormat;
+import com.my_finance_manager_backend.dto.TransactionViewDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionExportServiceTest {
+
+    private final TransactionExportService exportService = new TransactionExportService(null,
+            JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+
+    private static final List<TransactionViewDTO> ROWS = List.of(
+            new TransactionViewDTO(7L, LocalDate.of(2024, 3, 2), "Dinner, \"Luigi's\"", new BigDecimal("42.50"), "EXPENSE"),
+            new TransactionViewDTO(3L, LocalDate.of(2024, 3, 1), "Salary", new BigDecimal("3000.00"), "INCOME"),
+            new TransactionViewDTO(5L, LocalDate.of(2024, 2, 28), "=HYPERLINK(\"x\")", new BigDecimal("1.00"), "EXPENSE"),
+            new TransactionViewDTO(4L, LocalDate.of(2024, 2, 27), null, new BigDecimal("0.99"), "EXPENSE"));
+
+    @Test
+    void testCsvQuotesFieldsAndNeutralizesFormulas() throws IOException {
+        assertEquals("id,type,date,description,amount\r\n"
+                        + "7,EXPENSE,2024-03-02,\"Dinner, \"\"Luigi's\"\"\",42.50\r\n"
+                        + "3,INCOME,2024-03-01,Salary,3000.00\r\n"
+                        + "5,EXPENSE,2024-02-28,\"'=HYPERLINK(\"\"x\"\")\",1.00\r\n"
+                        + "4,EXPENSE,2024-02-27,,0.99\r\n",
+                write(ExportFormat.CSV, ROWS));
+    }
+
+    @Test
+    void testCsvNeutralizesEveryFormulaPrefix() throws IOException {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        List<TransactionViewDTO> rows = List.of(
+                new TransactionViewDTO(1L, day, "+1+1", BigDecimal.ONE, "EXPENSE"),
+                new TransactionViewDTO(2L, day, "-1+1", BigDecimal.ONE, "EXPENSE"),
+                new TransactionViewDTO(3L, day, "@SUM(A1)", BigDecimal.ONE, "EXPENSE"),
+                new TransactionViewDTO(4L, day, "\t=1+1", BigDecimal.ONE, "EXPENSE"),
+                new TransactionViewDTO(5L, day, "\r=1+1", BigDecimal.ONE, "EXPENSE"),
+                new TransactionViewDTO(6L, day, "Coffee = 3", BigDecimal.ONE, "EXPENSE"));
+
+        assertEquals("id,type,date,description,amount\r\n"
+                        + "1,EXPENSE,2024-03-01,'+1+1,1\r\n"
+                        + "2,EXPENSE,2024-03-01,'-1+1,1\r\n"
+                        + "3,EXPENSE,2024-03-01,'@SUM(A1),1\r\n"
+                        + "4,EXPENSE,2024-03-01,'\t=1+1,1\r\n"
+                        + "5,EXPENSE,2024-03-01,\"'\r=1+1\",1\r\n"
+                        + "6,EXPENSE,2024-03-01,Coffee = 3,1\r\n",
+                write(ExportFormat.CSV, rows));
+    }
+
+    @Test
+    void testNdjsonWritesOneObjectPerLine() throws IOException {
+        String[] lines = write(ExportFormat.NDJSON, ROWS.subList(0, 2)).split("\n", -1);
+
+        assertEquals(3, lines.length);
+        assertEquals("{\"id\":7,\"date\":\"2024-03-02\",\"description\":\"Dinner, \\\"Luigi's\\\"\",\"amount\":42.50,\"type\":\"EXPENSE\"}", lines[0]);
+        assertEquals("{\"id\":3,\"date\":\"2024-03-01\",\"description\":\"Salary\",\"amount\":3000.00,\"type\":\"INCOME\"}", lines[1]);
+        assertEquals("", lines[2]);
+    }
+
+    @Test
+    void testEmptyExports() throws IOException {
+        assertEquals("id,type,date,description,amount\r\n", write(ExportFormat.CSV, List.of()));
+        assertEquals("", write(ExportFormat.NDJSON, List.of()));
+    }
+
+    private String write(ExportFormat format, List<TransactionViewDTO> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TransactionExportService.RowWriter writer = exportService.open(format, out);
+        for (TransactionViewDTO row : rows) {
+            writer.write(row);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package com.my_finance_manager_backend.service;
+
+import com.my_finance_manager_backend.dto.TransactionViewDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionMergeIteratorTest {
+
+    @Test
+    void testMergesSourcesInLedgerOrder() {
+        List<TransactionViewDTO> expenses = List.of(
+                row(5L, "2026-10-02", "EXPENSE"),
+                row(4L, "2026-10-02", "EXPENSE"),
+                row(3L, "2026-09-30", "EXPENSE"));
+        List<TransactionViewDTO> incomes = List.of(
+                row(9L, "2026-10-03", "INCOME"),
+                row(8L, "2026-10-02", "INCOME"),
+                row(1L, "2026-09-01", "INCOME"));
+
+        List<TransactionViewDTO> merged = drain(new TransactionMergeIterator(
+                List.of(expenses.iterator(), incomes.iterator())));
+
+        List<TransactionViewDTO> expected = new ArrayList<>(expenses);
+        expected.addAll(incomes);
+        expected.sort(TransactionMergeIterator.LEDGER_ORDER);
+        assertEquals(expected, merged);
+        assertEquals(9L, merged.get(0).getId());
+        assertEquals("EXPENSE", merged.get(1).getType()); // expenses before incomes on the same date
+    }
+
+    @Test
+    void testPullsOneRowAtATimeFromEachSource() {
+        CountingIterator expenses = new CountingIterator(List.of(
+                row(3L, "2026-10-03", "EXPENSE"), row(2L, "2026-10-02", "EXPENSE"), row(1L, "2026-10-01", "EXPENSE")));
+        CountingIterator incomes = new CountingIterator(List.of(
+                row(3L, "2026-09-03", "INCOME"), row(2L, "2026-09-02", "INCOME")));
+
+        TransactionMergeIterator merged = new TransactionMergeIterator(List.of(expenses, incomes));
+        merged.next();
+
+        // one row served plus one lookahead per source
+        assertEquals(2, expenses.pulled);
+        assertEquals(1, incomes.pulled);
+    }
+
+    @Test
+    void testEmptySources() {
+        TransactionMergeIterator merged = new TransactionMergeIterator(
+                List.of(Collections.emptyIterator(), Collections.emptyIterator()));
+
+        assertFalse(merged.hasNext());
+    }
+
+    private static TransactionViewDTO row(Long id, String date, String type) {
+        return new TransactionViewDTO(id, LocalDate.parse(date), type + " " + id, BigDecimal.ONE, type);
+    }
+
+    private static List<TransactionViewDTO> drain(Iterator<TransactionViewDTO> iterator) {
+        List<TransactionViewDTO> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static final class CountingIterator implements Iterator<TransactionViewDTO> {
+        private final Iterator<TransactionViewDTO> delegate;
+        private int pulled;
+
+        private CountingIterator(List<TransactionViewDTO> rows) {
+            this.delegate = rows.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public TransactionViewDTO next() {
+            pulled++;
+            return delegate.next();
+        }
+    }
+}